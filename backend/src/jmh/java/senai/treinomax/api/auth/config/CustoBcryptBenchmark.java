@@ -0,0 +1,46 @@
+package senai.treinomax.api.auth.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Latência da verificação de senha com BCrypt para cada custo, para escolher
+ * {@code senha.bcrypt.custo}. Cada ponto a mais dobra o tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustoBcryptBenchmark {
+
+    @Param({ "8", "10", "12" })
+    private int custo;
+
+    private BCryptPasswordEncoder codificador;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        codificador = new BCryptPasswordEncoder(custo);
+        hash = codificador.encode("senha-de-teste-123");
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return codificador.matches("senha-de-teste-123", hash);
+    }
+}
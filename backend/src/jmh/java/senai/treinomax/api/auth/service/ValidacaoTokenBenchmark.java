@@ -0,0 +1,103 @@
+package senai.treinomax.api.auth.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.security.Key;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import senai.treinomax.api.auth.model.Role;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.auth.repository.RefreshTokenRepository;
+import senai.treinomax.api.auth.repository.TokenRecuperacaoSenhaRepository;
+import senai.treinomax.api.auth.repository.TokenVerificacaoEmailRepository;
+
+/**
+ * Validação de um token de acesso como era antes (chave HMAC e parser
+ * montados a cada chamada), pelo {@link TokenService} com a chave e o parser
+ * criados uma vez e pelo {@link TokenService} com o cache de tokens
+ * verificados. Roda com 4 threads, como o filtro sob carga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidacaoTokenBenchmark {
+
+    private static final String SEGREDO = "e13c014dca8cf70b5ee3e6b0a0c22ba09d821f675c9a9f21a40adaa000d07f04";
+
+    private TokenService tokenService;
+    private TokenService tokenServiceComCache;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        ChavesJwtService chavesJwtService = new ChavesJwtService();
+        ReflectionTestUtils.setField(chavesJwtService, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(chavesJwtService, "idChavePadrao", "principal");
+        ReflectionTestUtils.setField(chavesJwtService, "arquivo", "");
+        chavesJwtService.carregar();
+
+        tokenService = criarTokenService(chavesJwtService, 0);
+        tokenServiceComCache = criarTokenService(chavesJwtService, 10_000);
+
+        Usuario usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        usuario.setEmail("aluno@treinomax.com");
+        usuario.setNome("Aluno Sintético");
+        usuario.setEmailVerificado(true);
+        usuario.setRoles(Set.of(Role.CUSTOMER));
+        token = tokenService.gerarTokenJWT(usuario);
+    }
+
+    @Benchmark
+    public Claims parserPorChamada() {
+        Key chave = Keys.hmacShaKeyFor(SEGREDO.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(chave)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims parserCompartilhado() {
+        return tokenService.validarToken(token);
+    }
+
+    @Benchmark
+    public Claims cacheTokensVerificados() {
+        return tokenServiceComCache.validarToken(token);
+    }
+
+    private static TokenService criarTokenService(ChavesJwtService chavesJwtService, int capacidadeCache) {
+        TokenService tokenService = new TokenService(mock(RefreshTokenRepository.class),
+                mock(TokenRecuperacaoSenhaRepository.class), mock(TokenVerificacaoEmailRepository.class),
+                mock(RevogacaoTokenService.class), chavesJwtService,
+                new CacheTokensVerificados(new SimpleMeterRegistry(), capacidadeCache));
+        ReflectionTestUtils.setField(tokenService, "jwtExpiration", 86_400_000L);
+        tokenService.iniciar();
+        return tokenService;
+    }
+}
@@ -0,0 +1,118 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+/**
+ * Pontuação de um treino e busca da melhor combinação sobre catálogos
+ * sintéticos. Rodar com {@code ./mvnw -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalculadoraTreinosBenchmark {
+
+    @Param({ "50", "500", "5000" })
+    private int tamanhoCatalogo;
+
+    @Param({
+            "PEITO,TRICEPS",
+            "PERNA,GLUTEOS,ABDOMEN",
+            "PEITO,OMBRO,COSTAS,PERNA,GLUTEOS,TRICEPS,BICEPS,ABDOMEN"
+    })
+    private String gruposMusculares;
+
+    @Param({ "5" })
+    private int numeroExercicios;
+
+    private List<Exercicio> catalogo;
+    private List<GrupoMuscular> requisitos;
+    private ModeloPontuacao modelo;
+
+    // Treino candidato fixo usado na pontuação
+    private List<Exercicio> candidato;
+    private int[] requisitosCompilados;
+    private int[] candidatoCompilado;
+
+    private ForkJoinPool pool;
+    private CalculadoraTreinos sequencial;
+    private CalculadoraTreinos paralela;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        catalogo = CatalogoSintetico.gerar(tamanhoCatalogo, 42);
+        requisitos = CatalogoSintetico.requisitos(gruposMusculares);
+        modelo = ModeloPontuacao.compilar(catalogo);
+
+        Random random = new Random(7);
+        candidatoCompilado = new int[numeroExercicios];
+        candidato = new ArrayList<>(numeroExercicios);
+        for (int i = 0; i < numeroExercicios; i++) {
+            candidatoCompilado[i] = random.nextInt(modelo.tamanho());
+            candidato.add(modelo.exercicio(candidatoCompilado[i]));
+        }
+        requisitosCompilados = ModeloPontuacao.ordinais(requisitos);
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        sequencial = new CalculadoraTreinos();
+        paralela = new CalculadoraTreinos(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double calcularNota() {
+        return sequencial.calcularNota(requisitos, candidato);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double calcularNotaCompilada() {
+        return sequencial.calcularNota(modelo, requisitosCompilados, candidatoCompilado);
+    }
+
+    // Inclui a compilação do modelo, como no uso com a lista de exercícios
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Exercicio> encontrarMelhorCombinacao() {
+        return sequencial.encontrarMelhorCombinacao(catalogo, requisitos, numeroExercicios);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Exercicio> encontrarMelhorCombinacaoModelo() {
+        return sequencial.encontrarMelhorCombinacao(modelo, requisitos, numeroExercicios);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Exercicio> encontrarMelhorCombinacaoParalela() {
+        return paralela.encontrarMelhorCombinacao(modelo, requisitos, numeroExercicios);
+    }
+}
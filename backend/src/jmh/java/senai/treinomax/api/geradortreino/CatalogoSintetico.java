@@ -0,0 +1,57 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import senai.treinomax.api.auth.model.AtivacaoMuscular;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+/**
+ * Catálogos de exercícios gerados a partir de uma semente fixa, para que
+ * execuções diferentes dos benchmarks meçam exatamente os mesmos dados.
+ */
+final class CatalogoSintetico {
+
+    private static final GrupoMuscular[] GRUPOS = GrupoMuscular.values();
+
+    private CatalogoSintetico() {
+    }
+
+    /**
+     * Cada exercício ativa de 1 a 3 grupos com pesos de 1 a 10; cerca de 10%
+     * não ativa nenhum, como exercícios ainda sem ativação cadastrada.
+     */
+    static List<Exercicio> gerar(int tamanho, long semente) {
+        Random random = new Random(semente);
+        List<Exercicio> catalogo = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Exercicio exercicio = new Exercicio();
+            exercicio.setId(new UUID(semente, i));
+            exercicio.setNome("Exercicio " + i);
+            int grupos = random.nextDouble() < 0.1 ? 0 : 1 + random.nextInt(3);
+            for (int j = 0; j < grupos; j++) {
+                AtivacaoMuscular ativacao = new AtivacaoMuscular();
+                ativacao.setGrupoMuscular(GRUPOS[random.nextInt(GRUPOS.length)]);
+                ativacao.setPeso(1 + random.nextInt(10));
+                ativacao.setExercicio(exercicio);
+                exercicio.getAtivacaoMuscular().add(ativacao);
+            }
+            catalogo.add(exercicio);
+        }
+        return catalogo;
+    }
+
+    /**
+     * Converte o parâmetro dos benchmarks ("PEITO,TRICEPS") em requisitos.
+     */
+    static List<GrupoMuscular> requisitos(String grupos) {
+        return Arrays.stream(grupos.split(","))
+                .map(String::trim)
+                .map(GrupoMuscular::valueOf)
+                .toList();
+    }
+}
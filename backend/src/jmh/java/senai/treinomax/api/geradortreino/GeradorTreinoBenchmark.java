@@ -0,0 +1,79 @@
+package senai.treinomax.api.geradortreino;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import senai.treinomax.api.auth.model.GrupoMuscular;
+import senai.treinomax.api.repository.ExercicioRepository;
+import senai.treinomax.api.repository.VersaoCatalogoExerciciosRepository;
+import senai.treinomax.api.service.CatalogoExerciciosService;
+
+/**
+ * Geração de treino pelo serviço, com o catálogo em memória e o cache
+ * desligado (toda chamada busca) ou ligado (só a primeira chamada busca).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeradorTreinoBenchmark {
+
+    @Param({ "50", "500", "5000" })
+    private int tamanhoCatalogo;
+
+    @Param({
+            "PEITO,TRICEPS",
+            "PERNA,GLUTEOS,ABDOMEN",
+            "PEITO,OMBRO,COSTAS,PERNA,GLUTEOS,TRICEPS,BICEPS,ABDOMEN"
+    })
+    private String gruposMusculares;
+
+    @Param({ "0", "256" })
+    private int tamanhoMaximoCache;
+
+    private List<GrupoMuscular> requisitos;
+    private GeradorTreino gerador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ExercicioRepository repositorio = mock(ExercicioRepository.class);
+        when(repositorio.findAll()).thenReturn(CatalogoSintetico.gerar(tamanhoCatalogo, 42));
+
+        gerador = new GeradorTreino(new CatalogoExerciciosService(repositorio,
+                mock(VersaoCatalogoExerciciosRepository.class)));
+        ReflectionTestUtils.setField(gerador, "tamanhoMaximoCache", tamanhoMaximoCache);
+        gerador.iniciar();
+        requisitos = CatalogoSintetico.requisitos(gruposMusculares);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        gerador.encerrar();
+    }
+
+    @Benchmark
+    public List<UUID> gerarTreino() {
+        return gerador.gerarTreino(requisitos);
+    }
+}
@@ -0,0 +1,57 @@
+package senai.treinomax.api.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import senai.treinomax.api.dto.response.SimulacaoCobrancaResponse;
+
+/**
+ * Simulação dos próximos ciclos de cobrança sobre membros sintéticos, sem
+ * banco. Rodar com {@code ./mvnw -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SimuladorCobrancaBenchmark {
+
+    private static final int[] PRECOS_CENTAVOS = { 9990, 14990, 19990, 29990 };
+
+    @Param({ "100000", "1000000" })
+    private int membros;
+
+    @Param({ "1", "12" })
+    private int ciclos;
+
+    private EstadoCobrancas estado;
+    private SimuladorCobranca simulador;
+
+    @Setup
+    public void preparar() {
+        Clock relogio = Clock.fixed(Instant.parse("2025-11-20T12:00:00Z"), ZoneId.of("America/Sao_Paulo"));
+        estado = EstadoCobrancas.sintetico(membros, PRECOS_CENTAVOS, LocalDate.now(relogio), 42L);
+        simulador = new SimuladorCobranca(relogio);
+    }
+
+    @Benchmark
+    public SimulacaoCobrancaResponse simular() {
+        return simulador.simular(estado, PRECOS_CENTAVOS, ciclos, 0.95, 7L);
+    }
+}
@@ -0,0 +1,155 @@
+package senai.treinomax.api.auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import senai.treinomax.api.auth.exception.HashSenhaIndisponivelException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} da aplicação: BCrypt com custo
+ * {@code senha.bcrypt.custo}, executado num pool próprio e limitado.
+ *
+ * A thread da requisição continua esperando o resultado, mas no máximo
+ * {@code senha.hash.threads} hashes rodam ao mesmo tempo, então um pico de
+ * logins não ocupa todos os processadores. Com o pool e a fila cheios, ou se
+ * a espera passar de {@code senha.hash.espera-maxima-ms}, a chamada falha na
+ * hora com {@link HashSenhaIndisponivelException} (503).
+ *
+ * Trocar o custo só afeta os hashes gerados depois; os antigos continuam
+ * válidos, porque o custo faz parte do hash.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CodificadorSenhaLimitado implements PasswordEncoder {
+
+    private static final String MENSAGEM_SOBRECARGA = "Muitas verificações de senha em andamento, tente novamente em instantes";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${senha.bcrypt.custo:10}")
+    private int custo;
+
+    // 0: metade dos processadores
+    @Value("${senha.hash.threads:0}")
+    private int threads;
+
+    // Hashes aceitos aguardando uma thread livre
+    @Value("${senha.hash.fila:50}")
+    private int tamanhoFila;
+
+    @Value("${senha.hash.espera-maxima-ms:2000}")
+    private long esperaMaximaMs;
+
+    private PasswordEncoder bcrypt;
+    private ThreadPoolExecutor executor;
+    private Timer tempoCodificacao;
+    private Timer tempoVerificacao;
+    private Counter rejeicoes;
+
+    @PostConstruct
+    void iniciar() {
+        iniciar(new BCryptPasswordEncoder(custo));
+    }
+
+    void iniciar(PasswordEncoder codificador) {
+        bcrypt = codificador;
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        tempoCodificacao = tempo("codificar");
+        tempoVerificacao = tempo("verificar");
+        rejeicoes = Counter.builder("senha.hash.rejeitados")
+                .description("Hashes de senha recusados por pool cheio ou espera longa demais")
+                .register(meterRegistry);
+        Gauge.builder("senha.hash.fila", executor, pool -> pool.getQueue().size())
+                .description("Hashes de senha aguardando uma thread")
+                .register(meterRegistry);
+        Gauge.builder("senha.hash.ativos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em execução")
+                .register(meterRegistry);
+        log.info("Hash de senhas com BCrypt custo {}, {} thread(s) e fila de {}", custo, tamanho, tamanhoFila);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> bcrypt.encode(senha), tempoCodificacao);
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> bcrypt.matches(senha, hash), tempoVerificacao);
+    }
+
+    private <T> T executar(Callable<T> hash, Timer tempo) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> tempo.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            throw new HashSenhaIndisponivelException(MENSAGEM_SOBRECARGA);
+        }
+
+        try {
+            return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            desistir(futuro);
+            rejeicoes.increment();
+            throw new HashSenhaIndisponivelException(MENSAGEM_SOBRECARGA);
+        } catch (InterruptedException e) {
+            desistir(futuro);
+            Thread.currentThread().interrupt();
+            throw new HashSenhaIndisponivelException(MENSAGEM_SOBRECARGA);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Erro no hash de senha", e.getCause());
+        }
+    }
+
+    // Tira da fila o hash que ninguém mais vai esperar
+    private void desistir(Future<?> futuro) {
+        futuro.cancel(false);
+        executor.remove((Runnable) futuro);
+    }
+
+    private Timer tempo(String operacao) {
+        return Timer.builder("senha.hash.duracao")
+                .description("Tempo de cada hash de senha, sem a espera na fila")
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
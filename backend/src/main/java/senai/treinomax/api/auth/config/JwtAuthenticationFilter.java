@@ -6,9 +6,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import senai.treinomax.api.auth.service.CustomUserDetailsService;
+import senai.treinomax.api.auth.service.RevogacaoTokenService;
 import senai.treinomax.api.auth.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +29,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final RevogacaoTokenService revogacaoTokenService;
+
+    // true: usuário montado dos claims do token, sem consultar o banco; false: carregado do banco a cada requisição
+    @Value("${jwt.autenticacao-sem-estado:true}")
+    private boolean autenticacaoSemEstado;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -41,18 +48,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 UUID userId = UUID.fromString(claims.get("id", String.class));
 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+                    if (autenticacaoSemEstado && revogacaoTokenService.isRevogado(userId, claims.getIssuedAt())) {
+                        log.warn("Tentativa de autenticação com token revogado: {}", email);
+                    } else {
+                        UserDetails userDetails = autenticacaoSemEstado
+                                ? customUserDetailsService.carregarDosClaims(claims)
+                                : customUserDetailsService.loadUserByUsername(email);
 
-                    if (userDetails.isEnabled()) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        if (userDetails.isEnabled()) {
+                            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Usuário autenticado: {} (ID: {}), Roles: {}", email, userId,
-                                userDetails.getAuthorities());
-                    } else {
-                        log.warn("Tentativa de autenticação com usuário desabilitado: {}", email);
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                            log.debug("Usuário autenticado: {} (ID: {}), Roles: {}", email, userId,
+                                    userDetails.getAuthorities());
+                        } else {
+                            log.warn("Tentativa de autenticação com usuário desabilitado: {}", email);
+                        }
                     }
                 }
             } else {
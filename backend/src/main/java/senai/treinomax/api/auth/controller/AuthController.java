@@ -1,6 +1,7 @@
 package senai.treinomax.api.auth.controller;
 
 import jakarta.validation.Valid;
+import senai.treinomax.api.auth.config.SecurityUtils;
 import senai.treinomax.api.auth.dto.request.*;
 import senai.treinomax.api.auth.dto.response.LoginResponse;
 import senai.treinomax.api.auth.dto.response.RefreshTokenResponse;
@@ -92,10 +93,10 @@ public class AuthController {
     }
 
     @PostMapping("/logout-all")
-    public ResponseEntity<Void> logoutAll(@RequestParam String email) {
-        log.info("Recebida solicitação de logout de todos os dispositivos para: {}", email);
+    public ResponseEntity<Void> logoutAll() {
+        log.info("Recebida solicitação de logout de todos os dispositivos para: {}", SecurityUtils.getCurrentUserEmail());
         
-        authService.logoutAll(email);
+        authService.logoutAll(SecurityUtils.getCurrentUserId());
         
         return ResponseEntity.ok().build();
     }
@@ -1,6 +1,7 @@
 package senai.treinomax.api.auth.controller;
 
 import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
 import senai.treinomax.api.service.ExercicioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,8 +37,11 @@ public class ExercicioController {
 
     @GetMapping
     @PreAuthorize("hasRole('PERSONAL')")
-    public ResponseEntity<?> getAll() {
-        var exercicios = exercicioService.listarTodos();
+    public ResponseEntity<?> getAll(@RequestParam(required = false) GrupoMuscular grupoMuscular) {
+        // Com grupo muscular, retorna os exercícios que o ativam, do maior para o menor peso
+        var exercicios = grupoMuscular != null
+                ? exercicioService.listarPorGrupoMuscular(grupoMuscular)
+                : exercicioService.listarTodos();
         return ResponseEntity.ok(exercicios);
     }
 
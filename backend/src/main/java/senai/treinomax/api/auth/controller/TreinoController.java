@@ -10,16 +10,20 @@ import org.springframework.web.bind.annotation.*;
 import senai.treinomax.api.auth.config.SecurityUtils;
 import senai.treinomax.api.auth.model.Treino;
 import senai.treinomax.api.dto.request.GerarTreinoRequest;
+import senai.treinomax.api.dto.request.GerarTreinosLoteRequest;
 import senai.treinomax.api.geradortreino.GeradorTreino;
+import senai.treinomax.api.service.GeracaoTreinoLoteService;
 import senai.treinomax.api.service.TreinoService;
 import senai.treinomax.api.service.ExecucaoTreinoService;
 import senai.treinomax.api.auth.model.ExecucaoTreino;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/treino")
@@ -30,6 +34,7 @@ public class TreinoController {
     private final TreinoService treinoService;
     private final ExecucaoTreinoService execucaoTreinoService;
     private final GeradorTreino geradorTreino;
+    private final GeracaoTreinoLoteService geracaoTreinoLoteService;
 
     @PostMapping
     @PreAuthorize("hasRole('PERSONAL')")
@@ -218,6 +223,21 @@ public class TreinoController {
         try {
             log.info("Gerando treino para tipos: {}", request.getTiposTreino());
 
+            if (request.getAlternativas() != null && request.getPrazoMs() != null) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("message", "Informe alternativas ou prazoMs, não os dois"));
+            }
+
+            if (request.getAlternativas() != null) {
+                return ResponseEntity.ok(this.geradorTreino.gerarAlternativas(
+                        request.getTiposTreino(), 5, request.getAlternativas()));
+            }
+
+            if (request.getPrazoMs() != null) {
+                return ResponseEntity.ok(this.geradorTreino.gerarTreino(
+                        request.getTiposTreino(), 5, Duration.ofMillis(request.getPrazoMs())));
+            }
+
             List<UUID> exercicioIds = this.geradorTreino.gerarTreino(request.getTiposTreino());
 
             return ResponseEntity.ok(exercicioIds);
@@ -226,4 +246,31 @@ public class TreinoController {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
+
+    @PostMapping("/gerar/lote")
+    @PreAuthorize("hasRole('PERSONAL')")
+    public ResponseEntity<?> gerarTreinosEmLote(@Valid @RequestBody GerarTreinosLoteRequest request) {
+        try {
+            var lote = geracaoTreinoLoteService.iniciarLote(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(lote);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "Muitos lotes em processamento, tente novamente mais tarde"));
+        }
+    }
+
+    // O andamento do lote só existe na instância que o aceitou; nas outras a resposta é 404
+    @GetMapping("/gerar/lote/{id}")
+    @PreAuthorize("hasRole('PERSONAL')")
+    public ResponseEntity<?> getLote(@PathVariable UUID id) {
+        return geracaoTreinoLoteService.buscarLote(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/gerar/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getEstatisticasCacheGerador() {
+        return ResponseEntity.ok(geradorTreino.getEstatisticasCache());
+    }
 }
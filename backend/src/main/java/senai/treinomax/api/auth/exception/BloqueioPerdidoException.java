@@ -0,0 +1,8 @@
+package senai.treinomax.api.auth.exception;
+
+public class BloqueioPerdidoException extends RuntimeException {
+
+    public BloqueioPerdidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package senai.treinomax.api.auth.exception;
+
+public class HashSenhaIndisponivelException extends RuntimeException {
+
+    public HashSenhaIndisponivelException(String message) {
+        super(message);
+    }
+}
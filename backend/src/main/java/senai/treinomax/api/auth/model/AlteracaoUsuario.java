@@ -0,0 +1,28 @@
+package senai.treinomax.api.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Última alteração de senha, status ou papéis de um usuário. As instâncias
+ * leem as alterações recentes para descartar o usuário do cache.
+ */
+@Entity
+@Table(name = "alteracoes_usuarios")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoUsuario {
+
+    @Id
+    @Column(name = "usuario_id")
+    private UUID usuarioId;
+
+    @Column(name = "alterado_em", nullable = false)
+    private LocalDateTime alteradoEm;
+}
@@ -0,0 +1,39 @@
+package senai.treinomax.api.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Última revogação dos tokens de acesso de um usuário. Tokens emitidos antes
+ * de {@code revogadoEm} deixam de ser aceitos.
+ */
+@Entity
+@Table(name = "revogacoes_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevogacaoToken {
+
+    @Id
+    @Column(name = "usuario_id")
+    private UUID usuarioId;
+
+    @Column(name = "revogado_em", nullable = false)
+    private LocalDateTime revogadoEm;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Motivo motivo;
+
+    public enum Motivo {
+        DESATIVACAO,
+        PAPEIS,
+        SENHA,
+        LOGOUT
+    }
+}
@@ -0,0 +1,15 @@
+package senai.treinomax.api.auth.repository;
+
+import senai.treinomax.api.auth.model.AlteracaoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AlteracaoUsuarioRepository extends JpaRepository<AlteracaoUsuario, UUID> {
+
+    List<AlteracaoUsuario> findByAlteradoEmAfter(LocalDateTime alteradoEm);
+}
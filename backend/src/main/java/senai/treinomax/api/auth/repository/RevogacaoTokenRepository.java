@@ -0,0 +1,15 @@
+package senai.treinomax.api.auth.repository;
+
+import senai.treinomax.api.auth.model.RevogacaoToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevogacaoTokenRepository extends JpaRepository<RevogacaoToken, UUID> {
+
+    List<RevogacaoToken> findByRevogadoEmAfter(LocalDateTime revogadoEm);
+}
@@ -22,10 +22,12 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
     @Query("UPDATE Usuario u SET u.emailVerificado = true WHERE u.id = :usuarioId")
     void marcarEmailComoVerificado(@Param("usuarioId") UUID usuarioId);
 
+    // Quem chamar registra a alteração no AlteracaoUsuarioService, para o usuário sair do cache
     @Modifying
     @Query("UPDATE Usuario u SET u.senha = :novaSenha WHERE u.id = :usuarioId")
     void atualizarSenha(@Param("usuarioId") UUID usuarioId, @Param("novaSenha") String novaSenha);
 
+    // Quem chamar registra a alteração no AlteracaoUsuarioService, para o usuário sair do cache
     @Modifying
     @Query("UPDATE Usuario u SET u.ativo = :ativo WHERE u.id = :usuarioId")
     void atualizarStatusAtivo(@Param("usuarioId") UUID usuarioId, @Param("ativo") Boolean ativo);
@@ -36,5 +38,22 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
 
     long countByPlanoId(UUID planoId);
 
-    long countByPlanoIsNotNull();
+    // Uma linha por plano com membros, mais uma com plano nulo para os membros sem plano
+    @Query("""
+            SELECT p.id AS planoId, p.nome AS planoNome, p.ativo AS planoAtivo, COUNT(u) AS quantidade
+            FROM Usuario u
+            LEFT JOIN u.plano p
+            GROUP BY p.id, p.nome, p.ativo
+            """)
+    List<MembrosPorPlano> contarMembrosPorPlano();
+
+    interface MembrosPorPlano {
+        UUID getPlanoId();
+
+        String getPlanoNome();
+
+        Boolean getPlanoAtivo();
+
+        long getQuantidade();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package senai.treinomax.api.auth.service;
+
+import jakarta.annotation.PostConstruct;
+import senai.treinomax.api.auth.model.AlteracaoUsuario;
+import senai.treinomax.api.auth.repository.AlteracaoUsuarioRepository;
+import senai.treinomax.api.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Propaga as alterações de senha, status e papéis dos usuários para o
+ * {@link CacheUsuarios} de todas as instâncias.
+ *
+ * A alteração é gravada em alteracoes_usuarios na mesma transação de quem
+ * alterou o usuário. Nesta instância o usuário sai do cache na hora e de novo
+ * depois do commit, para um carregamento feito no meio não ficar com os dados
+ * antigos; as outras instâncias buscam na tabela as alterações recentes a
+ * cada poucos segundos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlteracaoUsuarioService {
+
+    // Folga na busca incremental, para alterações gravadas com atraso ou com diferença de relógio
+    private static final long FOLGA_SEGUNDOS = 60;
+
+    private final AlteracaoUsuarioRepository alteracaoUsuarioRepository;
+    private final CacheUsuarios cacheUsuarios;
+
+    private volatile LocalDateTime ultimaBusca;
+
+    @PostConstruct
+    void iniciar() {
+        ultimaBusca = DateUtils.getCurrentBrazilianLocalDateTime();
+    }
+
+    @Transactional
+    public void registrar(UUID usuarioId) {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        AlteracaoUsuario alteracao = alteracaoUsuarioRepository.findById(usuarioId)
+                .orElseGet(() -> new AlteracaoUsuario(usuarioId, null));
+        alteracao.setAlteradoEm(agora);
+        alteracaoUsuarioRepository.save(alteracao);
+
+        cacheUsuarios.descartar(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheUsuarios.descartar(usuarioId);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${usuarios.alteracoes.intervalo-ms:5000}")
+    public void sincronizar() {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        for (AlteracaoUsuario alteracao : alteracaoUsuarioRepository.findByAlteradoEmAfter(
+                ultimaBusca.minusSeconds(FOLGA_SEGUNDOS))) {
+            cacheUsuarios.descartar(alteracao.getUsuarioId());
+        }
+        ultimaBusca = agora;
+    }
+}
@@ -18,6 +18,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -200,20 +202,17 @@ public class AuthService {
         }
     }
 
+    /**
+     * Revoga todos os tokens do usuário autenticado. O id vem do token de
+     * acesso de quem chama, nunca da requisição.
+     */
     @Transactional
-    public void logoutAll(String email) {
-        log.info("Processando logout de todos os dispositivos para: {}", email);
+    public void logoutAll(UUID usuarioId) {
+        log.info("Processando logout de todos os dispositivos para usuário ID: {}", usuarioId);
 
-        try {
-            Usuario usuario = usuarioService.buscarPorEmail(email);
-            
-            // Revogar todos os tokens do usuário
-            tokenService.revogarTodosTokensDoUsuario(usuario.getId());
-            
-            log.info("Logout de todos os dispositivos realizado para: {}", email);
-        } catch (UsuarioNaoEncontradoException e) {
-            log.warn("Usuário não encontrado para logout de todos os dispositivos: {}", email);
-            throw e;
-        }
+        // Revogar todos os tokens do usuário
+        tokenService.revogarTodosTokensDoUsuario(usuarioId);
+
+        log.info("Logout de todos os dispositivos realizado para usuário ID: {}", usuarioId);
     }
 }
\ No newline at end of file
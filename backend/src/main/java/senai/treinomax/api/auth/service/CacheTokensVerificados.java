@@ -0,0 +1,155 @@
+package senai.treinomax.api.auth.service;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado (LRU) dos claims de tokens de acesso já verificados, para
+ * não repetir o HMAC e a leitura do JSON a cada requisição com o mesmo token.
+ *
+ * A chave é o SHA-256 do token, truncado em 128 bits; o token em si não fica
+ * em memória. Uma entrada só vale até o {@code exp} do token e enquanto o anel
+ * de chaves for o mesmo da verificação. As entradas são divididas em
+ * segmentos, cada um com o seu LRU e a sua trava, para as requisições
+ * concorrentes não disputarem uma trava só.
+ *
+ * Os claims guardados são compartilhados entre as requisições e não devem ser
+ * alterados.
+ */
+@Component
+public class CacheTokensVerificados {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Map<Chave, Entrada>[] segmentos;
+    private final int capacidade;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public record Chave(long alta, long baixa) {
+    }
+
+    private record Entrada(Claims claims, long expiraEm, long versaoChaves) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public CacheTokensVerificados(MeterRegistry meterRegistry,
+            @Value("${jwt.cache.capacidade:10000}") int capacidade) {
+        this.capacidade = capacidade;
+        int capacidadeSegmento = Math.max(1, capacidade / SEGMENTOS);
+        this.segmentos = new Map[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> maisAntiga) {
+                    if (size() > capacidadeSegmento) {
+                        remocoes.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        registrarMetricas(meterRegistry);
+    }
+
+    public static Chave chave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new Chave(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Claims guardados para o token, ou {@code null} se não houver, se o token
+     * já expirou ou se foi verificado com outra versão do anel de chaves.
+     */
+    public Claims buscar(Chave chave, long versaoChaves) {
+        Map<Chave, Entrada> segmento = segmento(chave);
+        Entrada entrada;
+        synchronized (segmento) {
+            entrada = segmento.get(chave);
+            if (entrada != null && (entrada.expiraEm() <= System.currentTimeMillis()
+                    || entrada.versaoChaves() != versaoChaves)) {
+                segmento.remove(chave);
+                entrada = null;
+            }
+        }
+        if (entrada == null) {
+            falhas.increment();
+            return null;
+        }
+        acertos.increment();
+        return entrada.claims();
+    }
+
+    public void guardar(Chave chave, Claims claims, long versaoChaves) {
+        // Sem exp não há até quando guardar
+        if (capacidade <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(claims, claims.getExpiration().getTime(), versaoChaves);
+        Map<Chave, Entrada> segmento = segmento(chave);
+        synchronized (segmento) {
+            segmento.put(chave, entrada);
+        }
+    }
+
+    public int tamanho() {
+        int tamanho = 0;
+        for (Map<Chave, Entrada> segmento : segmentos) {
+            synchronized (segmento) {
+                tamanho += segmento.size();
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Fração das buscas atendidas pelo cache desde o início.
+     */
+    public double taxaAcertos() {
+        long totalAcertos = acertos.sum();
+        long total = totalAcertos + falhas.sum();
+        return total == 0 ? 0 : (double) totalAcertos / total;
+    }
+
+    private Map<Chave, Entrada> segmento(Chave chave) {
+        return segmentos[(int) (chave.baixa() & (SEGMENTOS - 1))];
+    }
+
+    private void registrarMetricas(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("jwt.cache.acertos", acertos, LongAdder::sum)
+                .description("Validações de token atendidas pelo cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.falhas", falhas, LongAdder::sum)
+                .description("Validações de token que precisaram verificar a assinatura")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.remocoes", remocoes, LongAdder::sum)
+                .description("Entradas removidas por falta de espaço")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.taxa.acertos", this, CacheTokensVerificados::taxaAcertos)
+                .description("Fração das validações de token atendidas pelo cache")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.tamanho", this, CacheTokensVerificados::tamanho)
+                .description("Tokens verificados guardados")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,133 @@
+package senai.treinomax.api.auth.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import senai.treinomax.api.auth.service.CustomUserDetailsService.CustomUserDetails;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado (LRU) dos usuários carregados pelo
+ * {@link CustomUserDetailsService}, por email e por id, com validade de
+ * {@code usuarios.cache.ttl-ms}.
+ *
+ * Quem altera senha, status ou papéis de um usuário registra a alteração no
+ * {@link AlteracaoUsuarioService}, que descarta o usuário daqui e das outras
+ * instâncias. O TTL limita o tempo de uma entrada desatualizada por uma
+ * alteração que não passou por ele.
+ */
+@Component
+public class CacheUsuarios {
+
+    private final int capacidade;
+    private final long ttlMs;
+    private final Map<Object, Entrada> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    private long versaoAtual;
+
+    // Chaves separadas para um email e um id com o mesmo texto nunca se confundirem
+    private record PorEmail(String email) {
+    }
+
+    private record Entrada(CustomUserDetails usuario, long expiraEm) {
+    }
+
+    public CacheUsuarios(MeterRegistry meterRegistry,
+            @Value("${usuarios.cache.capacidade:5000}") int capacidade,
+            @Value("${usuarios.cache.ttl-ms:60000}") long ttlMs) {
+        this.capacidade = capacidade;
+        this.ttlMs = ttlMs;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entrada> maisAntiga) {
+                return size() > CacheUsuarios.this.capacidade;
+            }
+        };
+        FunctionCounter.builder("usuarios.cache.acertos", acertos, LongAdder::sum)
+                .description("Usuários servidos pelo cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("usuarios.cache.falhas", falhas, LongAdder::sum)
+                .description("Usuários que precisaram ser carregados do banco")
+                .register(meterRegistry);
+        Gauge.builder("usuarios.cache.tamanho", this, CacheUsuarios::tamanho)
+                .description("Entradas guardadas, por email e por id")
+                .register(meterRegistry);
+    }
+
+    public CustomUserDetails buscarPorEmail(String email) {
+        return buscar(new PorEmail(email));
+    }
+
+    public CustomUserDetails buscarPorId(UUID id) {
+        return buscar(id);
+    }
+
+    /**
+     * Guarda o usuário carregado, a menos que algum usuário tenha sido
+     * descartado depois da leitura de {@code versao}: um carregamento
+     * concorrente com uma alteração não pode repor os dados antigos.
+     */
+    public void guardar(CustomUserDetails usuario, long versao) {
+        if (capacidade <= 0) {
+            return;
+        }
+        Entrada entrada = new Entrada(usuario, System.currentTimeMillis() + ttlMs);
+        synchronized (entradas) {
+            if (versao != versaoAtual) {
+                return;
+            }
+            entradas.put(new PorEmail(usuario.getUsername()), entrada);
+            entradas.put(usuario.getId(), entrada);
+        }
+    }
+
+    /**
+     * Versão atual do cache, lida antes de carregar um usuário do banco e
+     * passada para {@link #guardar}. Muda a cada descarte.
+     */
+    public long versao() {
+        synchronized (entradas) {
+            return versaoAtual;
+        }
+    }
+
+    public void descartar(UUID usuarioId) {
+        synchronized (entradas) {
+            versaoAtual++;
+            // Percorre tudo: a entrada por email pode ter ficado sem a por id, removida antes pelo LRU
+            entradas.values().removeIf(entrada -> entrada.usuario().getId().equals(usuarioId));
+        }
+    }
+
+    public int tamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    private CustomUserDetails buscar(Object chave) {
+        Entrada entrada;
+        synchronized (entradas) {
+            entrada = entradas.get(chave);
+            if (entrada != null && entrada.expiraEm() <= System.currentTimeMillis()) {
+                entradas.remove(chave);
+                entrada = null;
+            }
+        }
+        if (entrada == null) {
+            falhas.increment();
+            return null;
+        }
+        acertos.increment();
+        return entrada.usuario();
+    }
+}
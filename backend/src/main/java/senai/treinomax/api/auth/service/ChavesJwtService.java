@@ -0,0 +1,142 @@
+package senai.treinomax.api.auth.service;
+
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Chaves HMAC dos tokens de acesso, identificadas pelo {@code kid} do
+ * cabeçalho do JWT.
+ *
+ * A chave de {@code jwt.secret} está sempre no anel, com o id
+ * {@code jwt.chave-padrao}, e é a usada nos tokens emitidos sem {@code kid}.
+ * Outras chaves vêm do arquivo opcional {@code jwt.chaves.arquivo}, no
+ * formato de properties:
+ *
+ * <pre>
+ * atual=2025-11
+ * chave.2025-10=...
+ * chave.2025-11=...
+ * </pre>
+ *
+ * O arquivo é relido quando muda, sem reiniciar a aplicação. Para trocar o
+ * segredo: incluir a chave nova em todas as instâncias, depois apontar
+ * {@code atual} para ela e só remover a antiga quando os tokens assinados com
+ * ela tiverem expirado. Um arquivo inválido é ignorado e o anel anterior
+ * continua valendo.
+ */
+@Service
+@Slf4j
+public class ChavesJwtService {
+
+    private static final String ATUAL = "atual";
+    private static final String PREFIXO_CHAVE = "chave.";
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.chave-padrao:principal}")
+    private String idChavePadrao;
+
+    @Value("${jwt.chaves.arquivo:}")
+    private String arquivo;
+
+    private volatile Anel anel;
+
+    private volatile long arquivoModificadoEm;
+
+    public record ChaveJwt(String id, SecretKey chave) {
+    }
+
+    private record Anel(long versao, ChaveJwt atual, Map<String, SecretKey> chaves) {
+    }
+
+    @PostConstruct
+    void carregar() {
+        Map<String, SecretKey> chaves = new HashMap<>();
+        chaves.put(idChavePadrao, Keys.hmacShaKeyFor(jwtSecret.getBytes()));
+        anel = new Anel(0, new ChaveJwt(idChavePadrao, chaves.get(idChavePadrao)), Map.copyOf(chaves));
+        recarregar();
+    }
+
+    /**
+     * Chave com que os tokens novos são assinados.
+     */
+    public ChaveJwt getAtual() {
+        return anel.atual();
+    }
+
+    /**
+     * Muda a cada carga do anel; resultados de validação guardados com outra
+     * versão não valem mais.
+     */
+    public long getVersao() {
+        return anel.versao();
+    }
+
+    /**
+     * Chave de um {@code kid}, ou a de {@code jwt.secret} para tokens sem
+     * {@code kid}. Retorna null se o id não está no anel.
+     */
+    public SecretKey getChave(String id) {
+        return anel.chaves().get(id == null ? idChavePadrao : id);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.chaves.recarga-ms:30000}")
+    public void recarregar() {
+        if (arquivo == null || arquivo.isBlank()) {
+            return;
+        }
+        Path caminho = Path.of(arquivo);
+        try {
+            long modificadoEm = Files.getLastModifiedTime(caminho).toMillis();
+            if (modificadoEm == arquivoModificadoEm) {
+                return;
+            }
+            anel = lerArquivo(caminho, anel.versao() + 1);
+            arquivoModificadoEm = modificadoEm;
+            log.info("Chaves JWT carregadas de {}: {} chave(s), atual {}",
+                    arquivo, anel.chaves().size(), anel.atual().id());
+        } catch (IOException | RuntimeException e) {
+            log.error("Não foi possível carregar as chaves JWT de {}; mantendo as anteriores: {}",
+                    arquivo, e.getMessage());
+        }
+    }
+
+    private Anel lerArquivo(Path caminho, long versao) throws IOException {
+        Properties propriedades = new Properties();
+        try (Reader leitor = Files.newBufferedReader(caminho, StandardCharsets.UTF_8)) {
+            propriedades.load(leitor);
+        }
+
+        Map<String, SecretKey> chaves = new HashMap<>();
+        chaves.put(idChavePadrao, Keys.hmacShaKeyFor(jwtSecret.getBytes()));
+        for (String nome : propriedades.stringPropertyNames()) {
+            if (nome.startsWith(PREFIXO_CHAVE)) {
+                // Segredos com menos de 256 bits são recusados aqui e invalidam o arquivo inteiro
+                chaves.put(nome.substring(PREFIXO_CHAVE.length()),
+                        Keys.hmacShaKeyFor(propriedades.getProperty(nome).getBytes()));
+            }
+        }
+
+        String idAtual = propriedades.getProperty(ATUAL, idChavePadrao).trim();
+        SecretKey chaveAtual = chaves.get(idAtual);
+        if (chaveAtual == null) {
+            throw new IllegalStateException("chave atual " + idAtual + " não está no arquivo");
+        }
+        return new Anel(versao, new ChaveJwt(idAtual, chaveAtual), Map.copyOf(chaves));
+    }
+}
@@ -1,5 +1,6 @@
 package senai.treinomax.api.auth.service;
 
+import io.jsonwebtoken.Claims;
 import senai.treinomax.api.auth.model.Role;
 import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.repository.UsuarioRepository;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,19 +26,21 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final CacheUsuarios cacheUsuarios;
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        CustomUserDetails emCache = cacheUsuarios.buscarPorEmail(email);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        long versao = cacheUsuarios.versao();
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
 
-        return new CustomUserDetails(
-                usuario.getId(),
-                usuario.getEmail(),
-                usuario.getSenha(),
-                usuario.getAtivo(),
-                getAuthorities(usuario));
+        return guardar(usuario, versao);
     }
 
     private Collection<? extends GrantedAuthority> getAuthorities(Usuario usuario) {
@@ -50,17 +54,50 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Monta o usuário autenticado só com os claims de um token já validado,
+     * sem consultar o banco. Usuário desativado ou com papéis alterados deve
+     * ser barrado antes, pela revogação do token.
+     */
+    public UserDetails carregarDosClaims(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        Collection<? extends GrantedAuthority> authorities = roles == null || roles.isEmpty()
+                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+                : roles.stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .collect(Collectors.toList());
+
+        return new CustomUserDetails(
+                UUID.fromString(claims.get("id", String.class)),
+                claims.getSubject(),
+                null,
+                true,
+                authorities);
+    }
+
     @Transactional(readOnly = true)
     public UserDetails loadUserById(UUID id) throws UsernameNotFoundException {
+        CustomUserDetails emCache = cacheUsuarios.buscarPorId(id);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        long versao = cacheUsuarios.versao();
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com ID: " + id));
 
-        return new CustomUserDetails(
+        return guardar(usuario, versao);
+    }
+
+    private CustomUserDetails guardar(Usuario usuario, long versao) {
+        CustomUserDetails usuarioDetails = new CustomUserDetails(
                 usuario.getId(),
                 usuario.getEmail(),
                 usuario.getSenha(),
                 usuario.getAtivo(),
                 getAuthorities(usuario));
+        cacheUsuarios.guardar(usuarioDetails, versao);
+        return usuarioDetails;
     }
 
     @Data
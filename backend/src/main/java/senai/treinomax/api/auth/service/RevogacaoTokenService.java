@@ -0,0 +1,112 @@
+package senai.treinomax.api.auth.service;
+
+import jakarta.annotation.PostConstruct;
+import senai.treinomax.api.auth.model.RevogacaoToken;
+import senai.treinomax.api.auth.model.RevogacaoToken.Motivo;
+import senai.treinomax.api.auth.repository.RevogacaoTokenRepository;
+import senai.treinomax.api.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revogação dos tokens de acesso sem consultar o banco a cada requisição.
+ *
+ * Cada usuário tem no máximo um horário de corte: tokens emitidos antes dele
+ * são recusados. Os cortes ficam em memória e na tabela revogacoes_tokens; cada
+ * instância busca na tabela os cortes gravados pelas outras a cada poucos
+ * segundos. Um corte só importa enquanto algum token emitido antes dele pode
+ * estar válido, então cortes mais antigos que {@code jwt.expiration} são
+ * descartados da memória.
+ *
+ * O {@code iat} do JWT tem precisão de segundos: um token emitido no mesmo
+ * segundo da revogação, depois dela, também é recusado e o usuário precisa
+ * entrar de novo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevogacaoTokenService {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    // Folga na busca incremental, para cortes gravados com atraso ou com diferença de relógio
+    private static final long FOLGA_SEGUNDOS = 60;
+
+    private final RevogacaoTokenRepository revogacaoTokenRepository;
+
+    @Value("${jwt.expiration:86400000}")
+    private Long jwtExpiration;
+
+    private final Map<UUID, Long> cortes = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime ultimaBusca;
+
+    @PostConstruct
+    void carregar() {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        buscarDesde(agora.minusNanos(jwtExpiration * 1_000_000));
+        ultimaBusca = agora;
+        log.info("{} revogação(ões) de token carregada(s)", cortes.size());
+    }
+
+    /**
+     * Recusa, a partir de agora, todos os tokens de acesso já emitidos para o
+     * usuário.
+     */
+    @Transactional
+    public void revogar(UUID usuarioId, Motivo motivo) {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        RevogacaoToken revogacao = revogacaoTokenRepository.findById(usuarioId)
+                .orElseGet(() -> new RevogacaoToken(usuarioId, null, null));
+        revogacao.setRevogadoEm(agora);
+        revogacao.setMotivo(motivo);
+        revogacaoTokenRepository.save(revogacao);
+
+        // Vale nesta instância antes do commit; um rollback só obriga o usuário a entrar de novo
+        cortes.merge(usuarioId, emMillis(agora), Math::max);
+        log.info("Tokens de acesso do usuário {} revogados ({})", usuarioId, motivo);
+    }
+
+    /**
+     * Se um token do usuário emitido em {@code emitidoEm} foi revogado. Só
+     * consulta a memória.
+     */
+    public boolean isRevogado(UUID usuarioId, Date emitidoEm) {
+        Long corte = cortes.get(usuarioId);
+        if (corte == null) {
+            return false;
+        }
+        return emitidoEm == null || emitidoEm.getTime() < corte;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revogacao.intervalo-ms:5000}")
+    public void sincronizar() {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        buscarDesde(ultimaBusca.minusSeconds(FOLGA_SEGUNDOS));
+        ultimaBusca = agora;
+
+        long limite = emMillis(agora) - jwtExpiration;
+        cortes.values().removeIf(corte -> corte < limite);
+    }
+
+    private void buscarDesde(LocalDateTime desde) {
+        for (RevogacaoToken revogacao : revogacaoTokenRepository.findByRevogadoEmAfter(desde)) {
+            cortes.merge(revogacao.getUsuarioId(), emMillis(revogacao.getRevogadoEm()), Math::max);
+        }
+    }
+
+    private static long emMillis(LocalDateTime horario) {
+        return horario.atZone(FUSO).toInstant().toEpochMilli();
+    }
+}
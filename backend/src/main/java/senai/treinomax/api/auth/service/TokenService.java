@@ -1,18 +1,24 @@
 package senai.treinomax.api.auth.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import senai.treinomax.api.auth.exception.TokenExpiradoException;
 import senai.treinomax.api.auth.exception.TokenInvalidoException;
 import senai.treinomax.api.auth.model.RefreshToken;
+import senai.treinomax.api.auth.model.RevogacaoToken.Motivo;
 import senai.treinomax.api.auth.model.TokenRecuperacaoSenha;
 import senai.treinomax.api.auth.model.TokenVerificacaoEmail;
 import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.repository.RefreshTokenRepository;
 import senai.treinomax.api.auth.repository.TokenRecuperacaoSenhaRepository;
 import senai.treinomax.api.auth.repository.TokenVerificacaoEmailRepository;
+import senai.treinomax.api.auth.service.ChavesJwtService.ChaveJwt;
 import senai.treinomax.api.util.DateUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,9 +39,9 @@ public class TokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final TokenRecuperacaoSenhaRepository tokenRecuperacaoSenhaRepository;
     private final TokenVerificacaoEmailRepository tokenVerificacaoEmailRepository;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final ChavesJwtService chavesJwtService;
+    private final CacheTokensVerificados cacheTokensVerificados;
 
     @Value("${jwt.expiration:86400000}")
     private Long jwtExpiration;
@@ -43,15 +49,32 @@ public class TokenService {
     @Value("${jwt.refresh-expiration:2592000000}")
     private Long refreshTokenExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Imutável e thread-safe; a chave é escolhida pelo kid a cada token, então trocar o anel não exige outro parser
+    private JwtParser parser;
+
+    @PostConstruct
+    void iniciar() {
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key chave = chavesJwtService.getChave(header.getKeyId());
+                        if (chave == null) {
+                            throw new SignatureException("Chave " + header.getKeyId() + " desconhecida");
+                        }
+                        return chave;
+                    }
+                })
+                .build();
     }
 
     public String gerarTokenJWT(Usuario usuario) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        ChaveJwt chave = chavesJwtService.getAtual();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, chave.id())
                 .setSubject(usuario.getEmail())
                 .claim("id", usuario.getId().toString())
                 .claim("nome", usuario.getNome())
@@ -59,21 +82,27 @@ public class TokenService {
                 .claim("roles", usuario.getRoles())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(chave.chave(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Claims validarToken(String token) {
+        CacheTokensVerificados.Chave chave = CacheTokensVerificados.chave(token);
+        // Lida antes da verificação: se o anel mudar no meio, a entrada já nasce inválida
+        long versaoChaves = chavesJwtService.getVersao();
+        Claims claims = cacheTokensVerificados.buscar(chave, versaoChaves);
+        if (claims != null) {
+            return claims;
+        }
+
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             log.error("Token JWT inválido: {}", e.getMessage());
             throw new TokenInvalidoException("Token JWT inválido: " + e.getMessage());
         }
+        cacheTokensVerificados.guardar(chave, claims, versaoChaves);
+        return claims;
     }
 
     public String extrairEmailDoToken(String token) {
@@ -218,6 +247,7 @@ public class TokenService {
         refreshTokenRepository.revogarTodosTokensDoUsuario(usuarioId);
         tokenRecuperacaoSenhaRepository.deleteByUsuarioId(usuarioId);
         tokenVerificacaoEmailRepository.deleteByUsuarioId(usuarioId);
+        revogacaoTokenService.revogar(usuarioId, Motivo.LOGOUT);
         
         log.info("Todos os tokens revogados para usuário ID: {}", usuarioId);
     }
@@ -3,8 +3,10 @@ package senai.treinomax.api.auth.service;
 import senai.treinomax.api.auth.dto.request.RegistroRequest;
 import senai.treinomax.api.auth.exception.EmailJaCadastradoException;
 import senai.treinomax.api.auth.exception.UsuarioNaoEncontradoException;
+import senai.treinomax.api.auth.model.RevogacaoToken.Motivo;
 import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.service.ContadoresDashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,9 @@ public class UsuarioService {
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
     private final EmailService emailService;
+    private final ContadoresDashboardService contadoresDashboard;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final AlteracaoUsuarioService alteracaoUsuarioService;
 
     @Transactional
     public Usuario registrarUsuario(RegistroRequest registroRequest) {
@@ -45,6 +50,7 @@ public class UsuarioService {
         }
 
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        contadoresDashboard.membroRegistrado();
         log.info("Usuário registrado com sucesso: {}", usuarioSalvo.getEmail());
 
         String tokenVerificacao = tokenService.gerarTokenVerificacaoEmail(usuarioSalvo);
@@ -87,6 +93,7 @@ public class UsuarioService {
         usuario.setEmailVerificado(true);
 
         usuarioRepository.save(usuario);
+        alteracaoUsuarioService.registrar(usuario.getId());
         log.info("Usuário ativado com sucesso: {}", usuario.getEmail());
     }
 
@@ -96,6 +103,8 @@ public class UsuarioService {
 
         usuario.setSenha(passwordEncoder.encode(novaSenha));
         usuarioRepository.save(usuario);
+        revogacaoTokenService.revogar(usuario.getId(), Motivo.SENHA);
+        alteracaoUsuarioService.registrar(usuario.getId());
 
         emailService.enviarEmailConfirmacaoResetSenha(usuario);
 
@@ -112,6 +121,7 @@ public class UsuarioService {
         usuario.setAtivo(true);
 
         usuarioRepository.save(usuario);
+        alteracaoUsuarioService.registrar(usuario.getId());
         log.info("Email verificado com sucesso para usuário: {}", usuario.getEmail());
     }
 
@@ -168,6 +178,8 @@ public class UsuarioService {
 
         usuario.setAtivo(false);
         usuarioRepository.save(usuario);
+        revogacaoTokenService.revogar(usuario.getId(), Motivo.DESATIVACAO);
+        alteracaoUsuarioService.registrar(usuario.getId());
 
         log.info("Usuário desativado com sucesso: {}", usuario.getEmail());
     }
@@ -198,6 +210,9 @@ public class UsuarioService {
         Usuario usuario = buscarPorId(id);
         usuario.addRole(senai.treinomax.api.auth.model.Role.PERSONAL);
         usuarioRepository.save(usuario);
+        // O token traz os papéis; o usuário entra de novo para receber um com PERSONAL
+        revogacaoTokenService.revogar(usuario.getId(), Motivo.PAPEIS);
+        alteracaoUsuarioService.registrar(usuario.getId());
         log.info("Usuário {} promovido para PERSONAL com sucesso", usuario.getEmail());
     }
 }
\ No newline at end of file
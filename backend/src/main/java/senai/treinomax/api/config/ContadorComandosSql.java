@@ -0,0 +1,42 @@
+package senai.treinomax.api.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, enquanto um
+ * contador estiver associado a ela. Cada comando é uma ida ao banco; um lote
+ * JDBC conta uma vez.
+ */
+public class ContadorComandosSql implements StatementInspector {
+
+    private static final ThreadLocal<LongAdder> CONTADOR = new ThreadLocal<>();
+
+    /**
+     * Associa o contador à thread atual e retorna o que estava associado antes,
+     * para ser devolvido com {@link #restaurar}.
+     */
+    public static LongAdder iniciar(LongAdder contador) {
+        LongAdder anterior = CONTADOR.get();
+        CONTADOR.set(contador);
+        return anterior;
+    }
+
+    public static void restaurar(LongAdder anterior) {
+        if (anterior == null) {
+            CONTADOR.remove();
+        } else {
+            CONTADOR.set(anterior);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        LongAdder contador = CONTADOR.get();
+        if (contador != null) {
+            contador.increment();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,17 @@
+package senai.treinomax.api.config;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RelogioConfig {
+
+    // Mesmo fuso de DateUtils; substituível em testes e simulações
+    @Bean
+    public Clock relogio() {
+        return Clock.system(ZoneId.of("America/Sao_Paulo"));
+    }
+}
@@ -0,0 +1,38 @@
+package senai.treinomax.api.controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import senai.treinomax.api.dto.response.ExecucaoVerificacaoCobrancaResponse;
+import senai.treinomax.api.dto.response.MetricasParticaoCobrancaResponse;
+import senai.treinomax.api.service.PlanoUsuarioEventosService;
+
+@RestController
+@RequestMapping("/api/cobrancas/ciclo")
+@RequiredArgsConstructor
+public class CicloCobrancaController {
+
+    private final PlanoUsuarioEventosService planoUsuarioEventosService;
+
+    @GetMapping("/execucoes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<ExecucaoVerificacaoCobrancaResponse>> listarExecucoes(Pageable pageable) {
+        Page<ExecucaoVerificacaoCobrancaResponse> execucoes = planoUsuarioEventosService.listarExecucoes(pageable)
+                .map(ExecucaoVerificacaoCobrancaResponse::fromEntity);
+        return ResponseEntity.ok(execucoes);
+    }
+
+    @GetMapping("/particoes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<MetricasParticaoCobrancaResponse>> getMetricasUltimoCiclo() {
+        return ResponseEntity.ok(planoUsuarioEventosService.getMetricasUltimoCiclo());
+    }
+}
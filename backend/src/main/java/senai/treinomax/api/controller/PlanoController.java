@@ -14,11 +14,14 @@ import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.service.UsuarioService;
 import senai.treinomax.api.dto.request.CriarPlanoRequest;
 import senai.treinomax.api.dto.request.AtualizarPlanoRequest;
+import senai.treinomax.api.dto.request.SimularCobrancasRequest;
 import senai.treinomax.api.dto.response.MeuPlanoResponse;
 import senai.treinomax.api.dto.response.PlanoResponse;
+import senai.treinomax.api.dto.response.SimulacaoCobrancaResponse;
 import senai.treinomax.api.model.Plano;
 import senai.treinomax.api.service.PlanoService;
 import senai.treinomax.api.service.PlanoUsuarioService;
+import senai.treinomax.api.service.SimulacaoCobrancaService;
 
 import java.util.List;
 import java.util.UUID;
@@ -33,6 +36,7 @@ public class PlanoController {
     private final PlanoService planoService;
     private final UsuarioService usuarioService;
     private final PlanoUsuarioService planoUsuarioService;
+    private final SimulacaoCobrancaService simulacaoCobrancaService;
 
     private PlanoResponse toPlanoResponse(Plano plano) {
         return new PlanoResponse(
@@ -135,6 +139,17 @@ public class PlanoController {
         return ResponseEntity.ok().build();
     }
 
+    // Projeção dos próximos ciclos de cobrança com reajustes e migrações hipotéticos; não grava nada
+    @PostMapping("/simulacao")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SimulacaoCobrancaResponse> simularCobrancas(
+            @Valid @RequestBody SimularCobrancasRequest request) {
+        log.info("Recebida solicitação para simular {} ciclo(s) de cobrança", request.getCiclos());
+
+        SimulacaoCobrancaResponse response = simulacaoCobrancaService.simular(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{id}/escolher")
     @PreAuthorize("hasAnyRole('CUSTOMER')")
     public ResponseEntity<Void> escolherPlano(@PathVariable UUID id) {
@@ -1,5 +1,7 @@
 package senai.treinomax.api.dto.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,4 +17,14 @@ public class GerarTreinoRequest {
 
     @NotEmpty(message = "Lista de tipos de treino não pode estar vazia")
     private List<GrupoMuscular> tiposTreino;
+
+    // Quando informado, retorna as melhores combinações com as notas em vez de só a melhor
+    @Min(value = 1, message = "Número de alternativas deve ser no mínimo 1")
+    @Max(value = 20, message = "Número de alternativas deve ser no máximo 20")
+    private Integer alternativas;
+
+    // Tempo máximo de busca; se vencer, retorna a melhor combinação encontrada até ali
+    @Min(value = 1, message = "Prazo deve ser de no mínimo 1 ms")
+    @Max(value = 10000, message = "Prazo deve ser de no máximo 10000 ms")
+    private Integer prazoMs;
 }
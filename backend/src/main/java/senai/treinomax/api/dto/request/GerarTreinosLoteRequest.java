@@ -0,0 +1,36 @@
+package senai.treinomax.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GerarTreinosLoteRequest {
+
+    @NotEmpty(message = "Lista de treinos não pode estar vazia")
+    @Size(max = 1000, message = "Um lote pode ter no máximo 1000 treinos")
+    @Valid
+    private List<ItemLoteTreinoRequest> treinos;
+
+    // Valores usados em todos os itens gerados
+    @NotNull(message = "O número de séries é obrigatório")
+    @Min(value = 1, message = "O número de séries deve ser positivo")
+    private Integer series = 3;
+
+    @NotBlank(message = "A faixa de repetições é obrigatória")
+    @Size(max = 20, message = "Repetições deve ter no máximo 20 caracteres")
+    private String repeticoes = "10-12";
+
+    @Size(max = 50, message = "O tempo de descanso deve ter no máximo 50 caracteres")
+    private String tempoDescanso = "60s";
+}
@@ -0,0 +1,34 @@
+package senai.treinomax.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemLoteTreinoRequest {
+
+    @NotNull(message = "usuarioId é obrigatório")
+    private UUID usuarioId;
+
+    @NotEmpty(message = "Lista de tipos de treino não pode estar vazia")
+    private List<GrupoMuscular> tiposTreino;
+
+    @Min(value = 1, message = "Número de exercícios deve ser no mínimo 1")
+    @Max(value = 12, message = "Número de exercícios deve ser no máximo 12")
+    private Integer numeroExercicios = 5;
+
+    // Se não informado, o nome é montado a partir dos grupos musculares
+    @Size(min = 3, max = 100, message = "O nome deve ter entre 3 e 100 caracteres.")
+    private String nome;
+}
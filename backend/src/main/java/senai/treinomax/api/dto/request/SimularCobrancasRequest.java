@@ -0,0 +1,48 @@
+package senai.treinomax.api.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimularCobrancasRequest {
+
+    @NotNull(message = "Quantidade de ciclos é obrigatória")
+    @Min(value = 1, message = "Simule pelo menos 1 ciclo")
+    @Max(value = 36, message = "Simule no máximo 36 ciclos")
+    private Integer ciclos = 12;
+
+    // Chance de cada cobrança gerada ser paga até o vencimento
+    @NotNull(message = "Taxa de pagamento é obrigatória")
+    @DecimalMin(value = "0.0", message = "Taxa de pagamento deve estar entre 0 e 1")
+    @DecimalMax(value = "1.0", message = "Taxa de pagamento deve estar entre 0 e 1")
+    private Double taxaPagamento = 0.95;
+
+    // Novo preço por id de plano, como em PlanoService.atualizarPreco
+    private Map<UUID, Integer> precosCentavos = new HashMap<>();
+
+    // Plano de destino por plano de origem, como em PlanoUsuarioService.migrarUsuariosEntrePlanos
+    private Map<UUID, UUID> migracoes = new HashMap<>();
+
+    // Quando informado, simula membros aleatórios em vez das cobranças do banco
+    @Min(value = 1, message = "Informe pelo menos 1 membro sintético")
+    @Max(value = 5_000_000, message = "No máximo 5.000.000 membros sintéticos")
+    private Integer membrosSinteticos;
+
+    // Dia inicial da simulação; padrão: hoje
+    private LocalDate dataInicio;
+
+    private Long semente = 42L;
+}
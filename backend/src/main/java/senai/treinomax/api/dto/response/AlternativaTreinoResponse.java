@@ -0,0 +1,18 @@
+package senai.treinomax.api.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlternativaTreinoResponse {
+    private List<UUID> exercicioIds;
+    private Double nota;
+}
@@ -0,0 +1,20 @@
+package senai.treinomax.api.dto.response;
+
+import java.time.YearMonth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CicloSimuladoResponse {
+    private YearMonth mes;
+    private Long cobrancasGeradas;
+    private Long planosRemovidos;
+    private Long receitaPrevistaCentavos; // cobranças com vencimento no mês que devem ser pagas
+    private Long inadimplenciaPrevistaCentavos; // cobranças com vencimento no mês que devem ficar em aberto
+}
@@ -1,5 +1,6 @@
 package senai.treinomax.api.dto.response;
 
+import java.util.List;
 import java.util.Map;
 
 import lombok.AllArgsConstructor;
@@ -17,5 +18,6 @@ public class DashboardResponse {
     private Integer totalNumberMembers;
     private Integer totalNumberPaidMembers;
     private Integer totalNumberUnpaidMembers;
-    private Map<String, Double> userDistributionByPlan;
+    private Map<String, Double> userDistributionByPlan; // nomes repetidos ganham o início do id do plano
+    private List<DistribuicaoPlanoResponse> distribuicaoPorPlano;
 }
@@ -0,0 +1,20 @@
+package senai.treinomax.api.dto.response;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistribuicaoPlanoResponse {
+    private UUID planoId;
+    private String planoNome;
+    private Boolean planoAtivo;
+    private Integer totalMembros;
+    private Double percentual; // sobre os membros com plano; 2.12 significa 2,12%
+}
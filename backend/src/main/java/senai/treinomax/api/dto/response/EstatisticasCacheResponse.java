@@ -0,0 +1,18 @@
+package senai.treinomax.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasCacheResponse {
+    private Long acertos;
+    private Long falhas;
+    private Long remocoes; // entradas descartadas por falta de espaço
+    private Integer tamanho;
+    private Integer capacidade;
+}
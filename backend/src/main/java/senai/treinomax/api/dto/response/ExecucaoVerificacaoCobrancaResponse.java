@@ -0,0 +1,80 @@
+package senai.treinomax.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import senai.treinomax.api.model.ExecucaoVerificacaoCobranca;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExecucaoVerificacaoCobrancaResponse {
+
+    // Mesmos limites de MetricasCicloCobranca.LIMITES_LOTE_MS, na mesma ordem da coluna latencia_lotes
+    private static final int[] LIMITES_LOTE_MS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private UUID id;
+    private LocalDate diaExecucao;
+    private LocalDateTime dataInicio;
+    private LocalDateTime dataFim;
+    private Boolean sucesso;
+    private String mensagemErro;
+    private Integer particoes;
+    private Long linhasLidas;
+    private Long lotes;
+    private Long inadimplenciasProcessadas;
+    private Long renovacoesProcessadas;
+    private Long cobrancasGeradas;
+    private Long comandosSql;
+    private Long tempoInadimplenciaMs; // somado entre as partições
+    private Long tempoRenovacaoMs; // somado entre as partições
+    private Long duracaoMs;
+    private Long maiorLoteMs;
+    private Map<String, Long> latenciaLotes; // lotes por faixa de latência
+
+    public static ExecucaoVerificacaoCobrancaResponse fromEntity(ExecucaoVerificacaoCobranca execucao) {
+        return ExecucaoVerificacaoCobrancaResponse.builder()
+                .id(execucao.getId())
+                .diaExecucao(execucao.getDiaExecucao())
+                .dataInicio(execucao.getDataInicio())
+                .dataFim(execucao.getDataFim())
+                .sucesso(execucao.getSucesso())
+                .mensagemErro(execucao.getMensagemErro())
+                .particoes(execucao.getParticoes())
+                .linhasLidas(execucao.getLinhasLidas())
+                .lotes(execucao.getLotes())
+                .inadimplenciasProcessadas(execucao.getInadimplenciasProcessadas())
+                .renovacoesProcessadas(execucao.getRenovacoesProcessadas())
+                .cobrancasGeradas(execucao.getCobrancasGeradas())
+                .comandosSql(execucao.getComandosSql())
+                .tempoInadimplenciaMs(execucao.getTempoInadimplenciaMs())
+                .tempoRenovacaoMs(execucao.getTempoRenovacaoMs())
+                .duracaoMs(execucao.getDuracaoMs())
+                .maiorLoteMs(execucao.getMaiorLoteMs())
+                .latenciaLotes(faixasLatencia(execucao.getLatenciaLotes()))
+                .build();
+    }
+
+    private static Map<String, Long> faixasLatencia(String latenciaLotes) {
+        Map<String, Long> faixas = new LinkedHashMap<>();
+        if (latenciaLotes == null || latenciaLotes.isBlank()) {
+            return faixas;
+        }
+        String[] quantidades = latenciaLotes.split(",");
+        for (int faixa = 0; faixa < quantidades.length; faixa++) {
+            String nome = faixa < LIMITES_LOTE_MS.length
+                    ? "ate" + LIMITES_LOTE_MS[faixa] + "ms"
+                    : ">" + LIMITES_LOTE_MS[LIMITES_LOTE_MS.length - 1] + "ms";
+            faixas.put(nome, Long.parseLong(quantidades[faixa].trim()));
+        }
+        return faixas;
+    }
+}
@@ -0,0 +1,36 @@
+package senai.treinomax.api.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoteTreinoResponse {
+
+    public enum Status {
+        AGUARDANDO,
+        EXECUTANDO,
+        CONCLUIDO,
+        FALHOU
+    }
+
+    private UUID id;
+    private Status status;
+    private Integer total;
+    private Integer requisitosDistintos; // combinações de grupos e número de exercícios geradas de fato
+    private Integer gerados;
+    private Integer salvos;
+    private Integer falhas;
+    private List<UUID> treinoIds; // na ordem dos itens do pedido; null para itens que falharam
+    private List<String> erros;
+    private LocalDateTime criadoEm;
+    private LocalDateTime concluidoEm;
+}
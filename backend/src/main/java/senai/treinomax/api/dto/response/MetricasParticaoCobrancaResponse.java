@@ -0,0 +1,21 @@
+package senai.treinomax.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricasParticaoCobrancaResponse {
+    private Integer particao;
+    private Integer totalParticoes;
+    private Integer inadimplenciasProcessadas; // acumulado do dia, inclusive de execuções retomadas
+    private Integer renovacoesProcessadas;
+    private Integer lotesProcessados;
+    private Long duracaoMs; // só desta execução
+    private Boolean sucesso;
+    private String erro;
+}
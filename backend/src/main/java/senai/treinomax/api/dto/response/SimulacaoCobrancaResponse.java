@@ -0,0 +1,22 @@
+package senai.treinomax.api.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulacaoCobrancaResponse {
+    private LocalDate dataInicio;
+    private Integer membros;
+    private Integer membrosComPlanoAoFinal;
+    private Long receitaPrevistaCentavos;
+    private Long duracaoMs; // só a simulação, sem a leitura do estado
+    private List<CicloSimuladoResponse> ciclos;
+}
@@ -0,0 +1,21 @@
+package senai.treinomax.api.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TreinoGeradoResponse {
+    private List<UUID> exercicioIds;
+    private Double nota;
+    private Boolean otimo; // false quando o prazo venceu antes de a busca terminar
+    private Double limiteSuperior; // a nota ótima não passa deste valor
+    private Double lacuna; // (limiteSuperior - nota) / limiteSuperior; 0.05 significa até 5% abaixo do ótimo
+}
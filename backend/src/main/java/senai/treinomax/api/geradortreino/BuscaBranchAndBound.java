@@ -0,0 +1,763 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+/**
+ * Busca exata da melhor combinação de exercícios por branch-and-bound.
+ *
+ * Os exercícios são visitados do mais promissor para o menos promissor e uma
+ * subárvore só é podada quando o seu limite superior garante que nenhuma
+ * combinação ali alcança a melhor nota já encontrada. Só notas exatamente
+ * iguais empatam, e o empate fica com a menor sequência de índices do
+ * catálogo. Cada combinação é somada em ordem de índice, como
+ * {@link CalculadoraTreinos#calcularNota} faz, mas só o representante de cada
+ * classe de exercícios intercambiáveis é avaliado: o resultado é a combinação
+ * que a enumeração exaustiva dos representantes encontraria primeiro.
+ *
+ * Com um {@link ForkJoinPool} a busca é dividida pelo primeiro exercício
+ * escolhido. Cada tarefa explora as suas subárvores com estado próprio e
+ * publica a melhor nota num {@link AtomicLong} compartilhado, que as demais
+ * usam para podar. Como a poda nunca descarta combinações dentro da
+ * tolerância de empate da melhor nota, o resultado combinado das tarefas é o
+ * mesmo da busca sequencial.
+ *
+ * A busca também pode retornar as N melhores combinações distintas. Elas ficam
+ * num heap limitado a N, com a pior no topo, cuja nota passa a ser a
+ * referência de poda assim que ele enche. Combinações que só diferem pela
+ * troca de exercícios com a mesma contribuição em todos os grupos musculares,
+ * inclusive os não pedidos, contam como uma só, representada pela de menores
+ * índices. Exercícios que só coincidem nos grupos pedidos dão a mesma nota,
+ * mas treinos diferentes, e aparecem como alternativas separadas.
+ *
+ * Com prazo, a busca para quando ele vence e retorna a melhor combinação
+ * encontrada até ali. Como ela parte de uma solução gulosa refinada por trocas,
+ * sempre há uma resposta. Para cada subárvore abandonada guarda-se o seu limite
+ * superior; o maior deles limita a nota ótima e mede a distância da resposta
+ * para o ótimo.
+ */
+class BuscaBranchAndBound {
+
+    // Margem aplicada ao limite superior para absorver erros de arredondamento
+    private static final double FOLGA_LIMITE = 1e-9;
+
+    // Folga relativa da poda: subárvores que podem empatar com a referência não são descartadas
+    private static final double TOLERANCIA_EMPATE = 1e-12;
+
+    // Catálogos menores que isso são resolvidos mais rápido sem dividir a busca
+    private static final int MINIMO_PARALELO = 64;
+
+    // Quantidade de primeiras posições que uma tarefa explora sem se dividir
+    private static final int POSICOES_POR_TAREFA = 4;
+
+    // O relógio é consultado a cada tantas posições visitadas
+    private static final int PASSOS_ENTRE_CONSULTAS = 256;
+
+    // Ordem do heap de alternativas: menor nota primeiro; no empate, a de maiores índices
+    private static final Comparator<Combinacao> PIOR_PRIMEIRO = Comparator
+            .comparingDouble((Combinacao combinacao) -> combinacao.nota)
+            .thenComparing((a, b) -> Arrays.compare(b.indices, a.indices));
+
+    private final int n;
+    private final int k;
+    private final int g;
+    private final int alternativas;
+
+    // contribuicoes[e][grupo] = log2(1 + 9 * qualidade) do exercício e (índice do catálogo) no grupo
+    private final double[][] contribuicoes;
+    // índice do grupo distinto para cada requisito, na ordem original
+    private final int[] grupoDoRequisito;
+    private final double[] pesoGrupo;
+    private final double somaPesos;
+
+    // Estruturas na ordem de visita da busca
+    private final int[] ordem;
+    private final int[] classe;
+    // classe de cada exercício, por índice do catálogo
+    private final int[] classeDoExercicio;
+    // primeiraPosicao[c] = posição do primeiro exercício da classe c (as classes ficam contíguas)
+    private final int[] primeiraPosicao;
+    // melhoresPorGrupo[grupo][i * (k + 1) + r] = soma das r maiores contribuições a partir da posição i
+    private final double[][] melhoresPorGrupo;
+    private final double[] melhoresTotais;
+    private final double[] melhoresCoberturas;
+    private final double folgaPotencia;
+
+    // Melhor nota já encontrada por qualquer tarefa, como bits de double:
+    // para valores não negativos a ordem dos bits é a mesma dos números
+    private final AtomicLong melhorNotaGlobal = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    // Instante (System.nanoTime) em que a busca deve parar, quando há prazo
+    private boolean comPrazo;
+    private long prazo;
+    private volatile boolean expirou;
+
+    // Preenchidos ao fim da busca
+    private boolean completa = true;
+    private double limiteSuperior;
+
+    BuscaBranchAndBound(ModeloPontuacao modelo, List<GrupoMuscular> requisitos, int k) {
+        this(modelo, requisitos, k, 1);
+    }
+
+    BuscaBranchAndBound(ModeloPontuacao modelo, List<GrupoMuscular> requisitos, int k, int alternativas) {
+        this.n = modelo.tamanho();
+        this.k = k;
+        this.alternativas = alternativas;
+
+        Map<GrupoMuscular, Integer> indices = new LinkedHashMap<>();
+        this.grupoDoRequisito = new int[requisitos.size()];
+        for (int r = 0; r < requisitos.size(); r++) {
+            grupoDoRequisito[r] = indices.computeIfAbsent(requisitos.get(r), chave -> indices.size());
+        }
+        this.g = indices.size();
+
+        this.pesoGrupo = new double[g];
+        for (int indice : grupoDoRequisito) {
+            pesoGrupo[indice] += 1.0;
+        }
+        this.somaPesos = requisitos.size();
+
+        this.contribuicoes = new double[n][g];
+        double[] totais = new double[n];
+        double[] coberturas = new double[n];
+        for (int e = 0; e < n; e++) {
+            for (Map.Entry<GrupoMuscular, Integer> grupo : indices.entrySet()) {
+                double contribuicao = modelo.contribuicao(e, grupo.getKey());
+                contribuicoes[e][grupo.getValue()] = contribuicao;
+                totais[e] += contribuicao;
+                if (contribuicao > 0) {
+                    coberturas[e]++;
+                }
+            }
+        }
+
+        // Exercícios com as mesmas contribuições são intercambiáveis. Para a melhor
+        // combinação bastam os grupos pedidos; entre as alternativas, exercícios que
+        // diferem em qualquer outro grupo formam treinos diferentes e não se juntam
+        int[] classes = new int[n];
+        Map<String, Integer> classesPorPerfil = new HashMap<>();
+        for (int e = 0; e < n; e++) {
+            String perfil = alternativas > 1 ? perfilCompleto(modelo, e) : Arrays.toString(contribuicoes[e]);
+            classes[e] = classesPorPerfil.computeIfAbsent(perfil, chave -> classesPorPerfil.size());
+        }
+
+        // Mais promissores primeiro; dentro de uma classe, pela ordem do catálogo
+        Integer[] ordenados = new Integer[n];
+        for (int e = 0; e < n; e++) {
+            ordenados[e] = e;
+        }
+        Arrays.sort(ordenados, Comparator
+                .comparingDouble((Integer e) -> -totais[e])
+                .thenComparingInt(e -> classes[e])
+                .thenComparingInt(e -> e));
+
+        this.ordem = new int[n];
+        this.classe = new int[n];
+        double[] totaisOrdenados = new double[n];
+        double[] coberturasOrdenadas = new double[n];
+        for (int posicao = 0; posicao < n; posicao++) {
+            int e = ordenados[posicao];
+            ordem[posicao] = e;
+            classe[posicao] = classes[e];
+            totaisOrdenados[posicao] = totais[e];
+            coberturasOrdenadas[posicao] = coberturas[e];
+        }
+
+        this.classeDoExercicio = classes;
+        this.primeiraPosicao = new int[classesPorPerfil.size()];
+        for (int posicao = n - 1; posicao >= 0; posicao--) {
+            primeiraPosicao[classe[posicao]] = posicao;
+        }
+
+        this.melhoresPorGrupo = new double[g][];
+        double[] coluna = new double[n];
+        for (int grupo = 0; grupo < g; grupo++) {
+            for (int posicao = 0; posicao < n; posicao++) {
+                coluna[posicao] = contribuicoes[ordem[posicao]][grupo];
+            }
+            melhoresPorGrupo[grupo] = melhoresSufixos(coluna);
+        }
+        this.melhoresTotais = melhoresSufixos(totaisOrdenados);
+        this.melhoresCoberturas = melhoresSufixos(coberturasOrdenadas);
+        this.folgaPotencia = Math.pow(1 + FOLGA_LIMITE, somaPesos);
+    }
+
+    // Contribuições do exercício em todos os grupos musculares, pedidos ou não
+    private static String perfilCompleto(ModeloPontuacao modelo, int exercicio) {
+        GrupoMuscular[] grupos = GrupoMuscular.values();
+        double[] perfil = new double[grupos.length];
+        for (GrupoMuscular grupo : grupos) {
+            perfil[grupo.ordinal()] = modelo.contribuicao(exercicio, grupo);
+        }
+        return Arrays.toString(perfil);
+    }
+
+    /**
+     * Faz a busca parar no instante informado (em {@link System#nanoTime()}).
+     */
+    BuscaBranchAndBound comPrazo(long prazoNanoTime) {
+        this.comPrazo = true;
+        this.prazo = prazoNanoTime;
+        return this;
+    }
+
+    /**
+     * Indica se a última busca percorreu todo o espaço, ou seja, se o
+     * resultado é comprovadamente ótimo.
+     */
+    boolean isCompleta() {
+        return completa;
+    }
+
+    /**
+     * Limite superior para a melhor nota possível, calculado na última busca.
+     * Igual à nota encontrada quando a busca é completa.
+     */
+    double getLimiteSuperior() {
+        return limiteSuperior;
+    }
+
+    /**
+     * Retorna os índices (no catálogo, em ordem crescente) da melhor combinação.
+     */
+    List<Integer> buscar() {
+        return buscar(null);
+    }
+
+    /**
+     * Igual a {@link #buscar()}, dividindo a busca entre as threads de
+     * {@code pool} quando ele é informado e o catálogo é grande o bastante.
+     */
+    List<Integer> buscar(ForkJoinPool pool) {
+        List<Integer> resultado = new ArrayList<>(k);
+        for (int e : buscarAlternativas(pool).get(0).indices) {
+            resultado.add(e);
+        }
+        return Collections.unmodifiableList(resultado);
+    }
+
+    /**
+     * Retorna as melhores combinações, da maior para a menor nota, até o
+     * número de alternativas informado no construtor. Só combinações com nota
+     * positiva entram; se não houver nenhuma, retorna apenas a primeira
+     * combinação do catálogo, com nota 0.
+     */
+    List<Combinacao> buscarAlternativas(ForkJoinPool pool) {
+        int[] inicial = solucaoGulosa();
+        Explorador melhor = new Explorador();
+        melhor.considerar(inicial, notaDe(inicial));
+
+        int ultimaPrimeira = n - k + 1;
+        if (pool == null || pool.getParallelism() <= 1 || n < MINIMO_PARALELO) {
+            melhor.explorar(0, ultimaPrimeira);
+        } else {
+            melhor.combinar(pool.invoke(new Tarefa(0, ultimaPrimeira)));
+        }
+
+        List<Combinacao> resultado = melhor.resultado();
+        double melhorNota = resultado.isEmpty() ? 0.0 : resultado.get(0).nota;
+        completa = !expirou;
+        limiteSuperior = completa ? melhorNota : Math.max(melhorNota, melhor.limitePendente);
+        if (resultado.isEmpty()) {
+            // Nenhuma combinação cobre todos os grupos: todas valem 0 e a primeira é a escolhida
+            int[] primeira = new int[k];
+            for (int e = 0; e < k; e++) {
+                primeira[e] = e;
+            }
+            resultado = List.of(new Combinacao(primeira, 0.0));
+        }
+        return resultado;
+    }
+
+    /**
+     * Combinação encontrada pela busca: índices do catálogo em ordem crescente
+     * e a nota correspondente.
+     */
+    static final class Combinacao {
+
+        final int[] indices;
+        final double nota;
+
+        Combinacao(int[] indices, double nota) {
+            this.indices = indices;
+            this.nota = nota;
+        }
+    }
+
+    /**
+     * Explora as combinações cujo primeiro exercício está nas posições
+     * [de, ate), dividindo o intervalo ao meio enquanto ele for grande.
+     */
+    private final class Tarefa extends RecursiveTask<Explorador> {
+
+        private final int de;
+        private final int ate;
+
+        Tarefa(int de, int ate) {
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected Explorador compute() {
+            Explorador explorador = new Explorador();
+            if (expirou) {
+                explorador.registrarPendente(explorador.somas[0], k, de);
+                return explorador;
+            }
+            // Os limites só diminuem ao longo das posições: se a primeira não
+            // alcança a melhor nota, o intervalo inteiro pode ser descartado
+            if (explorador.podar(explorador.somas[0], k, de)) {
+                return explorador;
+            }
+            if (ate - de <= POSICOES_POR_TAREFA) {
+                explorador.explorar(de, ate);
+                return explorador;
+            }
+
+            int meio = (de + ate) >>> 1;
+            Tarefa esquerda = new Tarefa(de, meio);
+            esquerda.fork();
+            Explorador direita = new Tarefa(meio, ate).compute();
+            return esquerda.join().combinar(direita);
+        }
+    }
+
+    /**
+     * Estado de uma busca em andamento. As tabelas pré-calculadas são
+     * compartilhadas; somas parciais, áreas de trabalho e a melhor combinação
+     * são de cada explorador, para que tarefas paralelas não se sincronizem.
+     */
+    private final class Explorador {
+
+        private final double[][] somas = new double[k + 1][g];
+        private final int[] atual = new int[k];
+        private final int[] candidata = new int[k];
+
+        // Áreas de trabalho do limite superior, reaproveitadas a cada chamada
+        private final double[] tetos = new double[g];
+        private final double[] quebras = new double[2 * g];
+
+        private double melhorNota = 0.0;
+        private int[] melhorCombinacao;
+
+        // Só quando mais de uma alternativa é pedida
+        private final PriorityQueue<Combinacao> ranking =
+                alternativas > 1 ? new PriorityQueue<>(alternativas + 1, PIOR_PRIMEIRO) : null;
+
+        // Maior nota conhecida (própria ou de outra tarefa), usada para podar
+        private double notaReferencia = 0.0;
+        private double limiarPotencia = 0.0;
+        private long bitsVistos = Double.doubleToLongBits(0.0);
+
+        // Maior limite superior (como nota) das subárvores abandonadas pelo prazo
+        private double limitePendente = 0.0;
+        private int passos;
+
+        void explorar(int de, int ate) {
+            buscar(0, de, ate);
+        }
+
+        private void buscar(int profundidade, int inicio, int fim) {
+            int restantes = k - profundidade;
+            double[] somasAtuais = somas[profundidade];
+            double[] proximas = somas[profundidade + 1];
+
+            int ultima = Math.min(fim, n - restantes + 1);
+            for (int posicao = inicio; posicao < ultima; posicao++) {
+                if (interrompida()) {
+                    // Esta posição e as seguintes ficam sem explorar
+                    registrarPendente(somasAtuais, restantes, posicao);
+                    return;
+                }
+                // Da classe só interessam os primeiros exercícios: os demais repetem as mesmas notas.
+                // No primeiro nível o intervalo pode começar no meio de uma classe.
+                if (posicao > 0 && (posicao > inicio || profundidade == 0)
+                        && classe[posicao] == classe[posicao - 1]) {
+                    continue;
+                }
+                // As posições seguintes têm limites menores: se esta não alcança, nenhuma alcança
+                if (podar(somasAtuais, restantes, posicao)) {
+                    return;
+                }
+
+                double[] contribuicao = contribuicoes[ordem[posicao]];
+                for (int grupo = 0; grupo < g; grupo++) {
+                    proximas[grupo] = somasAtuais[grupo] + contribuicao[grupo];
+                }
+                atual[profundidade] = ordem[posicao];
+
+                if (restantes == 1) {
+                    if (nota(proximas) * (1 + FOLGA_LIMITE) >= notaReferencia * (1 - TOLERANCIA_EMPATE)) {
+                        System.arraycopy(atual, 0, candidata, 0, k);
+                        Arrays.sort(candidata);
+                        considerar(candidata, notaDe(candidata));
+                    }
+                } else if (!podar(proximas, restantes - 1, posicao + 1)) {
+                    buscar(profundidade + 1, posicao + 1, n);
+                }
+            }
+        }
+
+        /**
+         * Atualiza a melhor combinação. {@code combinacao} deve estar em ordem
+         * crescente de índice do catálogo.
+         */
+        void considerar(int[] combinacao, double nota) {
+            if (nota <= 0) {
+                return;
+            }
+            if (ranking != null) {
+                considerarAlternativa(combinacao, nota);
+                return;
+            }
+            // Como na busca exaustiva, só a mesma nota exata desempata pelos índices
+            if (nota > melhorNota || (nota == melhorNota && Arrays.compare(combinacao, melhorCombinacao) < 0)) {
+                melhorNota = nota;
+                melhorCombinacao = combinacao.clone();
+                melhorNotaGlobal.accumulateAndGet(Double.doubleToLongBits(melhorNota), Math::max);
+                atualizarReferencia(melhorNota);
+            }
+        }
+
+        /**
+         * Junta o resultado de outro explorador a este, com a mesma regra de
+         * desempate de {@link #considerar}, e retorna este explorador.
+         */
+        Explorador combinar(Explorador outro) {
+            limitePendente = Math.max(limitePendente, outro.limitePendente);
+            if (ranking != null) {
+                for (Combinacao combinacao : outro.ranking) {
+                    considerarAlternativa(combinacao.indices, combinacao.nota);
+                }
+            } else if (outro.melhorCombinacao != null) {
+                considerar(outro.melhorCombinacao, outro.melhorNota);
+            }
+            return this;
+        }
+
+        /**
+         * Coloca a combinação no heap se ela estiver entre as melhores. Quando
+         * o heap está cheio, a nota da pior alternativa é um piso para a nota
+         * da N-ésima melhor combinação e passa a ser usada na poda.
+         */
+        private void considerarAlternativa(int[] combinacao, double nota) {
+            Combinacao pior = ranking.peek();
+            if (ranking.size() == alternativas && (nota < pior.nota
+                    || (nota == pior.nota && Arrays.compare(combinacao, pior.indices) > 0))) {
+                return;
+            }
+            // O heap é pequeno; a solução inicial pode repetir uma combinação da busca
+            for (Combinacao existente : ranking) {
+                if (Arrays.equals(existente.indices, combinacao)) {
+                    return;
+                }
+            }
+            ranking.add(new Combinacao(combinacao.clone(), nota));
+            if (ranking.size() > alternativas) {
+                ranking.poll();
+            }
+            if (ranking.size() == alternativas) {
+                double piso = ranking.peek().nota;
+                melhorNotaGlobal.accumulateAndGet(Double.doubleToLongBits(piso), Math::max);
+                atualizarReferencia(piso);
+            }
+        }
+
+        List<Combinacao> resultado() {
+            if (ranking == null) {
+                return melhorCombinacao == null
+                        ? List.of()
+                        : List.of(new Combinacao(melhorCombinacao, melhorNota));
+            }
+            List<Combinacao> ordenadas = new ArrayList<>(ranking);
+            ordenadas.sort(PIOR_PRIMEIRO.reversed());
+            return ordenadas;
+        }
+
+        private boolean interrompida() {
+            if (!comPrazo) {
+                return false;
+            }
+            if (!expirou && passos++ % PASSOS_ENTRE_CONSULTAS == 0 && System.nanoTime() - prazo >= 0) {
+                expirou = true;
+            }
+            return expirou;
+        }
+
+        /**
+         * Guarda o limite superior das combinações que completariam as somas
+         * atuais a partir da posição {@code inicio}, que não serão exploradas.
+         */
+        void registrarPendente(double[] somasAtuais, int restantes, int inicio) {
+            double limite = Math.pow(limitePotencia(somasAtuais, restantes, inicio), 1.0 / somaPesos);
+            limitePendente = Math.max(limitePendente, limite);
+        }
+
+        private void atualizarReferencia(double nota) {
+            if (nota > notaReferencia) {
+                notaReferencia = nota;
+                limiarPotencia = Math.pow(nota * (1 - TOLERANCIA_EMPATE), somaPesos);
+            }
+        }
+
+        /**
+         * Indica se nenhuma combinação que complete as somas atuais com
+         * {@code restantes} exercícios escolhidos a partir da posição
+         * {@code inicio} pode alcançar a melhor nota conhecida.
+         */
+        boolean podar(double[] somasAtuais, int restantes, int inicio) {
+            long bits = melhorNotaGlobal.get();
+            if (bits != bitsVistos) {
+                bitsVistos = bits;
+                atualizarReferencia(Double.longBitsToDouble(bits));
+            }
+            return limitePotencia(somasAtuais, restantes, inicio) < limiarPotencia;
+        }
+
+        /**
+         * Limite superior do produto das notas por grupo (a nota elevada à soma
+         * dos pesos), já com a folga de arredondamento; 0 quando algum grupo
+         * não pode ser coberto.
+         *
+         * O limite relaxa o problema para valores contínuos: cada grupo pode
+         * receber no máximo a soma dos seus melhores exercícios restantes e o
+         * total distribuído entre os grupos não passa da soma dos melhores totais.
+         * O máximo do produto nessas condições sai por nivelamento (water-filling).
+         */
+        private double limitePotencia(double[] somasAtuais, int restantes, int inicio) {
+            int deslocamento = inicio * (k + 1) + restantes;
+
+            int descobertos = 0;
+            double somaTetos = 0.0;
+            for (int grupo = 0; grupo < g; grupo++) {
+                double teto = melhoresPorGrupo[grupo][deslocamento];
+                if (somasAtuais[grupo] <= 0) {
+                    descobertos++;
+                }
+                tetos[grupo] = teto;
+                somaTetos += teto;
+            }
+
+            if (descobertos > melhoresCoberturas[deslocamento]) {
+                // Algum grupo ficará zerado: toda combinação aqui tem nota 0
+                return 0.0;
+            }
+
+            double orcamento = melhoresTotais[deslocamento];
+            if (somaTetos > orcamento) {
+                nivelar(somasAtuais, orcamento);
+            }
+
+            double produto = folgaPotencia;
+            for (int indice : grupoDoRequisito) {
+                produto *= somasAtuais[indice] + tetos[indice];
+            }
+            return produto;
+        }
+
+        /**
+         * Reduz {@code tetos} para a distribuição do orçamento que maximiza o
+         * produto ponderado: cada grupo sobe até o nível comum {@code nivel * peso},
+         * limitado ao próprio teto.
+         */
+        private void nivelar(double[] somasAtuais, double orcamento) {
+            int quantidade = 0;
+            for (int grupo = 0; grupo < g; grupo++) {
+                quebras[quantidade++] = somasAtuais[grupo] / pesoGrupo[grupo];
+                quebras[quantidade++] = (somasAtuais[grupo] + tetos[grupo]) / pesoGrupo[grupo];
+            }
+            Arrays.sort(quebras, 0, quantidade);
+
+            // O total distribuído é linear entre duas quebras consecutivas
+            double nivel = quebras[quantidade - 1];
+            double anterior = quebras[0];
+            double distribuidoAnterior = distribuido(somasAtuais, anterior);
+            for (int q = 1; q < quantidade; q++) {
+                double distribuido = distribuido(somasAtuais, quebras[q]);
+                if (distribuido >= orcamento) {
+                    nivel = anterior + (orcamento - distribuidoAnterior)
+                            * (quebras[q] - anterior) / (distribuido - distribuidoAnterior);
+                    break;
+                }
+                anterior = quebras[q];
+                distribuidoAnterior = distribuido;
+            }
+
+            for (int grupo = 0; grupo < g; grupo++) {
+                double x = pesoGrupo[grupo] * nivel - somasAtuais[grupo];
+                tetos[grupo] = Math.min(tetos[grupo], Math.max(0.0, x));
+            }
+        }
+
+        private double distribuido(double[] somasAtuais, double nivel) {
+            double total = 0.0;
+            for (int grupo = 0; grupo < g; grupo++) {
+                double x = pesoGrupo[grupo] * nivel - somasAtuais[grupo];
+                total += Math.min(tetos[grupo], Math.max(0.0, x));
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Reproduz a nota de {@link CalculadoraTreinos#calcularNota} a partir das
+     * somas por grupo, com a mesma ordem de operações.
+     */
+    private double nota(double[] somasGrupo) {
+        double produtoPonderado = 1.0;
+        for (int indice : grupoDoRequisito) {
+            double nota = somasGrupo[indice];
+            if (nota <= 0) {
+                return 0.0;
+            }
+            produtoPonderado *= nota;
+        }
+        return Math.pow(produtoPonderado, 1.0 / somaPesos);
+    }
+
+    /**
+     * Nota de uma combinação somando os exercícios na ordem recebida, como
+     * {@link CalculadoraTreinos#calcularNota} faz.
+     */
+    private double notaDe(int[] combinacao) {
+        double[] somasGrupo = new double[g];
+        for (int e : combinacao) {
+            for (int grupo = 0; grupo < g; grupo++) {
+                somasGrupo[grupo] += contribuicoes[e][grupo];
+            }
+        }
+        return nota(somasGrupo);
+    }
+
+    /**
+     * Solução inicial usada como primeira referência de poda: escolhe, a cada
+     * passo, o exercício que mais aumenta o log da nota (com suavização para
+     * grupos ainda zerados) e depois tenta trocas simples enquanto houver ganho.
+     * Com prazo, as trocas param quando ele vence e a busca fica só com a
+     * melhor combinação vista até ali.
+     */
+    private int[] solucaoGulosa() {
+        boolean[] escolhido = new boolean[n];
+        int[] combinacao = new int[k];
+        double[] somasGrupo = new double[g];
+
+        for (int passo = 0; passo < k; passo++) {
+            int melhor = -1;
+            double melhorGanho = Double.NEGATIVE_INFINITY;
+            for (int e = 0; e < n; e++) {
+                if (escolhido[e]) {
+                    continue;
+                }
+                double ganho = 0.0;
+                for (int grupo = 0; grupo < g; grupo++) {
+                    ganho += pesoGrupo[grupo] * Math.log(1.0 + somasGrupo[grupo] + contribuicoes[e][grupo]);
+                }
+                if (ganho > melhorGanho) {
+                    melhorGanho = ganho;
+                    melhor = e;
+                }
+            }
+            escolhido[melhor] = true;
+            combinacao[passo] = melhor;
+            for (int grupo = 0; grupo < g; grupo++) {
+                somasGrupo[grupo] += contribuicoes[melhor][grupo];
+            }
+        }
+
+        double notaAtual = notaDe(combinacao);
+        boolean melhorou = true;
+        while (melhorou) {
+            melhorou = false;
+            for (int posicao = 0; posicao < k; posicao++) {
+                // Cada posição custa n avaliações; em catálogos grandes as trocas sozinhas passam do prazo
+                if (prazoVencido()) {
+                    melhorou = false;
+                    break;
+                }
+                int original = combinacao[posicao];
+                for (int e = 0; e < n; e++) {
+                    if (escolhido[e]) {
+                        continue;
+                    }
+                    combinacao[posicao] = e;
+                    double nota = notaDe(combinacao);
+                    if (nota > notaAtual) {
+                        escolhido[original] = false;
+                        escolhido[e] = true;
+                        original = e;
+                        notaAtual = nota;
+                        melhorou = true;
+                    } else {
+                        combinacao[posicao] = original;
+                    }
+                }
+            }
+        }
+
+        // Mesma combinação que a busca visita: em cada classe, os primeiros exercícios
+        int[] usados = new int[primeiraPosicao.length];
+        for (int i = 0; i < k; i++) {
+            int c = classeDoExercicio[combinacao[i]];
+            combinacao[i] = ordem[primeiraPosicao[c] + usados[c]++];
+        }
+
+        Arrays.sort(combinacao);
+        return combinacao;
+    }
+
+    private boolean prazoVencido() {
+        if (comPrazo && !expirou && System.nanoTime() - prazo >= 0) {
+            expirou = true;
+        }
+        return expirou;
+    }
+
+    /**
+     * Para cada posição i, a soma das r maiores entradas de {@code valores}
+     * em [i, n), para r de 0 a k.
+     */
+    private double[] melhoresSufixos(double[] valores) {
+        double[] tabela = new double[(n + 1) * (k + 1)];
+        double[] maiores = new double[k];
+        int quantidade = 0;
+
+        for (int i = n - 1; i >= 0; i--) {
+            double valor = valores[i];
+            if (quantidade < k || valor > maiores[quantidade - 1]) {
+                int posicao = Math.min(quantidade, k - 1);
+                while (posicao > 0 && maiores[posicao - 1] < valor) {
+                    maiores[posicao] = maiores[posicao - 1];
+                    posicao--;
+                }
+                maiores[posicao] = valor;
+                if (quantidade < k) {
+                    quantidade++;
+                }
+            }
+
+            int base = i * (k + 1);
+            double acumulado = 0.0;
+            for (int r = 1; r <= k; r++) {
+                if (r <= quantidade) {
+                    acumulado += maiores[r - 1];
+                }
+                tabela[base + r] = acumulado;
+            }
+        }
+        return tabela;
+    }
+}
@@ -0,0 +1,136 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import senai.treinomax.api.auth.model.GrupoMuscular;
+import senai.treinomax.api.dto.response.AlternativaTreinoResponse;
+import senai.treinomax.api.dto.response.EstatisticasCacheResponse;
+
+/**
+ * Cache limitado (LRU) dos treinos gerados.
+ *
+ * A chave é a quantidade de vezes que cada {@link GrupoMuscular} aparece nos
+ * requisitos, o número de exercícios, o número de alternativas e a versão do
+ * catálogo. A ordem dos grupos não muda a nota, então requisitos com os mesmos
+ * grupos em outra ordem compartilham a entrada; grupos repetidos pesam mais na
+ * nota e por isso a repetição faz parte da chave.
+ */
+class CacheTreinos {
+
+    private static final int GRUPOS = GrupoMuscular.values().length;
+
+    private final int capacidade;
+    private final Map<Chave, List<AlternativaTreinoResponse>> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    CacheTreinos(int capacidade) {
+        this.capacidade = capacidade;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, List<AlternativaTreinoResponse>> maisAntiga) {
+                if (size() > CacheTreinos.this.capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    static Chave chave(List<GrupoMuscular> requisitos, int numeroExercicios, int alternativas, long versaoCatalogo) {
+        int[] contagens = new int[GRUPOS];
+        for (GrupoMuscular grupo : requisitos) {
+            contagens[grupo.ordinal()]++;
+        }
+        return new Chave(contagens, numeroExercicios, alternativas, versaoCatalogo);
+    }
+
+    /**
+     * Retorna as alternativas guardadas para a chave, ou {@code null} se não houver.
+     */
+    List<AlternativaTreinoResponse> buscar(Chave chave) {
+        List<AlternativaTreinoResponse> alternativas;
+        synchronized (entradas) {
+            alternativas = entradas.get(chave);
+        }
+        if (alternativas != null) {
+            acertos.increment();
+        } else {
+            falhas.increment();
+        }
+        return alternativas;
+    }
+
+    void guardar(Chave chave, List<AlternativaTreinoResponse> alternativas) {
+        if (capacidade <= 0) {
+            return;
+        }
+        synchronized (entradas) {
+            entradas.put(chave, List.copyOf(alternativas));
+        }
+    }
+
+    void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    EstatisticasCacheResponse estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+        return EstatisticasCacheResponse.builder()
+                .acertos(acertos.sum())
+                .falhas(falhas.sum())
+                .remocoes(remocoes.sum())
+                .tamanho(tamanho)
+                .capacidade(capacidade)
+                .build();
+    }
+
+    static final class Chave {
+
+        private final int[] contagens;
+        private final int numeroExercicios;
+        private final int alternativas;
+        private final long versaoCatalogo;
+
+        private Chave(int[] contagens, int numeroExercicios, int alternativas, long versaoCatalogo) {
+            this.contagens = contagens;
+            this.numeroExercicios = numeroExercicios;
+            this.alternativas = alternativas;
+            this.versaoCatalogo = versaoCatalogo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Chave outra)) {
+                return false;
+            }
+            return numeroExercicios == outra.numeroExercicios
+                    && alternativas == outra.alternativas
+                    && versaoCatalogo == outra.versaoCatalogo
+                    && Arrays.equals(contagens, outra.contagens);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Arrays.hashCode(contagens);
+            hash = 31 * hash + numeroExercicios;
+            hash = 31 * hash + alternativas;
+            return 31 * hash + Long.hashCode(versaoCatalogo);
+        }
+    }
+}
@@ -1,59 +1,145 @@
 package senai.treinomax.api.geradortreino;
 
-import senai.treinomax.api.auth.model.AtivacaoMuscular;
 import senai.treinomax.api.auth.model.Exercicio;
 import senai.treinomax.api.auth.model.GrupoMuscular;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class CalculadoraTreinos {
 
+    // Quando presente, a busca da melhor combinação é dividida entre as threads do pool
+    private final ForkJoinPool pool;
+
+    public CalculadoraTreinos() {
+        this(null);
+    }
+
+    public CalculadoraTreinos(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Todos os grupos exigidos têm peso 1: a nota é a média geométrica das notas por grupo
     public double calcularNota(
             List<GrupoMuscular> requisitos,
             List<Exercicio> treinoCandidato) {
-        List<Double> pesosPorGrupo = requisitos.stream()
-                .map(req -> 1.0)
-                .collect(Collectors.toList());
-
-        double somaPesos = pesosPorGrupo.stream().mapToDouble(Double::doubleValue).sum();
-        List<Double> notasPorGrupo = new ArrayList<>();
+        double somaPesos = requisitos.size();
+        double produtoPonderado = 1.0;
 
         for (GrupoMuscular grupoRequisito : requisitos) {
             double somaLogQualidade = 0.0;
-
             for (Exercicio exercicio : treinoCandidato) {
-                double qualidadeExercicioParaGrupo = 0.0;
-                for (AtivacaoMuscular ativacao : exercicio.getAtivacaoMuscular()) {
-                    if (ativacao.getGrupoMuscular() == grupoRequisito) {
-                        qualidadeExercicioParaGrupo += Math.max(0, ativacao.getPeso() != null ? ativacao.getPeso() : 0);
-                    }
-                }
-
-                if (qualidadeExercicioParaGrupo > 0) {
-                    double qualidadeNormalizada = 1.0 + (qualidadeExercicioParaGrupo * 9.0);
-                    somaLogQualidade += Math.log(qualidadeNormalizada) / Math.log(2.0);
-                }
+                somaLogQualidade += ModeloPontuacao.contribuicao(exercicio, grupoRequisito);
             }
-            notasPorGrupo.add(somaLogQualidade);
-        }
-
-        double produtoPonderado = 1.0;
-        for (int i = 0; i < notasPorGrupo.size(); i++) {
-            double nota = notasPorGrupo.get(i);
-            double peso = pesosPorGrupo.get(i);
 
-            if (nota <= 0) {
+            if (somaLogQualidade <= 0) {
                 return 0.0;
             }
 
-            produtoPonderado *= Math.pow(nota, peso);
+            produtoPonderado *= somaLogQualidade;
         }
 
         return Math.pow(produtoPonderado, 1.0 / somaPesos);
     }
 
+    public double calcularNota(
+            ModeloPontuacao modelo,
+            int[] requisitos,
+            int[] treinoCandidato) {
+        return modelo.calcularNota(requisitos, treinoCandidato);
+    }
+
+    public List<Exercicio> encontrarMelhorCombinacao(
+            List<Exercicio> todos,
+            List<GrupoMuscular> requisitos,
+            int numero_exercicios
+    ) {
+
+        return encontrarMelhorCombinacao(ModeloPontuacao.compilar(todos), requisitos, numero_exercicios);
+    }
+
     public List<Exercicio> encontrarMelhorCombinacao(
+            ModeloPontuacao modelo,
+            List<GrupoMuscular> requisitos,
+            int numero_exercicios
+    ) {
+
+        if (numero_exercicios <= 0 || numero_exercicios > modelo.tamanho() || requisitos.isEmpty()) return Collections.emptyList();
+
+        List<Integer> indices = new BuscaBranchAndBound(modelo, requisitos, numero_exercicios).buscar(pool);
+
+        return indices.stream().map(modelo::exercicio).collect(Collectors.toList());
+    }
+
+    /**
+     * Busca com prazo: parte da solução gulosa refinada por trocas e segue
+     * melhorando com o branch-and-bound até terminar ou até o prazo vencer.
+     * Se a busca terminar a tempo, o resultado é o mesmo de
+     * {@link #encontrarMelhorCombinacao(ModeloPontuacao, List, int)} e vem
+     * marcado como ótimo; senão é a melhor combinação vista até o prazo, com
+     * um limite superior para a nota ótima.
+     */
+    public ResultadoBusca encontrarMelhorCombinacao(
+            ModeloPontuacao modelo,
+            List<GrupoMuscular> requisitos,
+            int numero_exercicios,
+            Duration prazo
+    ) {
+
+        long limite = System.nanoTime() + prazo.toNanos();
+
+        if (numero_exercicios <= 0 || numero_exercicios > modelo.tamanho() || requisitos.isEmpty()) {
+            return new ResultadoBusca(Collections.emptyList(), 0.0, true, 0.0);
+        }
+
+        BuscaBranchAndBound busca = new BuscaBranchAndBound(modelo, requisitos, numero_exercicios).comPrazo(limite);
+        BuscaBranchAndBound.Combinacao melhor = busca.buscarAlternativas(pool).get(0);
+
+        List<Exercicio> exercicios = new ArrayList<>(numero_exercicios);
+        for (int indice : melhor.indices) {
+            exercicios.add(modelo.exercicio(indice));
+        }
+        return new ResultadoBusca(exercicios, melhor.nota, busca.isCompleta(), busca.getLimiteSuperior());
+    }
+
+    /**
+     * As {@code alternativas} melhores combinações distintas, da maior para a
+     * menor nota, numa única busca. A primeira é a mesma de
+     * {@link #encontrarMelhorCombinacao}. Combinações que só trocam exercícios
+     * com a mesma contribuição em todos os grupos musculares contam como uma
+     * só; trocar exercícios que só coincidem nos grupos pedidos dá outra
+     * alternativa, com a mesma nota.
+     */
+    public List<CombinacaoPontuada> encontrarMelhoresCombinacoes(
+            ModeloPontuacao modelo,
+            List<GrupoMuscular> requisitos,
+            int numero_exercicios,
+            int alternativas
+    ) {
+
+        if (numero_exercicios <= 0 || numero_exercicios > modelo.tamanho() || requisitos.isEmpty() || alternativas <= 0) return Collections.emptyList();
+
+        List<BuscaBranchAndBound.Combinacao> combinacoes =
+                new BuscaBranchAndBound(modelo, requisitos, numero_exercicios, alternativas).buscarAlternativas(pool);
+
+        List<CombinacaoPontuada> resultado = new ArrayList<>(combinacoes.size());
+        for (BuscaBranchAndBound.Combinacao combinacao : combinacoes) {
+            List<Exercicio> exercicios = new ArrayList<>(numero_exercicios);
+            for (int indice : combinacao.indices) {
+                exercicios.add(modelo.exercicio(indice));
+            }
+            resultado.add(new CombinacaoPontuada(exercicios, combinacao.nota));
+        }
+        return resultado;
+    }
+
+    /**
+     * Enumera todas as combinações. Mantido como referência para conferir o
+     * resultado da busca com poda.
+     */
+    List<Exercicio> encontrarMelhorCombinacaoExaustiva(
             List<Exercicio> todos,
             List<GrupoMuscular> requisitos,
             int numero_exercicios
@@ -0,0 +1,28 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.List;
+
+import senai.treinomax.api.auth.model.Exercicio;
+
+/**
+ * Combinação de exercícios com a nota calculada por
+ * {@link CalculadoraTreinos#calcularNota(List, List)}.
+ */
+public final class CombinacaoPontuada {
+
+    private final List<Exercicio> exercicios;
+    private final double nota;
+
+    public CombinacaoPontuada(List<Exercicio> exercicios, double nota) {
+        this.exercicios = exercicios;
+        this.nota = nota;
+    }
+
+    public List<Exercicio> getExercicios() {
+        return exercicios;
+    }
+
+    public double getNota() {
+        return nota;
+    }
+}
@@ -1,32 +1,178 @@
 package senai.treinomax.api.geradortreino;
 
-import java.util.Collection;
+import java.time.Duration;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import senai.treinomax.api.auth.model.Exercicio;
 import senai.treinomax.api.auth.model.GrupoMuscular;
-import senai.treinomax.api.repository.ExercicioRepository;
+import senai.treinomax.api.dto.response.AlternativaTreinoResponse;
+import senai.treinomax.api.dto.response.EstatisticasCacheResponse;
+import senai.treinomax.api.dto.response.TreinoGeradoResponse;
+import senai.treinomax.api.service.CatalogoExercicios;
+import senai.treinomax.api.service.CatalogoExerciciosService;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class GeradorTreino {
 
-    private final ExercicioRepository exercicioRepository;
+    private final CatalogoExerciciosService catalogoExerciciosService;
+
+    // Threads usadas na busca da melhor combinação; 0 usa todos os processadores e 1 desliga o paralelismo
+    @Value("${treino.gerador.paralelismo:0}")
+    private int paralelismo;
+
+    // Quantidade máxima de treinos gerados mantidos em memória; 0 desliga o cache
+    @Value("${treino.gerador.cache.tamanho-maximo:256}")
+    private int tamanhoMaximoCache;
+
+    private ForkJoinPool pool;
+
+    private CacheTreinos cache;
 
     private CalculadoraTreinos calculadora = new CalculadoraTreinos();
 
+    private volatile ModeloVersionado modelo;
+
+    @PostConstruct
+    void iniciar() {
+        cache = new CacheTreinos(tamanhoMaximoCache);
+
+        int threads = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            calculadora = new CalculadoraTreinos(pool);
+        }
+        log.info("Gerador de treino usando {} thread(s) na busca de combinações", threads);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
     public List<UUID> gerarTreino(List<GrupoMuscular> gruposMusculares) {
-        List<Exercicio> exercicios = exercicioRepository.findAll();
+        return gerarTreino(gruposMusculares, 5);
+    }
+
+    public List<UUID> gerarTreino(List<GrupoMuscular> gruposMusculares, int numeroExercicios) {
+        List<AlternativaTreinoResponse> alternativas = gerarAlternativas(gruposMusculares, numeroExercicios, 1);
+        return alternativas.isEmpty() ? List.of() : alternativas.get(0).getExercicioIds();
+    }
+
+    /**
+     * As melhores combinações distintas, da maior para a menor nota, obtidas
+     * numa única busca. A primeira é o treino de {@link #gerarTreino}.
+     */
+    public List<AlternativaTreinoResponse> gerarAlternativas(
+            List<GrupoMuscular> gruposMusculares, int numeroExercicios, int quantidade) {
+        ModeloVersionado atual = getModelo();
+        CacheTreinos.Chave chave = CacheTreinos.chave(gruposMusculares, numeroExercicios, quantidade, atual.versao);
+
+        List<AlternativaTreinoResponse> alternativas = cache.buscar(chave);
+        if (alternativas != null) {
+            return alternativas;
+        }
+
+        alternativas = calculadora.encontrarMelhoresCombinacoes(atual.modelo, gruposMusculares, numeroExercicios, quantidade)
+                .stream()
+                .map(combinacao -> AlternativaTreinoResponse.builder()
+                        .exercicioIds(combinacao.getExercicios().stream().map(Exercicio::getId).toList())
+                        .nota(combinacao.getNota())
+                        .build())
+                .toList();
+        cache.guardar(chave, alternativas);
+        return alternativas;
+    }
+
+    /**
+     * Gera o treino respeitando o prazo. Resultados ótimos vão para o cache;
+     * resultados parciais não, para que uma chamada com mais tempo possa
+     * encontrar o ótimo.
+     */
+    public TreinoGeradoResponse gerarTreino(List<GrupoMuscular> gruposMusculares, int numeroExercicios, Duration prazo) {
+        ModeloVersionado atual = getModelo();
+        CacheTreinos.Chave chave = CacheTreinos.chave(gruposMusculares, numeroExercicios, 1, atual.versao);
+
+        // gerarAlternativas usa a mesma chave e guarda também listas vazias,
+        // quando não há combinação possível; nesse caso a busca responde sozinha
+        List<AlternativaTreinoResponse> emCache = cache.buscar(chave);
+        if (emCache != null && !emCache.isEmpty()) {
+            AlternativaTreinoResponse melhor = emCache.get(0);
+            return TreinoGeradoResponse.builder()
+                    .exercicioIds(melhor.getExercicioIds())
+                    .nota(melhor.getNota())
+                    .otimo(true)
+                    .limiteSuperior(melhor.getNota())
+                    .lacuna(0.0)
+                    .build();
+        }
+
+        ResultadoBusca resultado = calculadora.encontrarMelhorCombinacao(
+                atual.modelo, gruposMusculares, numeroExercicios, prazo);
+        List<UUID> exercicioIds = resultado.getExercicios().stream().map(Exercicio::getId).toList();
+        if (resultado.isOtima() && !exercicioIds.isEmpty()) {
+            cache.guardar(chave, List.of(AlternativaTreinoResponse.builder()
+                    .exercicioIds(exercicioIds)
+                    .nota(resultado.getNota())
+                    .build()));
+        }
+
+        return TreinoGeradoResponse.builder()
+                .exercicioIds(exercicioIds)
+                .nota(resultado.getNota())
+                .otimo(resultado.isOtima())
+                .limiteSuperior(resultado.getLimiteSuperior())
+                .lacuna(resultado.getLacuna())
+                .build();
+    }
+
+    public EstatisticasCacheResponse getEstatisticasCache() {
+        return cache.estatisticas();
+    }
+
+    // O modelo é recompilado quando a versão do catálogo muda
+    private ModeloVersionado getModelo() {
+        CatalogoExercicios catalogo = catalogoExerciciosService.getCatalogo();
+        ModeloVersionado atual = modelo;
+        if (atual != null && atual.versao == catalogo.getVersao()) {
+            return atual;
+        }
+        synchronized (this) {
+            atual = modelo;
+            if (atual == null || atual.versao != catalogo.getVersao()) {
+                atual = new ModeloVersionado(catalogo.getVersao(), ModeloPontuacao.compilar(catalogo.getExercicios()));
+                // Só avança: uma chamada atrasada não troca o modelo por um mais antigo
+                if (modelo == null || modelo.versao < atual.versao) {
+                    modelo = atual;
+                    // Entradas de versões anteriores não seriam mais encontradas
+                    cache.limpar();
+                }
+            }
+            return atual;
+        }
+    }
+
+    // Modelo junto da versão do catálogo da qual foi compilado, usada na chave do cache
+    private static final class ModeloVersionado {
 
-        List<Exercicio> melhorCombinacao = calculadora.encontrarMelhorCombinacao(exercicios, gruposMusculares, 5);
+        private final long versao;
+        private final ModeloPontuacao modelo;
 
-        return melhorCombinacao.stream().map(Exercicio::getId).toList();
+        private ModeloVersionado(long versao, ModeloPontuacao modelo) {
+            this.versao = versao;
+            this.modelo = modelo;
+        }
     }
 }
@@ -0,0 +1,104 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.List;
+
+import senai.treinomax.api.auth.model.AtivacaoMuscular;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+/**
+ * Catálogo de exercícios compilado para pontuação.
+ *
+ * Guarda, para cada exercício e cada {@link GrupoMuscular}, a parcela
+ * {@code log2(1 + 9 * peso)} que ele soma à nota do grupo. Assim a nota de uma
+ * combinação é só uma sequência de somas sobre a tabela, sem percorrer as
+ * ativações musculares nem alocar objetos. A tabela é imutável: quando o
+ * catálogo muda, um novo modelo deve ser compilado.
+ */
+public final class ModeloPontuacao {
+
+    private static final GrupoMuscular[] GRUPOS = GrupoMuscular.values();
+
+    private final List<Exercicio> exercicios;
+
+    // contribuicoes[exercicio][grupo.ordinal()]
+    private final double[][] contribuicoes;
+
+    private ModeloPontuacao(List<Exercicio> exercicios, double[][] contribuicoes) {
+        this.exercicios = exercicios;
+        this.contribuicoes = contribuicoes;
+    }
+
+    public static ModeloPontuacao compilar(List<Exercicio> exercicios) {
+        List<Exercicio> copia = List.copyOf(exercicios);
+        double[][] contribuicoes = new double[copia.size()][GRUPOS.length];
+        for (int e = 0; e < copia.size(); e++) {
+            for (GrupoMuscular grupo : GRUPOS) {
+                contribuicoes[e][grupo.ordinal()] = contribuicao(copia.get(e), grupo);
+            }
+        }
+        return new ModeloPontuacao(copia, contribuicoes);
+    }
+
+    /**
+     * Parcela que um exercício soma à nota de um grupo: {@code log2(1 + 9 * q)},
+     * onde q é a soma dos pesos das ativações do exercício nesse grupo.
+     */
+    static double contribuicao(Exercicio exercicio, GrupoMuscular grupo) {
+        double qualidade = 0.0;
+        for (AtivacaoMuscular ativacao : exercicio.getAtivacaoMuscular()) {
+            if (ativacao.getGrupoMuscular() == grupo) {
+                qualidade += Math.max(0, ativacao.getPeso() != null ? ativacao.getPeso() : 0);
+            }
+        }
+        if (qualidade <= 0) {
+            return 0.0;
+        }
+        double qualidadeNormalizada = 1.0 + (qualidade * 9.0);
+        return Math.log(qualidadeNormalizada) / Math.log(2.0);
+    }
+
+    public static int[] ordinais(List<GrupoMuscular> grupos) {
+        int[] ordinais = new int[grupos.size()];
+        for (int i = 0; i < ordinais.length; i++) {
+            ordinais[i] = grupos.get(i).ordinal();
+        }
+        return ordinais;
+    }
+
+    public int tamanho() {
+        return exercicios.size();
+    }
+
+    public List<Exercicio> getExercicios() {
+        return exercicios;
+    }
+
+    public Exercicio exercicio(int indice) {
+        return exercicios.get(indice);
+    }
+
+    public double contribuicao(int exercicio, GrupoMuscular grupo) {
+        return contribuicoes[exercicio][grupo.ordinal()];
+    }
+
+    /**
+     * Mesma nota de {@link CalculadoraTreinos#calcularNota(List, List)}, com a
+     * mesma ordem de operações, para uma combinação dada por índices do
+     * catálogo e requisitos dados por {@link GrupoMuscular#ordinal()}.
+     */
+    public double calcularNota(int[] requisitos, int[] combinacao) {
+        double produtoPonderado = 1.0;
+        for (int grupo : requisitos) {
+            double somaLogQualidade = 0.0;
+            for (int exercicio : combinacao) {
+                somaLogQualidade += contribuicoes[exercicio][grupo];
+            }
+            if (somaLogQualidade <= 0) {
+                return 0.0;
+            }
+            produtoPonderado *= somaLogQualidade;
+        }
+        return Math.pow(produtoPonderado, 1.0 / requisitos.length);
+    }
+}
@@ -0,0 +1,51 @@
+package senai.treinomax.api.geradortreino;
+
+import java.util.List;
+
+import senai.treinomax.api.auth.model.Exercicio;
+
+/**
+ * Resultado de uma busca com prazo: a melhor combinação encontrada, se ela é
+ * comprovadamente ótima e um limite superior para a nota ótima.
+ */
+public final class ResultadoBusca {
+
+    private final List<Exercicio> exercicios;
+    private final double nota;
+    private final boolean otima;
+    private final double limiteSuperior;
+
+    public ResultadoBusca(List<Exercicio> exercicios, double nota, boolean otima, double limiteSuperior) {
+        this.exercicios = exercicios;
+        this.nota = nota;
+        this.otima = otima;
+        this.limiteSuperior = limiteSuperior;
+    }
+
+    public List<Exercicio> getExercicios() {
+        return exercicios;
+    }
+
+    public double getNota() {
+        return nota;
+    }
+
+    public boolean isOtima() {
+        return otima;
+    }
+
+    public double getLimiteSuperior() {
+        return limiteSuperior;
+    }
+
+    /**
+     * Quanto a nota ótima pode superar a encontrada, como fração do limite
+     * superior: 0 quando a combinação é ótima.
+     */
+    public double getLacuna() {
+        if (otima || limiteSuperior <= 0) {
+            return 0.0;
+        }
+        return Math.max(0.0, (limiteSuperior - nota) / limiteSuperior);
+    }
+}
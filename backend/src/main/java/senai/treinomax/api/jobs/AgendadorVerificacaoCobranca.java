@@ -0,0 +1,187 @@
+package senai.treinomax.api.jobs;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.auth.repository.TarefasExecutadasRepository;
+import senai.treinomax.api.model.TarefaExecutada.TarefaTipo;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.service.CobrancaAlteradaEvent;
+
+/**
+ * Dispara o ciclo de verificação de cobranças quando há trabalho, em vez de
+ * consultar o banco a cada minuto.
+ *
+ * Uma cobrança entra no ciclo no dia seguinte ao vencimento, então o próximo
+ * despertar é a meia-noite seguinte ao menor vencimento ainda pendente. A
+ * thread dorme numa {@link DelayQueue} até esse horário; criar ou pagar uma
+ * cobrança ({@link CobrancaAlteradaEvent}) pode antecipá-lo. Mesmo sem
+ * eventos, acorda a cada {@code cobranca.agendador.intervalo-maximo-minutos}
+ * para ver alterações feitas por outras réplicas.
+ */
+@Component
+@Slf4j
+public class AgendadorVerificacaoCobranca {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    // Maior intervalo entre dois despertares, para enxergar cobranças criadas em outras réplicas
+    @Value("${cobranca.agendador.intervalo-maximo-minutos:60}")
+    private long intervaloMaximoMinutos;
+
+    // Espera antes de tentar de novo quando o ciclo vencido não foi concluído hoje
+    @Value("${cobranca.agendador.retentativa-minutos:5}")
+    private long retentativaMinutos;
+
+    @Autowired
+    private VerificacaoCobrancaPlanosJob verificacaoCobrancaPlanosJob;
+
+    @Autowired
+    private PlanoCobrancaRepository planoCobrancaRepository;
+
+    @Autowired
+    private TarefasExecutadasRepository tarefasExecutadasRepository;
+
+    private final DelayQueue<Despertar> fila = new DelayQueue<>();
+
+    // Despertar mais cedo já na fila; null quando a fila está vazia
+    private LocalDateTime proximo;
+
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciar() {
+        agendar(agora());
+        thread = new Thread(this::executar, "agendador-verificacao-cobranca");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // Depois do commit, para que a nova cobrança já seja vista pela consulta do ciclo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCobranca(CobrancaAlteradaEvent evento) {
+        LocalDateTime agora = agora();
+        LocalDateTime horario = inicioDoDiaSeguinte(evento.getDataVencimento());
+        agendar(horario.isAfter(agora) ? horario : agora);
+    }
+
+    private void executar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fila.take();
+                synchronized (this) {
+                    // Os demais despertares da fila são substituídos pelo recálculo abaixo
+                    fila.clear();
+                    proximo = null;
+                }
+
+                if (possuiCobrancasVencidas(agora().toLocalDate())) {
+                    verificacaoCobrancaPlanosJob.executarVerificacao();
+                }
+                agendar(calcularProximo(agora()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Erro no agendador da verificação de cobranças", e);
+                agendar(agora().plusMinutes(retentativaMinutos));
+            }
+        }
+    }
+
+    /**
+     * Horário em que o ciclo volta a ter trabalho, limitado ao intervalo
+     * máximo. Cobranças vencidas ainda pendentes esperam o dia seguinte se o
+     * ciclo de hoje já foi concluído, ou a retentativa se ele falhou ou está
+     * rodando em outra réplica.
+     */
+    LocalDateTime calcularProximo(LocalDateTime agora) {
+        LocalDateTime limite = agora.plusMinutes(intervaloMaximoMinutos);
+        Optional<LocalDate> menorVencimento = menorVencimentoPendente();
+        if (menorVencimento.isEmpty()) {
+            return limite;
+        }
+
+        LocalDateTime horario = inicioDoDiaSeguinte(menorVencimento.get());
+        if (!horario.isAfter(agora)) {
+            LocalDate hoje = agora.toLocalDate();
+            boolean concluidoHoje = tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(
+                    TarefaTipo.MENSAL_VERIFICAR_PLANOS, hoje);
+            horario = concluidoHoje ? inicioDoDiaSeguinte(hoje) : agora.plusMinutes(retentativaMinutos);
+        }
+        return horario.isBefore(limite) ? horario : limite;
+    }
+
+    private boolean possuiCobrancasVencidas(LocalDate hoje) {
+        return menorVencimentoPendente().filter(vencimento -> vencimento.isBefore(hoje)).isPresent();
+    }
+
+    private Optional<LocalDate> menorVencimentoPendente() {
+        Optional<LocalDate> naoProcessado = planoCobrancaRepository.findMenorVencimentoNaoProcessado();
+        Optional<LocalDate> pago = planoCobrancaRepository.findMenorVencimentoPagoComProximaNaoGerada();
+        if (naoProcessado.isEmpty()) {
+            return pago;
+        }
+        if (pago.isEmpty()) {
+            return naoProcessado;
+        }
+        return Optional.of(naoProcessado.get().isBefore(pago.get()) ? naoProcessado.get() : pago.get());
+    }
+
+    private synchronized void agendar(LocalDateTime horario) {
+        if (proximo != null && !horario.isBefore(proximo)) {
+            return;
+        }
+        proximo = horario;
+        fila.put(new Despertar(horario.atZone(FUSO).toInstant()));
+        log.debug("Próxima verificação de cobranças agendada para {}", horario);
+    }
+
+    private static LocalDateTime inicioDoDiaSeguinte(LocalDate dia) {
+        return dia.plusDays(1).atStartOfDay();
+    }
+
+    private static LocalDateTime agora() {
+        return LocalDateTime.now(FUSO);
+    }
+
+    private static final class Despertar implements Delayed {
+
+        private final Instant horario;
+
+        private Despertar(Instant horario) {
+            this.horario = horario;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unidade) {
+            return unidade.convert(horario.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), outro.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -6,13 +6,13 @@ import java.time.ZoneId;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
 import senai.treinomax.api.auth.repository.TarefasExecutadasRepository;
 import senai.treinomax.api.model.TarefaExecutada;
 import senai.treinomax.api.model.TarefaExecutada.TarefaTipo;
+import senai.treinomax.api.service.BloqueioTarefaService;
 import senai.treinomax.api.service.PlanoUsuarioEventosService;
 
 @Component
@@ -25,8 +25,26 @@ public class VerificacaoCobrancaPlanosJob {
     @Autowired
     private TarefasExecutadasRepository tarefasExecutadasRepository;
 
-    @Scheduled(fixedDelay = 1 * 60 * 1000)
-    protected void tarefaComIntervaloFixo() {
+    @Autowired
+    private BloqueioTarefaService bloqueioTarefaService;
+
+    // Chamado pelo AgendadorVerificacaoCobranca quando vence o próximo prazo de cobrança.
+    // Com várias réplicas, só a instância que detém o bloqueio verifica e executa o ciclo.
+    // Cada lote confere o bloqueio antes do commit; se ele foi perdido, o ciclo para com erro
+    protected void executarVerificacao() {
+        String bloqueio = TarefaTipo.MENSAL_VERIFICAR_PLANOS.name();
+        if (!bloqueioTarefaService.adquirir(bloqueio)) {
+            log.debug("Tarefa {} em execução em outra instância. Pulando execução.", bloqueio);
+            return;
+        }
+        try {
+            executarSeNecessario(() -> bloqueioTarefaService.confirmar(bloqueio));
+        } finally {
+            bloqueioTarefaService.liberar(bloqueio);
+        }
+    }
+
+    private void executarSeNecessario(Runnable confirmarBloqueio) {
         LocalDateTime diaHoraExecucao = LocalDateTime.now(ZoneId.of("America/Sao_Paulo"));
         LocalDate diaExecucao = diaHoraExecucao.toLocalDate();
 
@@ -47,7 +65,7 @@ public class VerificacaoCobrancaPlanosJob {
         .build(); 
         
         try {
-            planoUsuarioEventosService.executarCicloVerificacaoCobranca(diaHoraExecucao);
+            planoUsuarioEventosService.executarCicloVerificacaoCobranca(diaHoraExecucao, confirmarBloqueio);
             tarefa.setSucesso(true);
             log.info("[JOB] Tarefa MENSAL_VERIFICAR_PLANOS concluída com sucesso.");
         } catch (Exception e) {
@@ -64,7 +82,7 @@ public class VerificacaoCobrancaPlanosJob {
         Optional<TarefaExecutada> tarefaSucedida = this.tarefasExecutadasRepository.findFirstByTipoAndSucessoTrueOrderByDataHoraExecucaoDesc(TarefaTipo.MENSAL_VERIFICAR_PLANOS);
         if (tarefaSucedida.isEmpty()) {
             log.info("[FORÇAR] Nenhuma execução bem sucedida encontrada. Executando verificação imediatamente.");
-            tarefaComIntervaloFixo();
+            executarVerificacao();
             return;
         }
 
@@ -77,7 +95,7 @@ public class VerificacaoCobrancaPlanosJob {
         try {
             tarefasExecutadasRepository.save(tarefa);
             log.debug("[FORÇAR] Execução anterior atualizada com sucesso. Chamando forcarVerificacaoCobranca() recursivamente.");
-            this.tarefaComIntervaloFixo();
+            this.executarVerificacao();
         } catch (Exception e) {
             log.error("[FORÇAR] Erro ao atualizar/forçar verificação de cobrança", e);
         }
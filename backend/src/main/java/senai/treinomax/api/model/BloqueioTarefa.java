@@ -0,0 +1,46 @@
+package senai.treinomax.api.model;
+
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bloqueio com prazo de uma tarefa agendada. A instância dona renova o prazo
+ * enquanto executa; se ela cair, outra assume o bloqueio quando o prazo vence.
+ *
+ * Os horários são sempre calculados pelo banco, nos UPDATEs do
+ * {@link senai.treinomax.api.repository.BloqueioTarefaRepository}, para que
+ * a diferença de relógio entre as instâncias não conte.
+ */
+@Entity
+@Table(name = "bloqueios_tarefas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloqueioTarefa {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(length = 200)
+    private String dono;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "expira_em", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime expiraEm;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "data_atualizacao", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime dataAtualizacao;
+}
@@ -0,0 +1,97 @@
+package senai.treinomax.api.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import senai.treinomax.api.util.DateUtils;
+
+/**
+ * Progresso de uma partição do ciclo de verificação de cobranças de um dia. É
+ * gravado junto com cada lote confirmado, para que uma execução interrompida
+ * continue da última cobrança processada.
+ */
+@Entity
+@Table(
+    name = "checkpoints_verificacao_cobranca",
+    uniqueConstraints = @UniqueConstraint(
+        columnNames = {"dia_execucao", "particao"}
+    )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckpointVerificacaoCobranca {
+    public enum Etapa {
+        INADIMPLENCIA,
+        RENOVACAO,
+        CONCLUIDA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "dia_execucao", nullable = false)
+    private LocalDate diaExecucao;
+
+    // Partição (0 a totalParticoes - 1) da faixa de ids de usuário
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer particao = 0;
+
+    @Column(name = "total_particoes", nullable = false)
+    @Builder.Default
+    private Integer totalParticoes = 1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Etapa etapa;
+
+    // Chave (dataVencimento, id) da última cobrança processada na etapa atual
+    @Column(name = "ultimo_vencimento")
+    private LocalDate ultimoVencimento;
+
+    @Column(name = "ultimo_id")
+    private UUID ultimoId;
+
+    @Column(name = "inadimplencias_processadas", nullable = false)
+    @Builder.Default
+    private Integer inadimplenciasProcessadas = 0;
+
+    @Column(name = "renovacoes_processadas", nullable = false)
+    @Builder.Default
+    private Integer renovacoesProcessadas = 0;
+
+    @Column(name = "lotes_processados", nullable = false)
+    @Builder.Default
+    private Integer lotesProcessados = 0;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        dataAtualizacao = DateUtils.getCurrentBrazilianLocalDateTime();
+    }
+}
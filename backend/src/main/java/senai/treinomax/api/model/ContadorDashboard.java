@@ -0,0 +1,44 @@
+package senai.treinomax.api.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import senai.treinomax.api.util.DateUtils;
+
+/**
+ * Total mantido para o dashboard: membros, membros de um plano ou receita de
+ * um mês, conforme a chave.
+ */
+@Entity
+@Table(name = "contadores_dashboard")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContadorDashboard {
+
+    @Id
+    @Column(length = 100)
+    private String chave;
+
+    @Column(nullable = false)
+    private Long valor;
+
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        dataAtualizacao = DateUtils.getCurrentBrazilianLocalDateTime();
+    }
+}
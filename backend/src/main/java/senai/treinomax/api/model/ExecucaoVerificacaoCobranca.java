@@ -0,0 +1,89 @@
+package senai.treinomax.api.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métricas de uma execução do ciclo de verificação de cobranças.
+ */
+@Entity
+@Table(name = "execucoes_verificacao_cobranca")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExecucaoVerificacaoCobranca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "dia_execucao", nullable = false)
+    private LocalDate diaExecucao;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+
+    @Column(name = "data_fim", nullable = false)
+    private LocalDateTime dataFim;
+
+    @Column(nullable = false)
+    private Boolean sucesso;
+
+    @Column(name = "mensagem_erro", length = 1000)
+    private String mensagemErro;
+
+    @Column(nullable = false)
+    private Integer particoes;
+
+    @Column(name = "linhas_lidas", nullable = false)
+    private Long linhasLidas;
+
+    @Column(nullable = false)
+    private Long lotes;
+
+    @Column(name = "inadimplencias_processadas", nullable = false)
+    private Long inadimplenciasProcessadas;
+
+    @Column(name = "renovacoes_processadas", nullable = false)
+    private Long renovacoesProcessadas;
+
+    @Column(name = "cobrancas_geradas", nullable = false)
+    private Long cobrancasGeradas;
+
+    @Column(name = "comandos_sql", nullable = false)
+    private Long comandosSql;
+
+    @Column(name = "tempo_inadimplencia_ms", nullable = false)
+    private Long tempoInadimplenciaMs;
+
+    @Column(name = "tempo_renovacao_ms", nullable = false)
+    private Long tempoRenovacaoMs;
+
+    @Column(name = "duracao_ms", nullable = false)
+    private Long duracaoMs;
+
+    @Column(name = "maior_lote_ms", nullable = false)
+    private Long maiorLoteMs;
+
+    @Column(name = "latencia_lotes", nullable = false, length = 200)
+    private String latenciaLotes;
+
+    public void setMensagemErro(String mensagemErro) {
+        this.mensagemErro = mensagemErro != null && mensagemErro.length() > 1000
+            ? mensagemErro.substring(0, 1000)
+            : mensagemErro;
+    }
+}
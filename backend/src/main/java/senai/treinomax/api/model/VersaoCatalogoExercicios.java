@@ -0,0 +1,28 @@
+package senai.treinomax.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versão do catálogo de exercícios no banco, numa linha única. Cada alteração
+ * de exercício a incrementa; as instâncias comparam com a versão que
+ * carregaram para saber se o catálogo em memória ficou para trás.
+ */
+@Entity
+@Table(name = "versao_catalogo_exercicios")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoCatalogoExercicios {
+
+    @Id
+    private Short id;
+
+    @Column(nullable = false)
+    private Long versao;
+}
@@ -0,0 +1,57 @@
+package senai.treinomax.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import senai.treinomax.api.model.BloqueioTarefa;
+
+// Os horários vêm do relógio do banco (CURRENT_TIMESTAMP), o mesmo para todas as instâncias
+@Repository
+public interface BloqueioTarefaRepository extends JpaRepository<BloqueioTarefa, String> {
+
+    // Assume o bloqueio se estiver livre, vencido ou já for do mesmo dono; o UPDATE
+    // condicional é atômico no banco, então só uma instância recebe 1 linha alterada
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE bloqueios_tarefas
+            SET dono = :dono,
+                expira_em = CURRENT_TIMESTAMP + :duracaoSegundos * INTERVAL '1' SECOND,
+                data_atualizacao = CURRENT_TIMESTAMP
+            WHERE nome = :nome
+            AND (dono IS NULL OR dono = :dono OR expira_em < CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int adquirir(@Param("nome") String nome, @Param("dono") String dono,
+            @Param("duracaoSegundos") long duracaoSegundos);
+
+    // Estende o prazo apenas se o bloqueio continuar com o mesmo dono
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE bloqueios_tarefas
+            SET expira_em = CURRENT_TIMESTAMP + :duracaoSegundos * INTERVAL '1' SECOND,
+                data_atualizacao = CURRENT_TIMESTAMP
+            WHERE nome = :nome AND dono = :dono
+            """, nativeQuery = true)
+    int renovar(@Param("nome") String nome, @Param("dono") String dono,
+            @Param("duracaoSegundos") long duracaoSegundos);
+
+    // Confere, na transação de quem chama, que o bloqueio segue com o dono e no prazo.
+    // A linha fica travada até o commit, então ninguém assume o bloqueio no meio
+    @Modifying
+    @Query(value = """
+            UPDATE bloqueios_tarefas
+            SET data_atualizacao = CURRENT_TIMESTAMP
+            WHERE nome = :nome AND dono = :dono AND expira_em > CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int confirmar(@Param("nome") String nome, @Param("dono") String dono);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE bloqueios_tarefas
+            SET dono = NULL, expira_em = CURRENT_TIMESTAMP, data_atualizacao = CURRENT_TIMESTAMP
+            WHERE nome = :nome AND dono = :dono
+            """, nativeQuery = true)
+    int liberar(@Param("nome") String nome, @Param("dono") String dono);
+}
@@ -0,0 +1,16 @@
+package senai.treinomax.api.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca;
+
+@Repository
+public interface CheckpointVerificacaoCobrancaRepository extends JpaRepository<CheckpointVerificacaoCobranca, UUID> {
+
+    List<CheckpointVerificacaoCobranca> findByDiaExecucaoOrderByParticao(LocalDate diaExecucao);
+}
@@ -0,0 +1,32 @@
+package senai.treinomax.api.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import senai.treinomax.api.model.ContadorDashboard;
+
+@Repository
+public interface ContadorDashboardRepository extends JpaRepository<ContadorDashboard, String> {
+
+    // Incremento atômico no banco; réplicas diferentes podem somar no mesmo contador
+    @Modifying
+    @Query("""
+            UPDATE ContadorDashboard c
+            SET c.valor = c.valor + :delta, c.dataAtualizacao = :agora
+            WHERE c.chave = :chave
+            """)
+    int somar(@Param("chave") String chave, @Param("delta") long delta, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("""
+            UPDATE ContadorDashboard c
+            SET c.valor = :valor, c.dataAtualizacao = :agora
+            WHERE c.chave = :chave
+            """)
+    int definir(@Param("chave") String chave, @Param("valor") long valor, @Param("agora") LocalDateTime agora);
+}
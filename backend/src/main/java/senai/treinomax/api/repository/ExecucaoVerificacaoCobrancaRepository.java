@@ -0,0 +1,16 @@
+package senai.treinomax.api.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import senai.treinomax.api.model.ExecucaoVerificacaoCobranca;
+
+@Repository
+public interface ExecucaoVerificacaoCobrancaRepository extends JpaRepository<ExecucaoVerificacaoCobranca, UUID> {
+
+    Page<ExecucaoVerificacaoCobranca> findAllByOrderByDataInicioDesc(Pageable pageable);
+}
@@ -1,20 +1,27 @@
 package senai.treinomax.api.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import senai.treinomax.api.model.PlanoCobranca;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlanoCobrancaRepository extends JpaRepository<PlanoCobranca, UUID> {
@@ -36,8 +43,13 @@ public interface PlanoCobrancaRepository extends JpaRepository<PlanoCobranca, UU
     @Query("SELECT pc FROM PlanoCobranca pc WHERE pc.usuario.id = :usuarioId AND pc.pago = false ORDER BY pc.dataVencimento ASC")
     List<PlanoCobranca> findCobrancasPendentesPorUsuario(@Param("usuarioId") UUID usuarioId);
 
-    @Query("SELECT SUM(pc.valorCentavos) FROM PlanoCobranca pc WHERE pc.pago = true AND pc.mesReferencia = :mesReferencia")
-    Optional<Long> sumValorRecebidoPorMes(@Param("mesReferencia") YearMonth mesReferencia);
+    @Query("""
+            SELECT pc.mesReferencia AS mesReferencia, SUM(pc.valorCentavos) AS totalCentavos
+            FROM PlanoCobranca pc
+            WHERE pc.pago = true
+            GROUP BY pc.mesReferencia
+            """)
+    List<ReceitaMensal> sumValorRecebidoPorMes();
 
     @Query("SELECT COUNT(pc) FROM PlanoCobranca pc WHERE pc.pago = false AND pc.dataVencimento < :dataAtual")
     Long countCobrancasVencidas(@Param("dataAtual") LocalDate dataAtual);
@@ -54,28 +66,177 @@ public interface PlanoCobrancaRepository extends JpaRepository<PlanoCobranca, UU
     List<PlanoCobranca> findByPlanoAndMes(@Param("planoId") UUID planoId,
             @Param("mesReferencia") YearMonth mesReferencia);
 
+    // Paginação por chave (dataVencimento, id): cada página começa depois da última
+    // linha da anterior, então linhas que deixam o filtro ao serem processadas não
+    // deslocam as seguintes. O retorno Slice não executa COUNT. A faixa de ids de
+    // usuário (limites inclusivos) restringe a consulta a uma partição do ciclo.
     @Query("""
                 SELECT pc
                 FROM PlanoCobranca pc
+                JOIN FETCH pc.usuario
+                JOIN FETCH pc.plano
                 WHERE pc.pago = false
                 AND pc.inadimplenciaProcessada = false
                 AND pc.dataVencimento < :dataAtual
-                ORDER BY pc.dataVencimento ASC
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
             """)
-    Page<PlanoCobranca> findVencidasNaoProcessadas(
+    Slice<PlanoCobranca> findVencidasNaoProcessadas(
             @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
             Pageable pageable);
 
     @Query("""
                 SELECT pc
                 FROM PlanoCobranca pc
+                JOIN FETCH pc.usuario
+                JOIN FETCH pc.plano
+                WHERE pc.pago = false
+                AND pc.inadimplenciaProcessada = false
+                AND pc.dataVencimento < :dataAtual
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                AND (pc.dataVencimento > :ultimoVencimento
+                    OR (pc.dataVencimento = :ultimoVencimento AND pc.id > :ultimoId))
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
+            """)
+    Slice<PlanoCobranca> findVencidasNaoProcessadasApos(
+            @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
+            @Param("ultimoVencimento") LocalDate ultimoVencimento,
+            @Param("ultimoId") UUID ultimoId,
+            Pageable pageable);
+
+    // Mesmas cobranças de findVencidasNaoProcessadas, lendo só as chaves
+    @Query("""
+                SELECT pc.id AS id, pc.usuario.id AS usuarioId, pc.dataVencimento AS dataVencimento
+                FROM PlanoCobranca pc
+                WHERE pc.pago = false
+                AND pc.inadimplenciaProcessada = false
+                AND pc.dataVencimento < :dataAtual
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
+            """)
+    Slice<CobrancaPendente> findChavesVencidasNaoProcessadas(
+            @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
+            Pageable pageable);
+
+    @Query("""
+                SELECT pc.id AS id, pc.usuario.id AS usuarioId, pc.dataVencimento AS dataVencimento
+                FROM PlanoCobranca pc
+                WHERE pc.pago = false
+                AND pc.inadimplenciaProcessada = false
+                AND pc.dataVencimento < :dataAtual
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                AND (pc.dataVencimento > :ultimoVencimento
+                    OR (pc.dataVencimento = :ultimoVencimento AND pc.id > :ultimoId))
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
+            """)
+    Slice<CobrancaPendente> findChavesVencidasNaoProcessadasApos(
+            @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
+            @Param("ultimoVencimento") LocalDate ultimoVencimento,
+            @Param("ultimoId") UUID ultimoId,
+            Pageable pageable);
+
+    // Planos atuais dos usuários informados
+    @Query("SELECT DISTINCT u.plano.id FROM Usuario u WHERE u.id IN :usuarioIds AND u.plano IS NOT NULL")
+    List<UUID> findPlanoIdsDosUsuarios(@Param("usuarioIds") Collection<UUID> usuarioIds);
+
+    // Remove plano e próximo plano dos usuários informados que estão no plano dado. O retorno
+    // é quantos membros o plano perdeu de fato; deve rodar depois de marcarInadimplenciaProcessada,
+    // na mesma transação, só para os donos das cobranças que ela marcou.
+    @Modifying(clearAutomatically = true)
+    @Query("""
+                UPDATE Usuario u
+                SET u.plano = null, u.proximoPlano = null, u.dataAtualizacao = :dataAtualizacao
+                WHERE u.id IN :usuarioIds
+                AND u.plano.id = :planoId
+            """)
+    int removerPlanoDosUsuarios(
+            @Param("usuarioIds") Collection<UUID> usuarioIds,
+            @Param("planoId") UUID planoId,
+            @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Próximo plano dos usuários informados que já estavam sem plano
+    @Modifying(clearAutomatically = true)
+    @Query("""
+                UPDATE Usuario u
+                SET u.proximoPlano = null, u.dataAtualizacao = :dataAtualizacao
+                WHERE u.id IN :usuarioIds
+                AND u.proximoPlano IS NOT NULL
+            """)
+    int removerProximoPlanoDosUsuarios(
+            @Param("usuarioIds") Collection<UUID> usuarioIds,
+            @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+                UPDATE PlanoCobranca pc
+                SET pc.inadimplenciaProcessada = true, pc.dataAtualizacao = :dataAtualizacao
+                WHERE pc.id IN :cobrancaIds
+                AND pc.pago = false
+                AND pc.inadimplenciaProcessada = false
+            """)
+    int marcarInadimplenciaProcessada(
+            @Param("cobrancaIds") Collection<UUID> cobrancaIds,
+            @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Query("SELECT pc.id FROM PlanoCobranca pc WHERE pc.id IN :cobrancaIds AND pc.inadimplenciaProcessada = true")
+    List<UUID> findIdsComInadimplenciaProcessada(@Param("cobrancaIds") Collection<UUID> cobrancaIds);
+
+    // Menores vencimentos ainda pendentes em cada etapa do ciclo; cada consulta
+    // usa o índice parcial da sua etapa. Definem quando o ciclo volta a ter trabalho.
+    @Query("SELECT MIN(pc.dataVencimento) FROM PlanoCobranca pc WHERE pc.pago = false AND pc.inadimplenciaProcessada = false")
+    Optional<LocalDate> findMenorVencimentoNaoProcessado();
+
+    @Query("SELECT MIN(pc.dataVencimento) FROM PlanoCobranca pc WHERE pc.pago = true AND pc.proximaCobrancaGerada = false")
+    Optional<LocalDate> findMenorVencimentoPagoComProximaNaoGerada();
+
+    @Query("""
+                SELECT pc
+                FROM PlanoCobranca pc
+                JOIN FETCH pc.usuario u
+                LEFT JOIN FETCH u.plano
+                LEFT JOIN FETCH u.proximoPlano
+                JOIN FETCH pc.plano
                 WHERE pc.pago = true
                 AND pc.proximaCobrancaGerada = false
                 AND pc.dataVencimento < :dataAtual
-                ORDER BY pc.dataVencimento ASC
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
             """)
-    Page<PlanoCobranca> findPagasComProximaNaoGerada(
+    Slice<PlanoCobranca> findPagasComProximaNaoGerada(
             @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
+            Pageable pageable);
+
+    @Query("""
+                SELECT pc
+                FROM PlanoCobranca pc
+                JOIN FETCH pc.usuario u
+                LEFT JOIN FETCH u.plano
+                LEFT JOIN FETCH u.proximoPlano
+                JOIN FETCH pc.plano
+                WHERE pc.pago = true
+                AND pc.proximaCobrancaGerada = false
+                AND pc.dataVencimento < :dataAtual
+                AND pc.usuario.id BETWEEN :usuarioInicial AND :usuarioFinal
+                AND (pc.dataVencimento > :ultimoVencimento
+                    OR (pc.dataVencimento = :ultimoVencimento AND pc.id > :ultimoId))
+                ORDER BY pc.dataVencimento ASC, pc.id ASC
+            """)
+    Slice<PlanoCobranca> findPagasComProximaNaoGeradaApos(
+            @Param("dataAtual") LocalDate dataAtual,
+            @Param("usuarioInicial") UUID usuarioInicial,
+            @Param("usuarioFinal") UUID usuarioFinal,
+            @Param("ultimoVencimento") LocalDate ultimoVencimento,
+            @Param("ultimoId") UUID ultimoId,
             Pageable pageable);
 
     @Query("""
@@ -86,4 +247,47 @@ public interface PlanoCobrancaRepository extends JpaRepository<PlanoCobranca, UU
                 ORDER BY pc.dataCriacao DESC
             """)
     List<PlanoCobranca> findAllWithUsuarioAndPlano();
+
+    // Última cobrança de cada cadeia ainda em aberto no ciclo, com os planos do
+    // usuário, para a simulação. Lida em fluxo, sem carregar entidades.
+    @Query("""
+                SELECT p.id AS planoUsuarioId, pp.id AS proximoPlanoId, pc.plano.id AS planoId,
+                    pc.dataVencimento AS dataVencimento, pc.valorCentavos AS valorCentavos, pc.pago AS pago
+                FROM PlanoCobranca pc
+                JOIN pc.usuario u
+                LEFT JOIN u.plano p
+                LEFT JOIN u.proximoPlano pp
+                WHERE pc.proximaCobrancaGerada = false
+                AND pc.inadimplenciaProcessada = false
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CobrancaEmAberto> streamCobrancasEmAberto();
+
+    interface CobrancaPendente {
+        UUID getId();
+
+        UUID getUsuarioId();
+
+        LocalDate getDataVencimento();
+    }
+
+    interface ReceitaMensal {
+        YearMonth getMesReferencia();
+
+        Long getTotalCentavos();
+    }
+
+    interface CobrancaEmAberto {
+        UUID getPlanoUsuarioId();
+
+        UUID getProximoPlanoId();
+
+        UUID getPlanoId();
+
+        LocalDate getDataVencimento();
+
+        Integer getValorCentavos();
+
+        Boolean getPago();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package senai.treinomax.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import senai.treinomax.api.model.VersaoCatalogoExercicios;
+
+@Repository
+public interface VersaoCatalogoExerciciosRepository extends JpaRepository<VersaoCatalogoExercicios, Short> {
+
+    @Query("SELECT v.versao FROM VersaoCatalogoExercicios v WHERE v.id = 1")
+    long buscarVersao();
+
+    // Incremento atômico no banco; réplicas diferentes podem alterar exercícios ao mesmo tempo
+    @Modifying
+    @Query("UPDATE VersaoCatalogoExercicios v SET v.versao = v.versao + 1 WHERE v.id = 1")
+    int incrementar();
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import senai.treinomax.api.auth.exception.HashSenhaIndisponivelException;
 import senai.treinomax.api.auth.model.Role;
 import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.repository.UsuarioRepository;
@@ -28,9 +29,6 @@ public class AdminAuthService {
             Optional<Usuario> usuarioOpt = usuarioRepository.findByEmail(username);
             if (usuarioOpt.isPresent()) {
                 Usuario usuario = usuarioOpt.get();
-                System.out.println("SENHA BATE?");
-                System.out.println(password);
-                System.out.println(passwordEncoder.matches(password, usuario.getSenha()));
                 if (usuario.hasRole(Role.ADMIN) &&
                     usuario.getAtivo() &&
                     usuario.getEmailVerificado() &&
@@ -43,6 +41,9 @@ public class AdminAuthService {
             log.warn("Failed authentication attempt for username: {}", username);
             return false;
 
+        } catch (HashSenhaIndisponivelException e) {
+            // Sobrecarga, não credencial errada: o GlobalExceptionHandler responde 503
+            throw e;
         } catch (Exception e) {
             log.error("Error during admin authentication for user: {}", username, e);
             return false;
@@ -0,0 +1,178 @@
+package senai.treinomax.api.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.auth.exception.BloqueioPerdidoException;
+import senai.treinomax.api.model.BloqueioTarefa;
+import senai.treinomax.api.repository.BloqueioTarefaRepository;
+
+/**
+ * Bloqueios com prazo (lease) gravados no banco, para que uma tarefa agendada
+ * rode em uma única instância quando o backend tem várias réplicas.
+ *
+ * Enquanto a instância detém o bloqueio, uma thread renova o prazo a cada
+ * terço da duração. Se a instância cair, ninguém renova e outra instância
+ * assume o bloqueio assim que o prazo vence. Usa só UPDATEs condicionais,
+ * então funciona igual no Postgres e no H2, e os prazos são calculados pelo
+ * relógio do banco.
+ *
+ * Uma renovação que atrasa (pausa longa de GC, banco lento) pode deixar o
+ * prazo vencer com a tarefa ainda rodando. Por isso a tarefa chama
+ * {@link #confirmar} antes de cada commit: se o bloqueio mudou de dono, o
+ * commit não acontece e a tarefa para.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BloqueioTarefaService {
+
+    // Prazo do bloqueio; deve ser bem maior que o intervalo de renovação (um terço dele)
+    @Value("${tarefas.bloqueio.duracao-segundos:300}")
+    private long duracaoSegundos;
+
+    private final BloqueioTarefaRepository bloqueioTarefaRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final String dono = identificarInstancia();
+    private final Map<String, ScheduledFuture<?>> renovacoes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService renovador;
+
+    @PostConstruct
+    void iniciar() {
+        renovador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "renovacao-bloqueios");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        renovacoes.keySet().forEach(this::liberar);
+        renovador.shutdownNow();
+    }
+
+    /**
+     * Tenta assumir o bloqueio. Retorna {@code false} se outra instância o
+     * detém dentro do prazo ou se esta instância já o está usando.
+     */
+    public boolean adquirir(String nome) {
+        if (renovacoes.containsKey(nome)) {
+            return false;
+        }
+        garantirRegistro(nome);
+
+        Integer alteradas = transacao().execute(status ->
+                bloqueioTarefaRepository.adquirir(nome, dono, duracaoSegundos));
+        if (alteradas == null || alteradas == 0) {
+            return false;
+        }
+
+        long intervalo = Math.max(1, duracaoSegundos / 3);
+        ScheduledFuture<?> renovacao = renovador.scheduleAtFixedRate(
+                () -> renovar(nome), intervalo, intervalo, TimeUnit.SECONDS);
+        if (renovacoes.putIfAbsent(nome, renovacao) != null) {
+            // Outra thread desta instância assumiu o mesmo bloqueio ao mesmo tempo
+            renovacao.cancel(false);
+            return false;
+        }
+        log.info("Bloqueio {} adquirido por {} por {} s", nome, dono, duracaoSegundos);
+        return true;
+    }
+
+    /**
+     * Confirma, dentro da transação corrente, que esta instância ainda detém
+     * o bloqueio dentro do prazo. A linha do bloqueio fica travada até o fim
+     * da transação, então outra instância só consegue assumi-lo depois do
+     * commit; chamar por último, logo antes de confirmar, para travar pouco.
+     *
+     * @throws BloqueioPerdidoException se o prazo venceu ou o bloqueio mudou de dono
+     */
+    public void confirmar(String nome) {
+        if (bloqueioTarefaRepository.confirmar(nome, dono) == 0) {
+            throw new BloqueioPerdidoException("Bloqueio " + nome + " perdido por " + dono
+                    + ": o prazo venceu ou outra instância o assumiu");
+        }
+    }
+
+    public void liberar(String nome) {
+        ScheduledFuture<?> renovacao = renovacoes.remove(nome);
+        if (renovacao == null) {
+            return;
+        }
+        renovacao.cancel(false);
+        try {
+            transacao().executeWithoutResult(status ->
+                    bloqueioTarefaRepository.liberar(nome, dono));
+            log.info("Bloqueio {} liberado por {}", nome, dono);
+        } catch (RuntimeException e) {
+            // O prazo vence sozinho; a próxima instância assume depois dele
+            log.error("Erro ao liberar o bloqueio {}", nome, e);
+        }
+    }
+
+    private void renovar(String nome) {
+        try {
+            Integer alteradas = transacao().execute(status ->
+                    bloqueioTarefaRepository.renovar(nome, dono, duracaoSegundos));
+            if (alteradas == null || alteradas == 0) {
+                // A tarefa descobre no próximo confirmar e para antes de gravar
+                log.error("Bloqueio {} perdido por {}: o prazo venceu e outra instância o assumiu", nome, dono);
+                ScheduledFuture<?> renovacao = renovacoes.remove(nome);
+                if (renovacao != null) {
+                    renovacao.cancel(false);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao renovar o bloqueio {}", nome, e);
+        }
+    }
+
+    // Cria a linha do bloqueio na primeira vez, já vencida pelo default do banco; se duas
+    // instâncias tentarem juntas, a chave primária barra uma delas
+    private void garantirRegistro(String nome) {
+        if (bloqueioTarefaRepository.existsById(nome)) {
+            return;
+        }
+        try {
+            transacao().executeWithoutResult(status -> bloqueioTarefaRepository.saveAndFlush(BloqueioTarefa.builder()
+                    .nome(nome)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Bloqueio {} criado por outra instância", nome);
+        }
+    }
+
+    private TransactionTemplate transacao() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static String identificarInstancia() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "desconhecido";
+        }
+        return host + ":" + UUID.randomUUID();
+    }
+}
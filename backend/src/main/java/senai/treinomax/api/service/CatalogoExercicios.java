@@ -0,0 +1,150 @@
+package senai.treinomax.api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import senai.treinomax.api.auth.model.AtivacaoMuscular;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+/**
+ * Fotografia imutável do catálogo de exercícios.
+ *
+ * Guarda todos os exercícios em ordem de nome, um índice por id e, para cada
+ * {@link GrupoMuscular}, os exercícios que o ativam ordenados do maior para o
+ * menor peso. Cada alteração no catálogo gera uma nova instância com versão
+ * maior; as instâncias existentes nunca mudam. Os exercícios guardados são
+ * cópias desanexadas, com ativações musculares em listas imutáveis: alterar a
+ * entidade recebida do banco ou de uma requisição não muda o catálogo.
+ */
+public final class CatalogoExercicios {
+
+    private static final Comparator<Exercicio> POR_NOME = Comparator.comparing(Exercicio::getNome)
+            .thenComparing(Exercicio::getId);
+
+    private final long versao;
+    private final List<Exercicio> exercicios;
+    private final Map<UUID, Exercicio> porId;
+    private final Map<GrupoMuscular, List<Exercicio>> porGrupo;
+
+    private CatalogoExercicios(long versao, List<Exercicio> exercicios) {
+        this.versao = versao;
+        this.exercicios = Collections.unmodifiableList(exercicios);
+
+        Map<UUID, Exercicio> indicePorId = new HashMap<>();
+        for (Exercicio exercicio : exercicios) {
+            indicePorId.put(exercicio.getId(), exercicio);
+        }
+        this.porId = Collections.unmodifiableMap(indicePorId);
+
+        Map<GrupoMuscular, List<Exercicio>> indicePorGrupo = new EnumMap<>(GrupoMuscular.class);
+        for (GrupoMuscular grupo : GrupoMuscular.values()) {
+            List<Exercicio> ativam = new ArrayList<>();
+            for (Exercicio exercicio : exercicios) {
+                if (peso(exercicio, grupo) > 0) {
+                    ativam.add(exercicio);
+                }
+            }
+            // Ordenação estável: empates mantêm a ordem por nome
+            ativam.sort(Comparator.comparingInt((Exercicio exercicio) -> peso(exercicio, grupo)).reversed());
+            indicePorGrupo.put(grupo, Collections.unmodifiableList(ativam));
+        }
+        this.porGrupo = Collections.unmodifiableMap(indicePorGrupo);
+    }
+
+    static CatalogoExercicios de(long versao, List<Exercicio> exercicios) {
+        List<Exercicio> ordenados = new ArrayList<>(exercicios.size());
+        for (Exercicio exercicio : exercicios) {
+            ordenados.add(copiar(exercicio));
+        }
+        ordenados.sort(POR_NOME);
+        return new CatalogoExercicios(versao, ordenados);
+    }
+
+    /**
+     * Nova versão do catálogo com o exercício incluído ou substituído.
+     */
+    CatalogoExercicios comExercicio(Exercicio exercicio) {
+        List<Exercicio> novos = new ArrayList<>(exercicios.size() + 1);
+        for (Exercicio existente : exercicios) {
+            if (!existente.getId().equals(exercicio.getId())) {
+                novos.add(existente);
+            }
+        }
+        novos.add(copiar(exercicio));
+        novos.sort(POR_NOME);
+        return new CatalogoExercicios(versao + 1, novos);
+    }
+
+    /**
+     * Nova versão do catálogo sem o exercício informado.
+     */
+    CatalogoExercicios semExercicio(UUID id) {
+        List<Exercicio> novos = new ArrayList<>(exercicios.size());
+        for (Exercicio existente : exercicios) {
+            if (!existente.getId().equals(id)) {
+                novos.add(existente);
+            }
+        }
+        return new CatalogoExercicios(versao + 1, novos);
+    }
+
+    /**
+     * Cópia do exercício e das ativações musculares, sem vínculo com a sessão
+     * do Hibernate.
+     */
+    private static Exercicio copiar(Exercicio exercicio) {
+        Exercicio copia = new Exercicio();
+        copia.setId(exercicio.getId());
+        copia.setNome(exercicio.getNome());
+        copia.setDescricao(exercicio.getDescricao());
+        copia.setVideoUrl(exercicio.getVideoUrl());
+
+        List<AtivacaoMuscular> ativacoes = new ArrayList<>(exercicio.getAtivacaoMuscular().size());
+        for (AtivacaoMuscular ativacao : exercicio.getAtivacaoMuscular()) {
+            ativacoes.add(new AtivacaoMuscular(ativacao.getId(), ativacao.getGrupoMuscular(), ativacao.getPeso(), copia));
+        }
+        copia.setAtivacaoMuscular(Collections.unmodifiableList(ativacoes));
+        return copia;
+    }
+
+    /**
+     * Soma dos pesos das ativações do exercício no grupo, ignorando pesos
+     * nulos ou negativos.
+     */
+    private static int peso(Exercicio exercicio, GrupoMuscular grupo) {
+        int peso = 0;
+        for (AtivacaoMuscular ativacao : exercicio.getAtivacaoMuscular()) {
+            if (ativacao.getGrupoMuscular() == grupo && ativacao.getPeso() != null) {
+                peso += Math.max(0, ativacao.getPeso());
+            }
+        }
+        return peso;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public List<Exercicio> getExercicios() {
+        return exercicios;
+    }
+
+    public Optional<Exercicio> buscarPorId(UUID id) {
+        return Optional.ofNullable(porId.get(id));
+    }
+
+    /**
+     * Exercícios que ativam o grupo, do maior para o menor peso.
+     */
+    public List<Exercicio> porGrupo(GrupoMuscular grupo) {
+        return porGrupo.get(grupo);
+    }
+}
@@ -0,0 +1,132 @@
+package senai.treinomax.api.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.repository.ExercicioRepository;
+import senai.treinomax.api.repository.VersaoCatalogoExerciciosRepository;
+
+/**
+ * Mantém em memória a versão atual do {@link CatalogoExercicios}.
+ *
+ * O catálogo é carregado do banco no primeiro acesso. Depois disso,
+ * {@link ExercicioService} informa cada inclusão, alteração ou remoção já
+ * confirmada e a versão atual é trocada atomicamente por uma nova; quem leu a
+ * versão anterior continua com uma fotografia consistente.
+ *
+ * Alterações feitas em outras instâncias chegam pela tabela
+ * versao_catalogo_exercicios: cada alteração incrementa a versão na mesma
+ * transação e cada instância, a poucos segundos de intervalo, recarrega o
+ * catálogo quando a versão do banco passa da última que ela refletiu. As
+ * alterações feitas na própria instância avançam essa versão ao serem
+ * aplicadas, então não causam recarga.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogoExerciciosService {
+
+    private final ExercicioRepository exercicioRepository;
+    private final VersaoCatalogoExerciciosRepository versaoCatalogoExerciciosRepository;
+
+    private final AtomicReference<CatalogoExercicios> atual = new AtomicReference<>();
+
+    // Última versão do banco já refletida no catálogo em memória
+    private volatile long versaoBanco;
+
+    public CatalogoExercicios getCatalogo() {
+        CatalogoExercicios catalogo = atual.get();
+        if (catalogo != null) {
+            return catalogo;
+        }
+        synchronized (this) {
+            catalogo = atual.get();
+            return catalogo != null ? catalogo : recarregar();
+        }
+    }
+
+    /**
+     * Relê todos os exercícios do banco e publica uma nova versão do catálogo.
+     */
+    public synchronized CatalogoExercicios recarregar() {
+        // Lida antes dos exercícios: uma alteração no meio faz a próxima sincronização recarregar de novo
+        long versaoLida = versaoCatalogoExerciciosRepository.buscarVersao();
+        CatalogoExercicios anterior = atual.get();
+        long versao = anterior != null ? anterior.getVersao() + 1 : 1;
+        CatalogoExercicios novo = CatalogoExercicios.de(versao, exercicioRepository.findAll());
+        atual.set(novo);
+        versaoBanco = versaoLida;
+        log.info("Catálogo de exercícios carregado: {} exercício(s), versão {}", novo.getExercicios().size(), versao);
+        return novo;
+    }
+
+    /**
+     * Recarrega o catálogo se outra instância o alterou desde a última versão
+     * refletida aqui.
+     */
+    @Scheduled(fixedDelayString = "${exercicios.catalogo.intervalo-ms:5000}")
+    public void sincronizar() {
+        if (atual.get() == null) {
+            return;
+        }
+        long versaoLida = versaoCatalogoExerciciosRepository.buscarVersao();
+        if (versaoLida > versaoBanco) {
+            log.info("Catálogo de exercícios alterado no banco (versão {}), recarregando", versaoLida);
+            recarregar();
+        }
+    }
+
+    /**
+     * Incrementa a versão do catálogo no banco e devolve a nova versão. Deve
+     * ser chamado na mesma transação da inclusão, alteração ou remoção do
+     * exercício.
+     */
+    long registrarVersao() {
+        versaoCatalogoExerciciosRepository.incrementar();
+        // A linha fica bloqueada até o commit: a leitura devolve o valor desta transação
+        return versaoCatalogoExerciciosRepository.buscarVersao();
+    }
+
+    /**
+     * Publica uma versão com o exercício incluído ou substituído. Deve ser
+     * chamado após o commit, com o exercício como ficou salvo e a versão
+     * devolvida por {@link #registrarVersao()}.
+     */
+    synchronized void registrarAlteracao(Exercicio exercicio, long versao) {
+        CatalogoExercicios anterior = atual.get();
+        if (anterior == null || versao <= versaoBanco) {
+            // Ainda não carregado, ou já lido do banco por uma recarga posterior ao commit
+            return;
+        }
+        atual.set(anterior.comExercicio(exercicio));
+        avancarVersao(versao);
+    }
+
+    /**
+     * Publica uma versão sem o exercício. Deve ser chamado após o commit, com
+     * a versão devolvida por {@link #registrarVersao()}.
+     */
+    synchronized void registrarRemocao(UUID id, long versao) {
+        CatalogoExercicios anterior = atual.get();
+        if (anterior == null || versao <= versaoBanco) {
+            return;
+        }
+        atual.set(anterior.semExercicio(id));
+        avancarVersao(versao);
+    }
+
+    // Só avança sem lacunas: uma versão intermediária de outra instância, ou
+    // uma alteração local que ainda não foi aplicada, mantém a recarga na
+    // próxima sincronização
+    private void avancarVersao(long versao) {
+        if (versao == versaoBanco + 1) {
+            versaoBanco = versao;
+        }
+    }
+}
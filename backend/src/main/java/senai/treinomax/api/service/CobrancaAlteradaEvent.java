@@ -0,0 +1,17 @@
+package senai.treinomax.api.service;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado quando uma cobrança é criada ou paga, para que o agendador do
+ * ciclo de verificação recalcule o próximo vencimento.
+ */
+@Getter
+@AllArgsConstructor
+public class CobrancaAlteradaEvent {
+
+    private final LocalDate dataVencimento;
+}
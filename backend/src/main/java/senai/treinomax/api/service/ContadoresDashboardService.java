@@ -0,0 +1,272 @@
+package senai.treinomax.api.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.model.ContadorDashboard;
+import senai.treinomax.api.repository.ContadorDashboardRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.util.DateUtils;
+
+/**
+ * Totais do dashboard do administrador mantidos de forma incremental: total
+ * de membros, membros por plano e receita recebida por mês.
+ *
+ * Quem altera esses dados informa a variação. Dentro de uma transação as
+ * variações são acumuladas e gravadas em {@code contadores_dashboard} antes
+ * do commit, com um UPDATE por contador; a cópia em memória só é atualizada
+ * depois do commit. A cópia é recarregada da tabela periodicamente, para
+ * trazer as variações feitas nas outras réplicas, e a tabela é recontada a
+ * partir de usuarios e planos_cobrancas numa reconciliação diária.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContadoresDashboardService {
+
+    static final String MEMBROS = "membros";
+    static final String PREFIXO_PLANO = "membros.plano.";
+    static final String PREFIXO_RECEITA = "receita.";
+
+    private static final String TAREFA_RECONCILIACAO = "RECONCILIAR_CONTADORES_DASHBOARD";
+
+    private final ContadorDashboardRepository contadorRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final PlanoCobrancaRepository planoCobrancaRepository;
+    private final BloqueioTarefaService bloqueioTarefaService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Long> valores = new ConcurrentHashMap<>();
+
+    public void membroRegistrado() {
+        somar(MEMBROS, 1);
+    }
+
+    public void planoAlterado(UUID planoAnterior, UUID planoNovo) {
+        if (Objects.equals(planoAnterior, planoNovo)) {
+            return;
+        }
+        if (planoAnterior != null) {
+            somar(PREFIXO_PLANO + planoAnterior, -1);
+        }
+        if (planoNovo != null) {
+            somar(PREFIXO_PLANO + planoNovo, 1);
+        }
+    }
+
+    public void planosRemovidos(Map<UUID, Long> membrosPorPlano) {
+        membrosPorPlano.forEach((planoId, quantidade) -> somar(PREFIXO_PLANO + planoId, -quantidade));
+    }
+
+    public void pagamentoRegistrado(YearMonth mesReferencia, long valorCentavos) {
+        somar(PREFIXO_RECEITA + mesReferencia, valorCentavos);
+    }
+
+    public long getMembros() {
+        return valores.getOrDefault(MEMBROS, 0L);
+    }
+
+    /**
+     * Membros por plano, só dos planos com algum membro.
+     */
+    public Map<UUID, Long> getMembrosPorPlano() {
+        Map<UUID, Long> membrosPorPlano = new HashMap<>();
+        valores.forEach((chave, valor) -> {
+            if (chave.startsWith(PREFIXO_PLANO) && valor > 0) {
+                membrosPorPlano.put(UUID.fromString(chave.substring(PREFIXO_PLANO.length())), valor);
+            }
+        });
+        return membrosPorPlano;
+    }
+
+    public long getReceita(YearMonth mesReferencia) {
+        return valores.getOrDefault(PREFIXO_RECEITA + mesReferencia, 0L);
+    }
+
+    /**
+     * Recarrega a cópia em memória a partir da tabela. Na primeira carga, com
+     * a tabela ainda vazia, faz a contagem completa.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.contadores.recarga-ms:30000}")
+    public void recarregar() {
+        Map<String, Long> gravados = new HashMap<>();
+        contadorRepository.findAll().forEach(contador -> gravados.put(contador.getChave(), contador.getValor()));
+        if (!gravados.containsKey(MEMBROS)) {
+            log.info("Contadores do dashboard ainda não existem; fazendo a contagem completa");
+            reconciliar();
+            return;
+        }
+        valores.keySet().retainAll(gravados.keySet());
+        valores.putAll(gravados);
+    }
+
+    /**
+     * Reconta membros e receita e corrige a tabela. Variações confirmadas
+     * entre a recontagem e a gravação são sobrescritas e voltam na próxima
+     * reconciliação; por isso ela roda de madrugada.
+     */
+    @Scheduled(cron = "${dashboard.contadores.reconciliacao-cron:0 30 4 * * *}", zone = "America/Sao_Paulo")
+    public void reconciliar() {
+        if (!bloqueioTarefaService.adquirir(TAREFA_RECONCILIACAO)) {
+            log.info("Reconciliação dos contadores do dashboard em andamento em outra instância");
+            return;
+        }
+        try {
+            Map<String, Long> recontados = transacao().execute(status -> recontar());
+            int divergentes = transacao().execute(status -> gravarRecontagem(recontados));
+            log.info("Contadores do dashboard reconciliados: {} contador(es), {} divergente(s)",
+                    recontados.size(), divergentes);
+            valores.keySet().retainAll(recontados.keySet());
+            valores.putAll(recontados);
+        } finally {
+            bloqueioTarefaService.liberar(TAREFA_RECONCILIACAO);
+        }
+    }
+
+    private Map<String, Long> recontar() {
+        Map<String, Long> recontados = new HashMap<>();
+        long membros = 0;
+        for (UsuarioRepository.MembrosPorPlano linha : usuarioRepository.contarMembrosPorPlano()) {
+            membros += linha.getQuantidade();
+            if (linha.getPlanoId() != null) {
+                recontados.put(PREFIXO_PLANO + linha.getPlanoId(), linha.getQuantidade());
+            }
+        }
+        recontados.put(MEMBROS, membros);
+        planoCobrancaRepository.sumValorRecebidoPorMes().forEach(receita ->
+                recontados.put(PREFIXO_RECEITA + receita.getMesReferencia(), receita.getTotalCentavos()));
+        return recontados;
+    }
+
+    private int gravarRecontagem(Map<String, Long> recontados) {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        Map<String, Long> gravados = new HashMap<>();
+        contadorRepository.findAll().forEach(contador -> gravados.put(contador.getChave(), contador.getValor()));
+
+        int divergentes = 0;
+        for (Map.Entry<String, Long> gravado : gravados.entrySet()) {
+            if (!recontados.containsKey(gravado.getKey())) {
+                // Plano sem membros ou mês sem receita
+                contadorRepository.definir(gravado.getKey(), 0L, agora);
+                if (gravado.getValue() != 0) {
+                    log.warn("Contador {} do dashboard divergente: {} gravado, 0 recontado",
+                            gravado.getKey(), gravado.getValue());
+                    divergentes++;
+                }
+            }
+        }
+        for (Map.Entry<String, Long> recontado : recontados.entrySet()) {
+            Long gravado = gravados.get(recontado.getKey());
+            if (gravado == null) {
+                contadorRepository.save(ContadorDashboard.builder()
+                        .chave(recontado.getKey())
+                        .valor(recontado.getValue())
+                        .build());
+                continue;
+            }
+            if (!gravado.equals(recontado.getValue())) {
+                log.warn("Contador {} do dashboard divergente: {} gravado, {} recontado",
+                        recontado.getKey(), gravado, recontado.getValue());
+                divergentes++;
+            }
+            contadorRepository.definir(recontado.getKey(), recontado.getValue(), agora);
+        }
+        return divergentes;
+    }
+
+    private void somar(String chave, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            Map<String, Long> variacao = Map.of(chave, delta);
+            transacao().executeWithoutResult(status -> gravar(variacao));
+            aplicar(variacao);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> pendentes = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            // Ordenadas pela chave: transações concorrentes travam as linhas na mesma ordem
+            pendentes = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(new VariacoesDaTransacao(pendentes));
+        }
+        pendentes.merge(chave, delta, Long::sum);
+    }
+
+    private void gravar(Map<String, Long> variacoes) {
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+        variacoes.forEach((chave, delta) -> {
+            if (delta != 0 && contadorRepository.somar(chave, delta, agora) == 0) {
+                criar(chave);
+                contadorRepository.somar(chave, delta, agora);
+            }
+        });
+    }
+
+    private void aplicar(Map<String, Long> variacoes) {
+        variacoes.forEach((chave, delta) -> valores.merge(chave, delta, Long::sum));
+    }
+
+    // Cria o contador zerado numa transação à parte; se outra réplica criar junto, a chave primária barra uma delas
+    private void criar(String chave) {
+        TransactionTemplate novaTransacao = transacao();
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            novaTransacao.executeWithoutResult(status -> contadorRepository.saveAndFlush(ContadorDashboard.builder()
+                    .chave(chave)
+                    .valor(0L)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Contador {} do dashboard criado por outra instância", chave);
+        }
+    }
+
+    private TransactionTemplate transacao() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private class VariacoesDaTransacao implements TransactionSynchronization {
+
+        private final Map<String, Long> variacoes;
+
+        VariacoesDaTransacao(Map<String, Long> variacoes) {
+            this.variacoes = variacoes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            gravar(variacoes);
+        }
+
+        @Override
+        public void afterCommit() {
+            aplicar(variacoes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContadoresDashboardService.this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package senai.treinomax.api.service;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.dto.response.DashboardResponse;
+import senai.treinomax.api.dto.response.DistribuicaoPlanoResponse;
+import senai.treinomax.api.model.Plano;
+import senai.treinomax.api.repository.PlanoRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private final ContadoresDashboardService contadoresDashboard;
+    private final PlanoRepository planoRepository;
+    private final Clock relogio;
+
+    /**
+     * Indicadores do dashboard do administrador, lidos dos contadores mantidos
+     * por {@link ContadoresDashboardService}. Só os nomes dos planos com
+     * membros vêm do banco.
+     */
+    @Transactional(readOnly = true)
+    public DashboardResponse getDashboardInfo() {
+        YearMonth currentMonth = YearMonth.now(relogio);
+        YearMonth previousMonth = currentMonth.minusMonths(1);
+
+        Integer totalRevenueMonthInCents = (int) contadoresDashboard.getReceita(currentMonth);
+        Integer previousMonthRevenue = (int) contadoresDashboard.getReceita(previousMonth);
+
+        Double percentualRevenueGrowthMonth = 0.0;
+        if (previousMonthRevenue > 0) {
+            percentualRevenueGrowthMonth = ((double) (totalRevenueMonthInCents - previousMonthRevenue)
+                    / previousMonthRevenue) * 100;
+        } else if (totalRevenueMonthInCents > 0) {
+            percentualRevenueGrowthMonth = 100.0;
+        }
+
+        int totalNumberMembers = (int) contadoresDashboard.getMembros();
+        Map<UUID, Long> membrosPorPlano = contadoresDashboard.getMembrosPorPlano();
+        int totalNumberPaidMembers = (int) membrosPorPlano.values().stream().mapToLong(Long::longValue).sum();
+        Map<UUID, Plano> planos = planoRepository.findAllById(membrosPorPlano.keySet()).stream()
+                .collect(Collectors.toMap(Plano::getId, Function.identity()));
+
+        List<DistribuicaoPlanoResponse> distribuicaoPorPlano = new ArrayList<>(membrosPorPlano.size());
+        membrosPorPlano.forEach((planoId, quantidade) -> {
+            Plano plano = planos.get(planoId);
+            distribuicaoPorPlano.add(DistribuicaoPlanoResponse.builder()
+                    .planoId(planoId)
+                    .planoNome(plano != null ? plano.getNome() : planoId.toString())
+                    .planoAtivo(plano != null && plano.getAtivo())
+                    .totalMembros(quantidade.intValue())
+                    .percentual(((double) quantidade / totalNumberPaidMembers) * 100)
+                    .build());
+        });
+        distribuicaoPorPlano.sort(Comparator.comparing(DistribuicaoPlanoResponse::getTotalMembros).reversed()
+                .thenComparing(DistribuicaoPlanoResponse::getPlanoNome)
+                .thenComparing(DistribuicaoPlanoResponse::getPlanoId));
+
+        return DashboardResponse.builder()
+                .totalRenevenueMonthInCents(totalRevenueMonthInCents)
+                .percentualRevenueGrowthMonth(percentualRevenueGrowthMonth)
+                .totalNumberMembers(totalNumberMembers)
+                .totalNumberPaidMembers(totalNumberPaidMembers)
+                .totalNumberUnpaidMembers(totalNumberMembers - totalNumberPaidMembers)
+                .userDistributionByPlan(distribuicaoPorNome(distribuicaoPorPlano))
+                .distribuicaoPorPlano(distribuicaoPorPlano)
+                .build();
+    }
+
+    /**
+     * Distribuição indexada pelo nome do plano, formato que o app já consome.
+     * Planos com o mesmo nome (um inativo e outro recriado, por exemplo) não se
+     * sobrescrevem: cada um recebe o início do seu id entre parênteses.
+     */
+    static Map<String, Double> distribuicaoPorNome(List<DistribuicaoPlanoResponse> distribuicao) {
+        Map<String, Long> ocorrencias = distribuicao.stream()
+                .collect(Collectors.groupingBy(DistribuicaoPlanoResponse::getPlanoNome, Collectors.counting()));
+        Function<DistribuicaoPlanoResponse, String> chave = plano -> ocorrencias.get(plano.getPlanoNome()) > 1
+                ? plano.getPlanoNome() + " (" + plano.getPlanoId().toString().substring(0, 8) + ")"
+                : plano.getPlanoNome();
+
+        Map<String, Double> porNome = new LinkedHashMap<>();
+        distribuicao.forEach(plano -> porNome.put(chave.apply(plano), plano.getPercentual()));
+        return porNome;
+    }
+}
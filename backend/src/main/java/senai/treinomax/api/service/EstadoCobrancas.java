@@ -0,0 +1,106 @@
+package senai.treinomax.api.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Cópia em memória do que o ciclo de verificação precisa saber de cada
+ * membro: o plano atual, o próximo plano e a última cobrança ainda em aberto
+ * no ciclo. Guardada em arrays paralelos, com planos como índices, para que
+ * milhões de membros caibam em poucas dezenas de MB.
+ */
+final class EstadoCobrancas {
+
+    static final int SEM_PLANO = -1;
+
+    private int tamanho;
+    private int[] plano;
+    private int[] proximoPlano;
+    private int[] planoCobranca;
+    private long[] vencimento; // dia epoch
+    private int[] valorCentavos;
+    private boolean[] pago;
+
+    EstadoCobrancas(int capacidade) {
+        int inicial = Math.max(16, capacidade);
+        plano = new int[inicial];
+        proximoPlano = new int[inicial];
+        planoCobranca = new int[inicial];
+        vencimento = new long[inicial];
+        valorCentavos = new int[inicial];
+        pago = new boolean[inicial];
+    }
+
+    void adicionar(int plano, int proximoPlano, int planoCobranca, LocalDate vencimento, int valorCentavos, boolean pago) {
+        if (tamanho == this.plano.length) {
+            int capacidade = tamanho * 2;
+            this.plano = Arrays.copyOf(this.plano, capacidade);
+            this.proximoPlano = Arrays.copyOf(this.proximoPlano, capacidade);
+            this.planoCobranca = Arrays.copyOf(this.planoCobranca, capacidade);
+            this.vencimento = Arrays.copyOf(this.vencimento, capacidade);
+            this.valorCentavos = Arrays.copyOf(this.valorCentavos, capacidade);
+            this.pago = Arrays.copyOf(this.pago, capacidade);
+        }
+        this.plano[tamanho] = plano;
+        this.proximoPlano[tamanho] = proximoPlano;
+        this.planoCobranca[tamanho] = planoCobranca;
+        this.vencimento[tamanho] = vencimento.toEpochDay();
+        this.valorCentavos[tamanho] = valorCentavos;
+        this.pago[tamanho] = pago;
+        tamanho++;
+    }
+
+    void migrarPlano(int origem, int destino) {
+        for (int membro = 0; membro < tamanho; membro++) {
+            if (plano[membro] == origem) {
+                plano[membro] = destino;
+            }
+        }
+    }
+
+    /**
+     * Membros aleatórios com vencimentos espalhados pelo mês corrente, para
+     * simulações de carga sem banco.
+     */
+    static EstadoCobrancas sintetico(int membros, int[] precosCentavos, LocalDate hoje, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        EstadoCobrancas estado = new EstadoCobrancas(membros);
+        for (int i = 0; i < membros; i++) {
+            int plano = aleatorio.nextInt(precosCentavos.length);
+            int proximoPlano = aleatorio.nextInt(20) == 0 ? aleatorio.nextInt(precosCentavos.length) : SEM_PLANO;
+            LocalDate vencimento = hoje.plusDays(aleatorio.nextInt(-5, 26));
+            boolean pago = aleatorio.nextDouble() < (vencimento.isBefore(hoje) ? 0.9 : 0.5);
+            estado.adicionar(plano, proximoPlano, plano, vencimento, precosCentavos[plano], pago);
+        }
+        return estado;
+    }
+
+    int getTamanho() {
+        return tamanho;
+    }
+
+    int plano(int membro) {
+        return plano[membro];
+    }
+
+    int proximoPlano(int membro) {
+        return proximoPlano[membro];
+    }
+
+    int planoCobranca(int membro) {
+        return planoCobranca[membro];
+    }
+
+    long vencimento(int membro) {
+        return vencimento[membro];
+    }
+
+    int valorCentavos(int membro) {
+        return valorCentavos[membro];
+    }
+
+    boolean pago(int membro) {
+        return pago[membro];
+    }
+}
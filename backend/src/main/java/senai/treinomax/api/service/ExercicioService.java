@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import senai.treinomax.api.auth.model.AtivacaoMuscular;
 import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
 import senai.treinomax.api.repository.ExercicioRepository;
 
 import java.util.List;
@@ -18,18 +21,26 @@ import java.util.UUID;
 public class ExercicioService {
 
     private final ExercicioRepository exercicioRepository;
+    private final CatalogoExerciciosService catalogoExerciciosService;
 
     @Transactional
     public Exercicio criarExercicio(Exercicio exercicio) {
-        return exercicioRepository.save(exercicio);
+        Exercicio salvo = exercicioRepository.save(exercicio);
+        long versao = catalogoExerciciosService.registrarVersao();
+        aposCommit(() -> catalogoExerciciosService.registrarAlteracao(salvo, versao));
+        return salvo;
     }
 
     public Exercicio buscarPorId(UUID id) {
-        return exercicioRepository.findById(id).orElse(null);
+        return catalogoExerciciosService.getCatalogo().buscarPorId(id).orElse(null);
     }
 
     public List<Exercicio> listarTodos() {
-        return exercicioRepository.findAll();
+        return catalogoExerciciosService.getCatalogo().getExercicios();
+    }
+
+    public List<Exercicio> listarPorGrupoMuscular(GrupoMuscular grupoMuscular) {
+        return catalogoExerciciosService.getCatalogo().porGrupo(grupoMuscular);
     }
 
     @Transactional
@@ -57,7 +68,10 @@ public class ExercicioService {
                         }
                     }
 
-                    return exercicioRepository.save(exercicio);
+                    Exercicio salvo = exercicioRepository.save(exercicio);
+                    long versao = catalogoExerciciosService.registrarVersao();
+                    aposCommit(() -> catalogoExerciciosService.registrarAlteracao(salvo, versao));
+                    return salvo;
                 })
                 .orElse(null);
     }
@@ -66,8 +80,24 @@ public class ExercicioService {
     public boolean deletarExercicio(UUID id) {
         if (exercicioRepository.existsById(id)) {
             exercicioRepository.deleteById(id);
+            long versao = catalogoExerciciosService.registrarVersao();
+            aposCommit(() -> catalogoExerciciosService.registrarRemocao(id, versao));
             return true;
         }
         return false;
     }
+
+    // O catálogo em memória só pode mudar depois que a alteração estiver confirmada no banco
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package senai.treinomax.api.service;
+
+import java.math.BigInteger;
+import java.util.UUID;
+
+/**
+ * Faixa contínua de ids de usuário, com limites inclusivos, usada para
+ * dividir o ciclo de verificação de cobranças em partições.
+ *
+ * Os ids são UUIDs aleatórios, então faixas de mesmo tamanho recebem
+ * quantidades parecidas de usuários, como numa divisão por hash. Cada id cai
+ * em exatamente uma faixa, de modo que duas partições nunca processam o
+ * mesmo usuário. A ordem é a do banco: os 16 bytes comparados sem sinal.
+ */
+final class FaixaUsuarios {
+
+    private static final UUID MAIOR = new UUID(-1L, -1L);
+
+    private final int particao;
+    private final UUID inicio;
+    private final UUID fim;
+
+    private FaixaUsuarios(int particao, UUID inicio, UUID fim) {
+        this.particao = particao;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    /**
+     * Faixa da partição, dividindo os 64 bits mais significativos do id em
+     * {@code totalParticoes} intervalos iguais.
+     */
+    static FaixaUsuarios daParticao(int particao, int totalParticoes) {
+        if (totalParticoes < 1 || particao < 0 || particao >= totalParticoes) {
+            throw new IllegalArgumentException("Partição inválida: " + particao + " de " + totalParticoes);
+        }
+        UUID inicio = new UUID(limite(particao, totalParticoes), 0L);
+        UUID fim = particao == totalParticoes - 1
+                ? MAIOR
+                : new UUID(limite(particao + 1, totalParticoes) - 1, -1L);
+        return new FaixaUsuarios(particao, inicio, fim);
+    }
+
+    // particao * 2^64 / totalParticoes, representado como long sem sinal
+    private static long limite(int particao, int totalParticoes) {
+        return BigInteger.valueOf(particao)
+                .shiftLeft(64)
+                .divide(BigInteger.valueOf(totalParticoes))
+                .longValue();
+    }
+
+    boolean contem(UUID id) {
+        return comparar(inicio, id) <= 0 && comparar(id, fim) <= 0;
+    }
+
+    private static int comparar(UUID a, UUID b) {
+        int alto = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return alto != 0 ? alto : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    int getParticao() {
+        return particao;
+    }
+
+    UUID getInicio() {
+        return inicio;
+    }
+
+    UUID getFim() {
+        return fim;
+    }
+}
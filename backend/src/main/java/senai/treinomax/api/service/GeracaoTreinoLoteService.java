@@ -0,0 +1,395 @@
+package senai.treinomax.api.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+import senai.treinomax.api.auth.model.ItemTreino;
+import senai.treinomax.api.auth.model.Treino;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.dto.request.GerarTreinosLoteRequest;
+import senai.treinomax.api.dto.request.ItemLoteTreinoRequest;
+import senai.treinomax.api.dto.response.LoteTreinoResponse;
+import senai.treinomax.api.geradortreino.GeradorTreino;
+import senai.treinomax.api.repository.TreinoRepository;
+
+/**
+ * Gera e salva treinos para vários alunos de uma vez.
+ *
+ * Cada lote roda numa thread de um pool limitado; quando o pool e a fila estão
+ * cheios o lote é recusado. Dentro do lote, itens com os mesmos grupos
+ * musculares e número de exercícios são gerados uma única vez, e os requisitos
+ * distintos são divididos entre a thread do lote e ajudantes enviados ao
+ * mesmo pool. A thread do lote também gera, então o lote termina mesmo que
+ * nenhum ajudante consiga uma thread. Os treinos são
+ * salvos em transações de tamanho fixo, com os inserts agrupados em lotes JDBC
+ * (ver {@code spring.jpa.properties.hibernate.jdbc.batch_size}). Se uma
+ * transação falha, os seus itens são salvos de novo um a um, para que só os
+ * itens com problema falhem, cada um com o seu erro.
+ *
+ * O andamento fica em memória nesta instância e os lotes concluídos mais
+ * antigos são descartados quando o limite de retenção é atingido. Com mais de
+ * uma instância atrás do balanceador, a consulta de um lote só o encontra na
+ * instância que o aceitou (as outras respondem 404); o balanceador precisa
+ * manter o usuário na mesma instância para acompanhar o lote. Os treinos
+ * salvos ficam no banco e são vistos por todas as instâncias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeracaoTreinoLoteService {
+
+    private final GeradorTreino geradorTreino;
+    private final CatalogoExerciciosService catalogoExerciciosService;
+    private final UsuarioRepository usuarioRepository;
+    private final TreinoRepository treinoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${treino.lote.threads:2}")
+    private int threads;
+
+    // Lotes aceitos aguardando uma thread livre
+    @Value("${treino.lote.fila:10}")
+    private int tamanhoFila;
+
+    // Treinos salvos por transação
+    @Value("${treino.lote.treinos-por-transacao:100}")
+    private int treinosPorTransacao;
+
+    // Lotes concluídos mantidos para consulta
+    @Value("${treino.lote.retencao:200}")
+    private int retencao;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<UUID, Lote> lotes = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<UUID> concluidos = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "geracao-treino-lote-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Aceita o lote para processamento e retorna o seu estado inicial.
+     *
+     * @throws RejectedExecutionException se não houver espaço no pool nem na fila
+     */
+    public LoteTreinoResponse iniciarLote(GerarTreinosLoteRequest request) {
+        Lote lote = new Lote(UUID.randomUUID(), request);
+        lotes.put(lote.id, lote);
+        try {
+            executor.execute(() -> processar(lote));
+        } catch (RejectedExecutionException e) {
+            lotes.remove(lote.id);
+            throw e;
+        }
+        log.info("Lote de geração de treinos {} aceito com {} item(ns)", lote.id, lote.total);
+        return lote.toResponse();
+    }
+
+    public Optional<LoteTreinoResponse> buscarLote(UUID id) {
+        return Optional.ofNullable(lotes.get(id)).map(Lote::toResponse);
+    }
+
+    private void processar(Lote lote) {
+        lote.status = LoteTreinoResponse.Status.EXECUTANDO;
+        try {
+            Map<List<Object>, List<UUID>> gerados = gerar(lote);
+            salvar(lote, gerados);
+            lote.status = LoteTreinoResponse.Status.CONCLUIDO;
+        } catch (Exception e) {
+            log.error("Erro ao processar lote de geração de treinos {}", lote.id, e);
+            lote.erros.add("Erro inesperado: " + e.getMessage());
+            lote.status = LoteTreinoResponse.Status.FALHOU;
+        } finally {
+            lote.concluidoEm = LocalDateTime.now();
+            registrarConclusao(lote.id);
+        }
+        log.info("Lote {} finalizado: {} salvo(s), {} falha(s), {} requisito(s) distinto(s)",
+                lote.id, lote.salvos.get(), lote.falhas.get(), lote.requisitosDistintos);
+    }
+
+    /**
+     * Gera uma vez cada requisito distinto do lote. Os requisitos ficam numa
+     * fila consumida pela thread do lote e por até {@code threads - 1}
+     * ajudantes no pool; ajudantes recusados pelo pool são dispensados.
+     */
+    private Map<List<Object>, List<UUID>> gerar(Lote lote) throws InterruptedException {
+        Map<List<Object>, Requisito> distintos = new LinkedHashMap<>();
+        for (ItemLoteTreinoRequest item : lote.request.getTreinos()) {
+            List<Object> chave = chave(item);
+            distintos.merge(chave, new Requisito(chave, item, 1),
+                    (atual, novo) -> new Requisito(atual.chave(), atual.item(), atual.itens() + 1));
+        }
+        lote.requisitosDistintos = distintos.size();
+
+        Queue<Requisito> pendentes = new ConcurrentLinkedQueue<>(distintos.values());
+        Map<List<Object>, List<UUID>> gerados = new ConcurrentHashMap<>();
+        List<Future<?>> ajudantes = new ArrayList<>();
+        for (int i = 0; i < Math.min(threads - 1, distintos.size() - 1); i++) {
+            try {
+                ajudantes.add(executor.submit(() -> gerarPendentes(lote, pendentes, gerados)));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+
+        try {
+            gerarPendentes(lote, pendentes, gerados);
+            for (Future<?> ajudante : ajudantes) {
+                // Ajudante que nem começou: a fila já acabou, então só sai do pool
+                if (ajudante.cancel(false)) {
+                    executor.remove((Runnable) ajudante);
+                } else {
+                    ajudante.get();
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Erro ao gerar treinos do lote", e.getCause());
+        }
+        return gerados;
+    }
+
+    private void gerarPendentes(Lote lote, Queue<Requisito> pendentes, Map<List<Object>, List<UUID>> gerados) {
+        Requisito requisito;
+        try {
+            while ((requisito = pendentes.poll()) != null) {
+                ItemLoteTreinoRequest item = requisito.item();
+                gerados.put(requisito.chave(), geradorTreino.gerarTreino(item.getTiposTreino(), numeroExercicios(item)));
+                lote.gerados.addAndGet(requisito.itens());
+            }
+        } catch (RuntimeException e) {
+            // O lote vai falhar: as outras threads param de gerar
+            pendentes.clear();
+            throw e;
+        }
+    }
+
+    private void salvar(Lote lote, Map<List<Object>, List<UUID>> gerados) {
+        List<ItemLoteTreinoRequest> itens = lote.request.getTreinos();
+
+        // Uma consulta para todos os alunos do lote
+        Set<UUID> usuariosExistentes = usuarioRepository.findAllById(
+                itens.stream().map(ItemLoteTreinoRequest::getUsuarioId).collect(Collectors.toSet()))
+                .stream()
+                .map(Usuario::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        CatalogoExercicios catalogo = catalogoExerciciosService.getCatalogo();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        for (int inicio = 0; inicio < itens.size(); inicio += treinosPorTransacao) {
+            int fim = Math.min(itens.size(), inicio + treinosPorTransacao);
+            List<Integer> posicoes = new ArrayList<>();
+            for (int i = inicio; i < fim; i++) {
+                ItemLoteTreinoRequest item = itens.get(i);
+                if (!usuariosExistentes.contains(item.getUsuarioId())) {
+                    falhar(lote, i, "Usuário não encontrado: " + item.getUsuarioId());
+                } else if (gerados.get(chave(item)).isEmpty()) {
+                    falhar(lote, i, "Não há exercícios suficientes para gerar o treino");
+                } else {
+                    posicoes.add(i);
+                }
+            }
+            if (posicoes.isEmpty()) {
+                continue;
+            }
+
+            try {
+                salvarItens(lote, posicoes, gerados, catalogo, transacao);
+            } catch (Exception e) {
+                // O rollback desfez o trecho inteiro: refaz item a item para isolar os que falham
+                log.warn("Erro ao salvar treinos {} a {} do lote {}, salvando um a um", inicio, fim - 1, lote.id, e);
+                for (int posicao : posicoes) {
+                    try {
+                        salvarItens(lote, List.of(posicao), gerados, catalogo, transacao);
+                    } catch (Exception erroItem) {
+                        log.error("Erro ao salvar o item {} do lote {}", posicao, lote.id, erroItem);
+                        falhar(lote, posicao, "Erro ao salvar treino: " + erroItem.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Salva os treinos das posições informadas numa única transação.
+     */
+    private void salvarItens(Lote lote, List<Integer> posicoes, Map<List<Object>, List<UUID>> gerados,
+            CatalogoExercicios catalogo, TransactionTemplate transacao) {
+        List<ItemLoteTreinoRequest> itens = lote.request.getTreinos();
+        List<Treino> salvos = transacao.execute(status -> {
+            List<Treino> treinos = new ArrayList<>(posicoes.size());
+            for (int posicao : posicoes) {
+                ItemLoteTreinoRequest item = itens.get(posicao);
+                treinos.add(montarTreino(lote.request, item, gerados.get(chave(item)), catalogo));
+            }
+            return treinoRepository.saveAll(treinos);
+        });
+        synchronized (lote.treinoIds) {
+            for (int i = 0; i < posicoes.size(); i++) {
+                lote.treinoIds[posicoes.get(i)] = salvos.get(i).getId();
+            }
+        }
+        lote.salvos.addAndGet(posicoes.size());
+    }
+
+    private Treino montarTreino(GerarTreinosLoteRequest request, ItemLoteTreinoRequest item,
+            List<UUID> exercicioIds, CatalogoExercicios catalogo) {
+        String grupos = item.getTiposTreino().stream()
+                .distinct()
+                .map(GrupoMuscular::name)
+                .collect(Collectors.joining(", "));
+
+        Treino treino = new Treino();
+        treino.setNome(item.getNome() != null ? item.getNome() : limitar("Treino " + grupos, 100));
+        treino.setTipoTreino(limitar(grupos, 50));
+        treino.setDescricao("Treino gerado automaticamente");
+        // Referência sem consulta: a existência já foi conferida
+        treino.setUsuario(usuarioRepository.getReferenceById(item.getUsuarioId()));
+
+        int ordem = 1;
+        for (UUID exercicioId : exercicioIds) {
+            Exercicio exercicio = catalogo.buscarPorId(exercicioId)
+                    .orElseThrow(() -> new RuntimeException("Exercício não encontrado: " + exercicioId));
+            ItemTreino itemTreino = new ItemTreino();
+            itemTreino.setTreino(treino);
+            itemTreino.setExercicio(exercicio);
+            itemTreino.setOrdem(ordem++);
+            itemTreino.setSeries(request.getSeries());
+            itemTreino.setRepeticoes(request.getRepeticoes());
+            itemTreino.setTempoDescanso(request.getTempoDescanso());
+            treino.getItens().add(itemTreino);
+        }
+        return treino;
+    }
+
+    private void falhar(Lote lote, int posicao, String mensagem) {
+        lote.falhas.incrementAndGet();
+        lote.erros.add("Item " + posicao + ": " + mensagem);
+    }
+
+    private void registrarConclusao(UUID id) {
+        concluidos.add(id);
+        while (concluidos.size() > retencao) {
+            UUID maisAntigo = concluidos.poll();
+            if (maisAntigo != null) {
+                lotes.remove(maisAntigo);
+            }
+        }
+    }
+
+    // A ordem dos grupos não muda o treino gerado; a repetição muda
+    private static List<Object> chave(ItemLoteTreinoRequest item) {
+        List<GrupoMuscular> grupos = new ArrayList<>(item.getTiposTreino());
+        Collections.sort(grupos);
+        return List.of(grupos, numeroExercicios(item));
+    }
+
+    private static int numeroExercicios(ItemLoteTreinoRequest item) {
+        return item.getNumeroExercicios() != null ? item.getNumeroExercicios() : 5;
+    }
+
+    private static String limitar(String texto, int tamanho) {
+        return texto.length() <= tamanho ? texto : texto.substring(0, tamanho);
+    }
+
+    // Um requisito distinto do lote: o primeiro item com ele e quantos itens o usam
+    private record Requisito(List<Object> chave, ItemLoteTreinoRequest item, int itens) {
+    }
+
+    private static class Lote {
+
+        private final UUID id;
+        private final GerarTreinosLoteRequest request;
+        private final int total;
+        private final LocalDateTime criadoEm = LocalDateTime.now();
+
+        private volatile LoteTreinoResponse.Status status = LoteTreinoResponse.Status.AGUARDANDO;
+        private volatile int requisitosDistintos;
+        private final AtomicInteger gerados = new AtomicInteger();
+        private final AtomicInteger salvos = new AtomicInteger();
+        private final AtomicInteger falhas = new AtomicInteger();
+        private final UUID[] treinoIds;
+        private final List<String> erros = Collections.synchronizedList(new ArrayList<>());
+        private volatile LocalDateTime concluidoEm;
+
+        private Lote(UUID id, GerarTreinosLoteRequest request) {
+            this.id = id;
+            this.request = request;
+            this.total = request.getTreinos().size();
+            this.treinoIds = new UUID[total];
+        }
+
+        private LoteTreinoResponse toResponse() {
+            List<UUID> ids;
+            synchronized (treinoIds) {
+                ids = new ArrayList<>(Arrays.asList(treinoIds));
+            }
+            List<String> mensagens;
+            synchronized (erros) {
+                mensagens = new ArrayList<>(erros);
+            }
+            return LoteTreinoResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .total(total)
+                    .requisitosDistintos(requisitosDistintos)
+                    .gerados(gerados.get())
+                    .salvos(salvos.get())
+                    .falhas(falhas.get())
+                    .treinoIds(ids)
+                    .erros(mensagens)
+                    .criadoEm(criadoEm)
+                    .concluidoEm(concluidoEm)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package senai.treinomax.api.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado pelo ciclo de verificação, dentro da transação de cada lote, com
+ * as cobranças marcadas como inadimplência processada e os usuários que
+ * perderam o plano por causa delas.
+ */
+@Getter
+@AllArgsConstructor
+public class InadimplenciaProcessadaEvent {
+
+    private final List<UUID> cobrancaIds;
+    private final List<UUID> usuarioIds;
+}
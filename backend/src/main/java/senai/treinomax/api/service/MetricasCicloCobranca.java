@@ -0,0 +1,126 @@
+package senai.treinomax.api.service;
+
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca.Etapa;
+
+/**
+ * Contadores de uma execução do ciclo de verificação de cobranças. As
+ * partições atualizam os mesmos contadores em paralelo.
+ */
+final class MetricasCicloCobranca {
+
+    // Limites superiores, em ms, das faixas do histograma de latência dos lotes; a última faixa não tem limite
+    static final long[] LIMITES_LOTE_MS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000 };
+
+    private final LocalDateTime dataInicio;
+    private final long inicio = System.nanoTime();
+
+    private final LongAdder linhasLidas = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder inadimplencias = new LongAdder();
+    private final LongAdder renovacoes = new LongAdder();
+    private final LongAdder cobrancasGeradas = new LongAdder();
+    private final LongAdder comandosSql = new LongAdder();
+    private final LongAdder nanosInadimplencia = new LongAdder();
+    private final LongAdder nanosRenovacao = new LongAdder();
+    private final AtomicLong maiorLoteNanos = new AtomicLong();
+    private final AtomicLongArray latenciaLotes = new AtomicLongArray(LIMITES_LOTE_MS.length + 1);
+
+    MetricasCicloCobranca(LocalDateTime dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    void registrarLote(int linhas, long nanos) {
+        linhasLidas.add(linhas);
+        lotes.increment();
+        maiorLoteNanos.accumulateAndGet(nanos, Math::max);
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int faixa = 0;
+        while (faixa < LIMITES_LOTE_MS.length && ms > LIMITES_LOTE_MS[faixa]) {
+            faixa++;
+        }
+        latenciaLotes.incrementAndGet(faixa);
+    }
+
+    void somarTempo(Etapa etapa, long nanos) {
+        (etapa == Etapa.INADIMPLENCIA ? nanosInadimplencia : nanosRenovacao).add(nanos);
+    }
+
+    void somarInadimplencias(int quantidade) {
+        inadimplencias.add(quantidade);
+    }
+
+    void somarRenovacoes(int quantidade) {
+        renovacoes.add(quantidade);
+    }
+
+    void somarCobrancasGeradas(int quantidade) {
+        cobrancasGeradas.add(quantidade);
+    }
+
+    LongAdder getComandosSql() {
+        return comandosSql;
+    }
+
+    LocalDateTime getDataInicio() {
+        return dataInicio;
+    }
+
+    long getLinhasLidas() {
+        return linhasLidas.sum();
+    }
+
+    long getLotes() {
+        return lotes.sum();
+    }
+
+    long getInadimplencias() {
+        return inadimplencias.sum();
+    }
+
+    long getRenovacoes() {
+        return renovacoes.sum();
+    }
+
+    long getCobrancasGeradas() {
+        return cobrancasGeradas.sum();
+    }
+
+    long getTotalComandosSql() {
+        return comandosSql.sum();
+    }
+
+    long getTempoInadimplenciaMs() {
+        return TimeUnit.NANOSECONDS.toMillis(nanosInadimplencia.sum());
+    }
+
+    long getTempoRenovacaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(nanosRenovacao.sum());
+    }
+
+    long getMaiorLoteMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maiorLoteNanos.get());
+    }
+
+    long getDuracaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Quantidade de lotes em cada faixa de latência, separadas por vírgula, na
+     * ordem de {@link #LIMITES_LOTE_MS}.
+     */
+    String latenciaLotes() {
+        StringJoiner faixas = new StringJoiner(",");
+        for (int faixa = 0; faixa < latenciaLotes.length(); faixa++) {
+            faixas.add(Long.toString(latenciaLotes.get(faixa)));
+        }
+        return faixas.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package senai.treinomax.api.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica no Micrometer o andamento da execução atual do ciclo de verificação
+ * de cobranças. Os medidores ficam em zero fora de uma execução; a latência
+ * dos lotes é um {@link Timer} com histograma.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonitorCicloCobranca {
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile MetricasCicloCobranca emAndamento;
+    private Timer latenciaLotes;
+
+    @PostConstruct
+    void registrar() {
+        medidor("cobranca.ciclo.em.andamento", "1 enquanto o ciclo está rodando", metricas -> 1);
+        medidor("cobranca.ciclo.duracao", "Segundos desde o início da execução atual",
+                metricas -> metricas.getDuracaoMs() / 1000.0);
+        medidor("cobranca.ciclo.linhas.lidas", "Cobranças lidas na execução atual", MetricasCicloCobranca::getLinhasLidas);
+        medidor("cobranca.ciclo.lotes", "Lotes confirmados na execução atual", MetricasCicloCobranca::getLotes);
+        medidor("cobranca.ciclo.inadimplencias", "Inadimplências processadas na execução atual",
+                MetricasCicloCobranca::getInadimplencias);
+        medidor("cobranca.ciclo.cobrancas.geradas", "Cobranças geradas na execução atual",
+                MetricasCicloCobranca::getCobrancasGeradas);
+        medidor("cobranca.ciclo.comandos.sql", "Comandos SQL enviados na execução atual",
+                MetricasCicloCobranca::getTotalComandosSql);
+        latenciaLotes = Timer.builder("cobranca.ciclo.lote")
+                .description("Latência de cada lote do ciclo, da leitura ao commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    void acompanhar(MetricasCicloCobranca metricas) {
+        emAndamento = metricas;
+    }
+
+    void registrarLote(long nanos) {
+        if (latenciaLotes != null) {
+            latenciaLotes.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void encerrar() {
+        emAndamento = null;
+    }
+
+    private void medidor(String nome, String descricao, ToDoubleFunction<MetricasCicloCobranca> valor) {
+        Gauge.builder(nome, this, monitor -> {
+                    MetricasCicloCobranca metricas = monitor.emAndamento;
+                    return metricas == null ? 0 : valor.applyAsDouble(metricas);
+                })
+                .description(descricao)
+                .register(meterRegistry);
+    }
+}
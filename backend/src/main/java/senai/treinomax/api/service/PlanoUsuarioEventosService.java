@@ -2,21 +2,51 @@ package senai.treinomax.api.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import senai.treinomax.api.auth.config.SecurityUtils;
 import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.config.ContadorComandosSql;
+import senai.treinomax.api.dto.response.MetricasParticaoCobrancaResponse;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca.Etapa;
+import senai.treinomax.api.model.ExecucaoVerificacaoCobranca;
 import senai.treinomax.api.model.PlanoCobranca;
+import senai.treinomax.api.repository.CheckpointVerificacaoCobrancaRepository;
+import senai.treinomax.api.repository.ExecucaoVerificacaoCobrancaRepository;
 import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository.CobrancaPendente;
 import senai.treinomax.api.util.DateUtils;
 
 @Service
@@ -24,55 +54,460 @@ import senai.treinomax.api.util.DateUtils;
 @Slf4j
 public class PlanoUsuarioEventosService {
 
-    private static int batchSize = 50; 
+    // Cobranças processadas por transação no ciclo de verificação
+    @Value("${cobranca.ciclo.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // true: inadimplência processada com UPDATEs em massa; false: linha a linha, entidade por entidade
+    @Value("${cobranca.ciclo.inadimplencia-em-massa:true}")
+    private boolean inadimplenciaEmMassa;
+
+    // true: próximas cobranças de cada lote gravadas num único flush, em lotes JDBC; false: uma a uma
+    @Value("${cobranca.ciclo.renovacao-em-lote:true}")
+    private boolean renovacaoEmLote;
+
+    // Partições do ciclo, cada uma com uma faixa de ids de usuário; 1 processa tudo na thread do job
+    @Value("${cobranca.ciclo.particoes:1}")
+    private int particoes;
+
+    // Partições processadas ao mesmo tempo; cada uma ocupa uma conexão do pool durante o lote
+    @Value("${cobranca.ciclo.threads:4}")
+    private int threads;
+
+    private ThreadPoolExecutor executor;
+
+    private volatile List<MetricasParticaoCobrancaResponse> metricasUltimoCiclo = List.of();
+
+    // Um ciclo por vez nesta instância: as execuções dividem os checkpoints do dia e o monitor
+    private final AtomicBoolean cicloEmExecucao = new AtomicBoolean();
     
     private final UsuarioRepository usuarioRepository;
     private final PlanoCobrancaRepository planoCobrancaRepository;
     private final PlanoUsuarioService planoUsuarioService;
+    private final CheckpointVerificacaoCobrancaRepository checkpointRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecucaoVerificacaoCobrancaRepository execucaoRepository;
+    private final MonitorCicloCobranca monitor;
+    private final ContadoresDashboardService contadoresDashboard;
 
-    @Transactional
+    @PostConstruct
+    void iniciar() {
+        int tamanho = Math.max(1, Math.min(threads, particoes));
+        AtomicInteger contador = new AtomicInteger();
+        // Fila do tamanho de um ciclo: um segundo ciclo simultâneo é recusado
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, particoes)),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "verificacao-cobranca-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Executa as duas etapas do ciclo em lotes, cada um na sua transação. Os
+     * usuários são divididos em partições por faixa de id; cada partição roda
+     * numa thread do executor, com o seu checkpoint, e um usuário pertence a
+     * uma única partição. O checkpoint é gravado na mesma transação de cada
+     * lote; se a execução for interrompida, a próxima execução do mesmo dia
+     * continua da última cobrança confirmada de cada partição. Um ciclo já
+     * concluído recomeça do início. Enquanto um ciclo roda, outra chamada
+     * nesta instância falha com {@link IllegalStateException}.
+     */
     public void executarCicloVerificacaoCobranca(LocalDateTime horarioProcessamento) {
-        processarInadimplencias(horarioProcessamento);
-        gerarNovasCobrancasEAtualizarPlanoUsuario(horarioProcessamento);
+        executarCicloVerificacaoCobranca(horarioProcessamento, () -> {
+        });
     }
 
-    @Transactional
-    public void gerarNovasCobrancasEAtualizarPlanoUsuario(LocalDateTime now) {
-        log.info("Iniciando geração de novas cobranças em {}", now);
-        Pageable pageRequest = PageRequest.of(0, batchSize);
-        Page<PlanoCobranca> page;
-        LocalDate localDateNow = now.toLocalDate();
-        do {
-            page = planoCobrancaRepository.findPagasComProximaNaoGerada(localDateNow, pageRequest);
-            log.info("Processando {} cobranças pagas com próxima não gerada", page.getNumberOfElements());
+    /**
+     * Igual a {@link #executarCicloVerificacaoCobranca(LocalDateTime)}, mas
+     * chama {@code confirmarLote} na transação de cada lote, logo antes do
+     * commit. Se ele lançar, o lote é desfeito, a partição falha e o ciclo
+     * termina com erro; o job usa isso para parar quando perde o bloqueio.
+     */
+    public void executarCicloVerificacaoCobranca(LocalDateTime horarioProcessamento, Runnable confirmarLote) {
+        if (!cicloEmExecucao.compareAndSet(false, true)) {
+            throw new IllegalStateException("Já há um ciclo de verificação de cobranças em execução nesta instância");
+        }
+        try {
+            executarCiclo(horarioProcessamento, confirmarLote);
+        } finally {
+            cicloEmExecucao.set(false);
+        }
+    }
 
-            for (PlanoCobranca cobranca: page.getContent()) {
-                planoUsuarioService.gerarProximaCobranca(cobranca);
+    private void executarCiclo(LocalDateTime horarioProcessamento, Runnable confirmarLote) {
+        MetricasCicloCobranca metricas = new MetricasCicloCobranca(horarioProcessamento);
+        ExecucaoCiclo execucao = new ExecucaoCiclo(metricas, confirmarLote);
+        monitor.acompanhar(metricas);
+        LongAdder contadorAnterior = ContadorComandosSql.iniciar(metricas.getComandosSql());
+        int totalParticoes = 0;
+        String erro = null;
+        try {
+            List<CheckpointVerificacaoCobranca> checkpoints = iniciarOuRetomar(horarioProcessamento);
+            totalParticoes = checkpoints.size();
+
+            List<MetricasParticaoCobrancaResponse> particoesExecutadas = new ArrayList<>(checkpoints.size());
+            if (checkpoints.size() == 1) {
+                particoesExecutadas.add(executarParticao(horarioProcessamento, checkpoints.get(0), execucao));
+            } else {
+                List<Future<MetricasParticaoCobrancaResponse>> execucoes = new ArrayList<>(checkpoints.size());
+                for (CheckpointVerificacaoCobranca checkpoint : checkpoints) {
+                    execucoes.add(executor.submit(() -> executarParticao(horarioProcessamento, checkpoint, execucao)));
+                }
+                for (Future<MetricasParticaoCobrancaResponse> execucao : execucoes) {
+                    particoesExecutadas.add(aguardar(execucao));
+                }
             }
+            metricasUltimoCiclo = List.copyOf(particoesExecutadas);
 
-            pageRequest = pageRequest.next();
-        } while (!page.isLast());
-        log.info("Finalizada geração de novas cobranças");
+            List<MetricasParticaoCobrancaResponse> falhas = particoesExecutadas.stream().filter(m -> !m.getSucesso()).toList();
+            log.info("Ciclo de verificação de {} finalizado: {} partição(ões), {} com falha, {} linha(s) lida(s), "
+                    + "{} inadimplência(s), {} cobrança(s) gerada(s), {} comando(s) SQL",
+                    horarioProcessamento.toLocalDate(), particoesExecutadas.size(), falhas.size(),
+                    metricas.getLinhasLidas(), metricas.getInadimplencias(), metricas.getCobrancasGeradas(),
+                    metricas.getTotalComandosSql());
+            if (!falhas.isEmpty()) {
+                throw new IllegalStateException("Falha em " + falhas.size() + " partição(ões) do ciclo de verificação: "
+                        + falhas.stream().map(m -> m.getParticao() + ": " + m.getErro()).toList());
+            }
+        } catch (RuntimeException e) {
+            erro = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            ContadorComandosSql.restaurar(contadorAnterior);
+            monitor.encerrar();
+            registrarExecucao(metricas, totalParticoes, erro);
+        }
     }
 
-    @Transactional
-    public void processarInadimplencias(LocalDateTime now) {
-        log.info("Iniciando processamento de inadimplências em {}", now);
-        Pageable pageRequest = PageRequest.of(0, batchSize);
-        Page<PlanoCobranca> page;
+    /**
+     * Histórico das execuções do ciclo, da mais recente para a mais antiga.
+     */
+    public Page<ExecucaoVerificacaoCobranca> listarExecucoes(Pageable pageable) {
+        return execucaoRepository.findAllByOrderByDataInicioDesc(pageable);
+    }
+
+    /**
+     * Métricas por partição da última execução do ciclo nesta instância.
+     */
+    public List<MetricasParticaoCobrancaResponse> getMetricasUltimoCiclo() {
+        return metricasUltimoCiclo;
+    }
+
+    private MetricasParticaoCobrancaResponse executarParticao(
+            LocalDateTime horarioProcessamento, CheckpointVerificacaoCobranca checkpoint, ExecucaoCiclo execucao) {
+        MetricasCicloCobranca ciclo = execucao.metricas();
+        long inicio = System.nanoTime();
+        // As partições rodam em threads do executor; cada uma soma seus comandos SQL ao ciclo
+        LongAdder contadorAnterior = ContadorComandosSql.iniciar(ciclo.getComandosSql());
+        String erro = null;
+        try {
+            if (checkpoint.getEtapa() == Etapa.INADIMPLENCIA) {
+                long inicioEtapa = System.nanoTime();
+                processarInadimplencias(horarioProcessamento, checkpoint, execucao);
+                avancarEtapa(checkpoint, Etapa.RENOVACAO);
+                ciclo.somarTempo(Etapa.INADIMPLENCIA, System.nanoTime() - inicioEtapa);
+            }
+            if (checkpoint.getEtapa() == Etapa.RENOVACAO) {
+                long inicioEtapa = System.nanoTime();
+                gerarNovasCobrancasEAtualizarPlanoUsuario(horarioProcessamento, checkpoint, execucao);
+                avancarEtapa(checkpoint, Etapa.CONCLUIDA);
+                ciclo.somarTempo(Etapa.RENOVACAO, System.nanoTime() - inicioEtapa);
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro na partição {} de {} do ciclo de verificação",
+                    checkpoint.getParticao(), checkpoint.getTotalParticoes(), e);
+            erro = e.getMessage();
+        } finally {
+            ContadorComandosSql.restaurar(contadorAnterior);
+        }
+
+        MetricasParticaoCobrancaResponse metricas = MetricasParticaoCobrancaResponse.builder()
+                .particao(checkpoint.getParticao())
+                .totalParticoes(checkpoint.getTotalParticoes())
+                .inadimplenciasProcessadas(checkpoint.getInadimplenciasProcessadas())
+                .renovacoesProcessadas(checkpoint.getRenovacoesProcessadas())
+                .lotesProcessados(checkpoint.getLotesProcessados())
+                .duracaoMs((System.nanoTime() - inicio) / 1_000_000)
+                .sucesso(erro == null)
+                .erro(erro)
+                .build();
+        log.info("Partição {} de {} do ciclo de verificação: {} inadimplência(s), {} renovação(ões), {} lote(s) em {} ms",
+                metricas.getParticao(), metricas.getTotalParticoes(), metricas.getInadimplenciasProcessadas(),
+                metricas.getRenovacoesProcessadas(), metricas.getLotesProcessados(), metricas.getDuracaoMs());
+        return metricas;
+    }
+
+    private static MetricasParticaoCobrancaResponse aguardar(Future<MetricasParticaoCobrancaResponse> execucao) {
+        try {
+            return execucao.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ciclo de verificação interrompido", e);
+        } catch (ExecutionException e) {
+            // executarParticao já trata as exceções do processamento
+            throw new IllegalStateException("Erro inesperado no ciclo de verificação", e.getCause());
+        }
+    }
+
+    void gerarNovasCobrancasEAtualizarPlanoUsuario(LocalDateTime now, CheckpointVerificacaoCobranca checkpoint) {
+        gerarNovasCobrancasEAtualizarPlanoUsuario(now, checkpoint, ExecucaoCiclo.avulsa());
+    }
+
+    private void gerarNovasCobrancasEAtualizarPlanoUsuario(
+            LocalDateTime now, CheckpointVerificacaoCobranca checkpoint, ExecucaoCiclo execucao) {
+        log.info("Iniciando geração de novas cobranças em {} (partição {})", now, checkpoint.getParticao());
         LocalDate localDateNow = now.toLocalDate();
-        do {
-            page = planoCobrancaRepository.findVencidasNaoProcessadas(localDateNow, pageRequest);
-            log.info("Processando {} cobranças vencidas não processadas", page.getNumberOfElements());
-            
-            for (PlanoCobranca cobranca: page.getContent()) {
-                planoUsuarioService.processarInadimplencia(cobranca);
+        FaixaUsuarios faixa = faixa(checkpoint);
+        MetricasCicloCobranca metricas = execucao.metricas();
+        int total = percorrerEmLotes(checkpoint, execucao,
+                (ultimoVencimento, ultimoId, pagina) -> ultimoId == null
+                        ? planoCobrancaRepository.findPagasComProximaNaoGerada(
+                                localDateNow, faixa.getInicio(), faixa.getFim(), pagina)
+                        : planoCobrancaRepository.findPagasComProximaNaoGeradaApos(
+                                localDateNow, faixa.getInicio(), faixa.getFim(), ultimoVencimento, ultimoId, pagina),
+                PlanoCobranca::getDataVencimento, PlanoCobranca::getId,
+                cobrancas -> {
+                    if (renovacaoEmLote) {
+                        metricas.somarCobrancasGeradas(planoUsuarioService.gerarProximasCobrancas(cobrancas).size());
+                    } else {
+                        int geradas = 0;
+                        for (PlanoCobranca cobranca : cobrancas) {
+                            if (planoUsuarioService.gerarProximaCobranca(cobranca)) {
+                                geradas++;
+                            }
+                        }
+                        metricas.somarCobrancasGeradas(geradas);
+                    }
+                },
+                quantidade -> {
+                    checkpoint.setRenovacoesProcessadas(checkpoint.getRenovacoesProcessadas() + quantidade);
+                    metricas.somarRenovacoes(quantidade);
+                });
+        log.info("Finalizada geração de novas cobranças: {} cobrança(s) paga(s) processada(s)", total);
+    }
+
+    void processarInadimplencias(LocalDateTime now, CheckpointVerificacaoCobranca checkpoint) {
+        processarInadimplencias(now, checkpoint, ExecucaoCiclo.avulsa());
+    }
+
+    private void processarInadimplencias(LocalDateTime now, CheckpointVerificacaoCobranca checkpoint, ExecucaoCiclo execucao) {
+        log.info("Iniciando processamento de inadimplências em {} (partição {}, {})", now, checkpoint.getParticao(),
+                inadimplenciaEmMassa ? "em massa" : "linha a linha");
+        LocalDate localDateNow = now.toLocalDate();
+        FaixaUsuarios faixa = faixa(checkpoint);
+        MetricasCicloCobranca metricas = execucao.metricas();
+        IntConsumer somarProcessadas = quantidade -> {
+            checkpoint.setInadimplenciasProcessadas(checkpoint.getInadimplenciasProcessadas() + quantidade);
+            metricas.somarInadimplencias(quantidade);
+        };
+
+        int total;
+        if (inadimplenciaEmMassa) {
+            // Lê só as chaves e atualiza cada lote com UPDATEs, sem carregar as entidades
+            total = percorrerEmLotes(checkpoint, execucao,
+                    (ultimoVencimento, ultimoId, pagina) -> ultimoId == null
+                            ? planoCobrancaRepository.findChavesVencidasNaoProcessadas(
+                                    localDateNow, faixa.getInicio(), faixa.getFim(), pagina)
+                            : planoCobrancaRepository.findChavesVencidasNaoProcessadasApos(
+                                    localDateNow, faixa.getInicio(), faixa.getFim(), ultimoVencimento, ultimoId, pagina),
+                    CobrancaPendente::getDataVencimento, CobrancaPendente::getId,
+                    cobrancas -> publicar(planoUsuarioService.processarInadimplenciasEmMassa(cobrancas)),
+                    somarProcessadas);
+        } else {
+            total = percorrerEmLotes(checkpoint, execucao,
+                    (ultimoVencimento, ultimoId, pagina) -> ultimoId == null
+                            ? planoCobrancaRepository.findVencidasNaoProcessadas(
+                                    localDateNow, faixa.getInicio(), faixa.getFim(), pagina)
+                            : planoCobrancaRepository.findVencidasNaoProcessadasApos(
+                                    localDateNow, faixa.getInicio(), faixa.getFim(), ultimoVencimento, ultimoId, pagina),
+                    PlanoCobranca::getDataVencimento, PlanoCobranca::getId,
+                    cobrancas -> cobrancas.forEach(planoUsuarioService::processarInadimplencia),
+                    somarProcessadas);
+        }
+        log.info("Finalizado processamento de inadimplências: {} cobrança(s) vencida(s) processada(s)", total);
+    }
+
+    // Dentro da transação do lote: ouvintes com @TransactionalEventListener só recebem após o commit
+    private void publicar(ResultadoInadimplencia resultado) {
+        if (resultado.getCobrancaIds().isEmpty()) {
+            return;
+        }
+        log.debug("Inadimplência processada: cobranças {}; usuários sem plano {}",
+                resultado.getCobrancaIds(), resultado.getUsuarioIds());
+        eventPublisher.publishEvent(new InadimplenciaProcessadaEvent(resultado.getCobrancaIds(), resultado.getUsuarioIds()));
+    }
+
+    /**
+     * Checkpoints do ciclo do dia, um por partição. Se o ciclo do dia ficou
+     * pela metade, continua com os checkpoints e a divisão em partições que ele
+     * já tinha; senão recomeça com {@code cobranca.ciclo.particoes} partições.
+     */
+    private List<CheckpointVerificacaoCobranca> iniciarOuRetomar(LocalDateTime horarioProcessamento) {
+        LocalDate dia = horarioProcessamento.toLocalDate();
+        List<CheckpointVerificacaoCobranca> existentes = checkpointRepository.findByDiaExecucaoOrderByParticao(dia);
+        boolean retomar = existentes.stream().anyMatch(checkpoint -> checkpoint.getEtapa() != Etapa.CONCLUIDA);
+        int total = retomar ? existentes.get(0).getTotalParticoes() : Math.max(1, particoes);
+
+        Map<Integer, CheckpointVerificacaoCobranca> porParticao = new HashMap<>();
+        for (CheckpointVerificacaoCobranca existente : existentes) {
+            if (existente.getParticao() < total) {
+                porParticao.put(existente.getParticao(), existente);
+            } else {
+                // Sobra de um ciclo concluído com mais partições
+                checkpointRepository.delete(existente);
+            }
+        }
+
+        List<CheckpointVerificacaoCobranca> checkpoints = new ArrayList<>(total);
+        for (int particao = 0; particao < total; particao++) {
+            CheckpointVerificacaoCobranca checkpoint = porParticao.get(particao);
+            if (retomar && checkpoint != null) {
+                log.info("Retomando partição {} de {} do ciclo de {} na etapa {} após a cobrança ({}, {})",
+                        particao, total, dia, checkpoint.getEtapa(),
+                        checkpoint.getUltimoVencimento(), checkpoint.getUltimoId());
+                checkpoints.add(checkpoint);
+                continue;
+            }
+
+            if (checkpoint == null) {
+                checkpoint = new CheckpointVerificacaoCobranca();
+            }
+            checkpoint.setDiaExecucao(dia);
+            checkpoint.setParticao(particao);
+            checkpoint.setTotalParticoes(total);
+            checkpoint.setEtapa(Etapa.INADIMPLENCIA);
+            checkpoint.setUltimoVencimento(null);
+            checkpoint.setUltimoId(null);
+            checkpoint.setInadimplenciasProcessadas(0);
+            checkpoint.setRenovacoesProcessadas(0);
+            checkpoint.setLotesProcessados(0);
+            checkpoint.setDataInicio(horarioProcessamento);
+            checkpoints.add(checkpointRepository.save(checkpoint));
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Estado de uma execução do ciclo, passado às partições e aos lotes: as
+     * métricas e a confirmação chamada antes do commit de cada lote.
+     */
+    private record ExecucaoCiclo(MetricasCicloCobranca metricas, Runnable confirmarLote) {
+
+        // As etapas também podem ser chamadas fora de uma execução
+        static ExecucaoCiclo avulsa() {
+            return new ExecucaoCiclo(new MetricasCicloCobranca(DateUtils.getCurrentBrazilianLocalDateTime()), () -> {
+            });
+        }
+    }
+
+    private void registrarExecucao(MetricasCicloCobranca metricas, int particoes, String erro) {
+        ExecucaoVerificacaoCobranca execucao = ExecucaoVerificacaoCobranca.builder()
+                .diaExecucao(metricas.getDataInicio().toLocalDate())
+                .dataInicio(metricas.getDataInicio())
+                .dataFim(DateUtils.getCurrentBrazilianLocalDateTime())
+                .sucesso(erro == null)
+                .particoes(particoes)
+                .linhasLidas(metricas.getLinhasLidas())
+                .lotes(metricas.getLotes())
+                .inadimplenciasProcessadas(metricas.getInadimplencias())
+                .renovacoesProcessadas(metricas.getRenovacoes())
+                .cobrancasGeradas(metricas.getCobrancasGeradas())
+                .comandosSql(metricas.getTotalComandosSql())
+                .tempoInadimplenciaMs(metricas.getTempoInadimplenciaMs())
+                .tempoRenovacaoMs(metricas.getTempoRenovacaoMs())
+                .duracaoMs(metricas.getDuracaoMs())
+                .maiorLoteMs(metricas.getMaiorLoteMs())
+                .latenciaLotes(metricas.latenciaLotes())
+                .build();
+        execucao.setMensagemErro(erro);
+        try {
+            execucaoRepository.save(execucao);
+        } catch (RuntimeException e) {
+            // Não esconde o resultado do ciclo por causa do histórico
+            log.error("Erro ao registrar as métricas da execução do ciclo de verificação", e);
+        }
+    }
+
+    private static FaixaUsuarios faixa(CheckpointVerificacaoCobranca checkpoint) {
+        return FaixaUsuarios.daParticao(checkpoint.getParticao(), checkpoint.getTotalParticoes());
+    }
+
+    private void avancarEtapa(CheckpointVerificacaoCobranca checkpoint, Etapa etapa) {
+        checkpoint.setEtapa(etapa);
+        checkpoint.setUltimoVencimento(null);
+        checkpoint.setUltimoId(null);
+        checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Percorre as cobranças em ordem de (dataVencimento, id), buscando cada lote
+     * a partir da última cobrança do lote anterior. Cada cobrança elegível no
+     * início do ciclo é visitada uma única vez, mesmo que o processamento a
+     * tire do filtro da consulta. Cada lote é confirmado junto com o checkpoint;
+     * uma falha desfaz apenas o lote em andamento, inclusive a de
+     * {@code confirmarLote}, chamado por último antes do commit.
+     */
+    private <T> int percorrerEmLotes(
+            CheckpointVerificacaoCobranca checkpoint,
+            ExecucaoCiclo execucao,
+            ConsultaAposChave<T> consulta,
+            Function<T, LocalDate> vencimento,
+            Function<T, UUID> id,
+            Consumer<List<T>> processarLote,
+            IntConsumer somarProcessadas) {
+        Pageable pagina = PageRequest.of(0, tamanhoLote);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        MetricasCicloCobranca metricas = execucao.metricas();
+        Runnable confirmar = execucao.confirmarLote();
+        int total = 0;
+        boolean haMais = true;
+        while (haMais) {
+            long inicio = System.nanoTime();
+            Slice<T> lote = transacao.execute(status -> {
+                Slice<T> atual = consulta.buscar(checkpoint.getUltimoVencimento(), checkpoint.getUltimoId(), pagina);
+                List<T> cobrancas = atual.getContent();
+                if (cobrancas.isEmpty()) {
+                    return atual;
+                }
+
+                log.info("Processando lote de {} cobrança(s)", cobrancas.size());
+                processarLote.accept(cobrancas);
+
+                T ultima = cobrancas.get(cobrancas.size() - 1);
+                checkpoint.setUltimoVencimento(vencimento.apply(ultima));
+                checkpoint.setUltimoId(id.apply(ultima));
+                checkpoint.setLotesProcessados(checkpoint.getLotesProcessados() + 1);
+                somarProcessadas.accept(cobrancas.size());
+                checkpointRepository.save(checkpoint);
+                confirmar.run();
+                return atual;
+            });
+            if (lote.hasContent()) {
+                long duracao = System.nanoTime() - inicio;
+                metricas.registrarLote(lote.getNumberOfElements(), duracao);
+                monitor.registrarLote(duracao);
             }
+            total += lote.getNumberOfElements();
+            haMais = lote.hasNext() && lote.hasContent();
+        }
+        return total;
+    }
 
-            pageRequest = pageRequest.next();
-        } while (!page.isLast());
-        log.info("Finalizado processamento de inadimplências");
+    // Próximo lote depois da chave (ultimoVencimento, ultimoId); chave nula busca o primeiro
+    @FunctionalInterface
+    private interface ConsultaAposChave<T> {
+        Slice<T> buscar(LocalDate ultimoVencimento, UUID ultimoId, Pageable pagina);
     }
+
+    @Transactional
     public void pagarCobranca(UUID cobrancaId) {
         log.info("Iniciando registro de pagamento para cobrança id {}", cobrancaId);
         Optional<PlanoCobranca> cobrancaOpt = this.planoCobrancaRepository.findById(cobrancaId);
@@ -82,6 +517,7 @@ public class PlanoUsuarioEventosService {
         }
 
         PlanoCobranca cobranca = cobrancaOpt.get();
+        boolean jaPaga = Boolean.TRUE.equals(cobranca.getPago());
         log.debug("Estado atual da cobrança antes do pagamento: id={}, pago={}, dataPagamento={}",
                 cobranca.getId(), cobranca.getPago(), cobranca.getDataPagamento());
 
@@ -99,10 +535,15 @@ public class PlanoUsuarioEventosService {
                 
         try {
             this.planoCobrancaRepository.save(cobranca);
+            if (!jaPaga) {
+                contadoresDashboard.pagamentoRegistrado(cobranca.getMesReferencia(), cobranca.getValorCentavos());
+            }
             if (cobranca.getUsuario().getPlano() == null) {
                 cobranca.getUsuario().setPlano(cobranca.getPlano());
                 this.usuarioRepository.save(cobranca.getUsuario());
+                contadoresDashboard.planoAlterado(null, cobranca.getPlano().getId());
             }
+            eventPublisher.publishEvent(new CobrancaAlteradaEvent(cobranca.getDataVencimento()));
             log.info("Pagamento registrado com sucesso para cobrança id {}", cobrancaId);
         } catch (Exception ex) {
             log.error("Erro ao salvar pagamento para cobrança id {}: {}", cobrancaId, ex.getMessage(), ex);
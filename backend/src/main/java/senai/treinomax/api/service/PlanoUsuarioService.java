@@ -2,6 +2,7 @@ package senai.treinomax.api.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import senai.treinomax.api.auth.model.Usuario;
@@ -15,8 +16,13 @@ import senai.treinomax.api.util.DateUtils;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,6 +34,8 @@ public class PlanoUsuarioService {
     private final UsuarioService usuarioService;
     private final PlanoService planoService;
     private final PlanoCobrancaRepository planoCobrancaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContadoresDashboardService contadoresDashboard;
 
     @Transactional
     public void atribuirPlanoAoUsuario(UUID usuarioId, UUID planoId) {
@@ -76,6 +84,7 @@ public class PlanoUsuarioService {
 
             usuario.setProximoPlano(null);
             planoCobrancaRepository.save(planoCobranca);
+            eventPublisher.publishEvent(new CobrancaAlteradaEvent(dataVencimento));
 
             log.info("Plano {} atribuído imediatamente ao usuário {} com vencimento em {}",
                     plano.getNome(), usuario.getEmail(), dataVencimento);
@@ -113,6 +122,7 @@ public class PlanoUsuarioService {
         }
 
         String planoNome = usuario.getPlano().getNome();
+        contadoresDashboard.planoAlterado(usuario.getPlano().getId(), null);
         usuario.setPlano(null);
         usuarioService.salvar(usuario);
 
@@ -167,6 +177,7 @@ public class PlanoUsuarioService {
         }
 
         String planoAnterior = usuario.getPlano() != null ? usuario.getPlano().getNome() : "Nenhum";
+        contadoresDashboard.planoAlterado(idDoPlano(usuario.getPlano()), novoPlano.getId());
         usuario.setPlano(novoPlano);
         usuarioService.salvar(usuario);
 
@@ -209,6 +220,7 @@ public class PlanoUsuarioService {
             usuario.setPlano(null);
             usuarioService.salvar(usuario);
         }
+        contadoresDashboard.planosRemovidos(Map.of(planoId, (long) usuarios.size()));
 
         log.info("Plano {} removido de {} usuários", planoId, usuarios.size());
         return usuarios.size();
@@ -228,6 +240,7 @@ public class PlanoUsuarioService {
         List<Usuario> usuarios = listarUsuariosPorPlano(planoOrigemId);
 
         for (Usuario usuario : usuarios) {
+            contadoresDashboard.planoAlterado(planoOrigemId, planoDestinoId);
             usuario.setPlano(planoDestino);
             usuarioService.salvar(usuario);
         }
@@ -248,6 +261,7 @@ public class PlanoUsuarioService {
         
         cobranca.setInadimplenciaProcessada(true);
         Usuario usuario = cobranca.getUsuario();
+        contadoresDashboard.planoAlterado(idDoPlano(usuario.getPlano()), null);
         usuario.setPlano(null);
         usuario.setProximoPlano(null);
         
@@ -257,18 +271,116 @@ public class PlanoUsuarioService {
         log.info("Inadimplência processada para usuário {}: plano removido", usuario.getEmail());
     }
 
+    /**
+     * Processa a inadimplência de várias cobranças com UPDATEs, sem carregar
+     * cobranças nem usuários. Primeiro marca as cobranças, o que deixa de fora
+     * as pagas ou já processadas desde a leitura; depois remove o plano só dos
+     * donos das cobranças marcadas, um UPDATE por plano, e ajusta os contadores
+     * do dashboard pelo número de linhas que cada UPDATE alterou.
+     * {@link #processarInadimplencia} continua disponível para o processamento
+     * linha a linha.
+     */
     @Transactional
-    public void gerarProximaCobranca(PlanoCobranca cobranca) {
+    public ResultadoInadimplencia processarInadimplenciasEmMassa(List<PlanoCobrancaRepository.CobrancaPendente> cobrancas) {
+        if (cobrancas.isEmpty()) {
+            return new ResultadoInadimplencia(List.of(), List.of());
+        }
+
+        List<UUID> cobrancaIds = cobrancas.stream().map(PlanoCobrancaRepository.CobrancaPendente::getId).toList();
+        LocalDateTime agora = DateUtils.getCurrentBrazilianLocalDateTime();
+
+        int cobrancasAtualizadas = planoCobrancaRepository.marcarInadimplenciaProcessada(cobrancaIds, agora);
+        List<UUID> processadas = cobrancaIds;
+        if (cobrancasAtualizadas < cobrancaIds.size()) {
+            // Alguma cobrança foi paga ou processada entre a leitura e o UPDATE
+            Set<UUID> atualizadas = new HashSet<>(planoCobrancaRepository.findIdsComInadimplenciaProcessada(cobrancaIds));
+            processadas = cobrancaIds.stream().filter(atualizadas::contains).toList();
+        }
+        Set<UUID> idsProcessados = new HashSet<>(processadas);
+        List<UUID> usuarioIds = cobrancas.stream()
+                .filter(cobranca -> idsProcessados.contains(cobranca.getId()))
+                .map(PlanoCobrancaRepository.CobrancaPendente::getUsuarioId)
+                .distinct()
+                .toList();
+
+        int usuariosAtualizados = 0;
+        if (!usuarioIds.isEmpty()) {
+            Map<UUID, Long> membrosRemovidos = new HashMap<>();
+            for (UUID planoId : planoCobrancaRepository.findPlanoIdsDosUsuarios(usuarioIds)) {
+                int removidos = planoCobrancaRepository.removerPlanoDosUsuarios(usuarioIds, planoId, agora);
+                if (removidos > 0) {
+                    membrosRemovidos.put(planoId, (long) removidos);
+                    usuariosAtualizados += removidos;
+                }
+            }
+            planoCobrancaRepository.removerProximoPlanoDosUsuarios(usuarioIds, agora);
+            contadoresDashboard.planosRemovidos(membrosRemovidos);
+        }
+
+        log.info("Inadimplência processada em massa: {} cobrança(s), {} usuário(s) sem plano",
+                cobrancasAtualizadas, usuariosAtualizados);
+        return new ResultadoInadimplencia(processadas, usuarioIds);
+    }
+
+    /**
+     * Gera a cobrança do mês seguinte. Retorna {@code false} quando não havia
+     * próxima cobrança a gerar.
+     */
+    @Transactional
+    public boolean gerarProximaCobranca(PlanoCobranca cobranca) {
         log.debug("Tentando gerar próxima cobrança para cobrança {}", cobranca.getId());
 
+        PlanoCobranca novaCobranca = montarProximaCobranca(cobranca, DateUtils.getCurrentBrazilianLocalDate());
+        if (novaCobranca == null) {
+            return false;
+        }
+
+        this.usuarioRepository.save(cobranca.getUsuario());
+        this.planoCobrancaRepository.save(cobranca);
+        this.planoCobrancaRepository.save(novaCobranca);
+        
+        log.info("Gerada próxima cobrança para usuário {} com vencimento em {} no valor de {} centavos", 
+            novaCobranca.getUsuario().getEmail(), novaCobranca.getDataVencimento(), novaCobranca.getValorCentavos());
+        return true;
+    }
+
+    /**
+     * Gera as próximas cobranças de um lote de cobranças pagas. As cobranças e
+     * os usuários devem ter sido carregados na transação atual: as alterações
+     * neles e as novas cobranças são gravadas juntas no flush, agrupadas em
+     * lotes JDBC (ver {@code hibernate.jdbc.batch_size}). Os ids UUID são
+     * gerados na aplicação, sem consulta ao banco por linha.
+     */
+    @Transactional
+    public List<PlanoCobranca> gerarProximasCobrancas(List<PlanoCobranca> cobrancas) {
+        LocalDate hoje = DateUtils.getCurrentBrazilianLocalDate();
+        List<PlanoCobranca> novasCobrancas = new ArrayList<>(cobrancas.size());
+        for (PlanoCobranca cobranca : cobrancas) {
+            PlanoCobranca novaCobranca = montarProximaCobranca(cobranca, hoje);
+            if (novaCobranca != null) {
+                novasCobrancas.add(novaCobranca);
+            }
+        }
+
+        planoCobrancaRepository.saveAll(novasCobrancas);
+        log.info("Geradas {} próxima(s) cobrança(s) a partir de {} cobrança(s) paga(s)",
+                novasCobrancas.size(), cobrancas.size());
+        return novasCobrancas;
+    }
+
+    /**
+     * Atualiza a cobrança paga e o usuário e monta, sem salvar, a cobrança do
+     * mês seguinte. Retorna {@code null} quando não há próxima cobrança a gerar.
+     */
+    private PlanoCobranca montarProximaCobranca(PlanoCobranca cobranca, LocalDate hoje) {
         if (!cobranca.getPago()) {
             log.debug("Cobrança {} não está paga, não será gerada próxima cobrança", cobranca.getId());
-            return;
+            return null;
         }
 
-        if (cobranca.getDataVencimento().isAfter(DateUtils.getCurrentBrazilianLocalDate())) {
+        if (cobranca.getDataVencimento().isAfter(hoje)) {
             log.debug("Cobrança {} ainda não venceu, não será gerada próxima cobrança", cobranca.getId());
-            return;
+            return null;
         }
 
         Usuario usuario = cobranca.getUsuario();
@@ -287,7 +399,7 @@ public class PlanoUsuarioService {
 
         if (proximoPlano == null) {
             log.debug("Usuário {} não possui plano ativo, não será gerada próxima cobrança", usuario.getEmail());
-            return;
+            return null;
         }
 
         PlanoCobranca novaCobranca = PlanoCobranca.builder()
@@ -303,15 +415,13 @@ public class PlanoUsuarioService {
      
         cobranca.setProximaCobrancaGerada(true);
         
+        contadoresDashboard.planoAlterado(idDoPlano(usuario.getPlano()), idDoPlano(cobranca.getPlano()));
         usuario.setPlano(cobranca.getPlano());
-
-        this.usuarioRepository.save(usuario);
-        this.planoCobrancaRepository.save(cobranca);
-        this.planoCobrancaRepository.save(novaCobranca);
-        
-        log.info("Gerada próxima cobrança para usuário {} com vencimento em {} no valor de {} centavos", 
-            usuario.getEmail(), novaCobranca.getDataVencimento(), novaCobranca.getValorCentavos());
+        return novaCobranca;
     }
 
+    private static UUID idDoPlano(Plano plano) {
+        return plano != null ? plano.getId() : null;
+    }
 
 }
\ No newline at end of file
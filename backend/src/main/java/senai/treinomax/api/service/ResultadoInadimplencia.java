@@ -0,0 +1,19 @@
+package senai.treinomax.api.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cobranças marcadas como inadimplência processada e usuários que perderam o
+ * plano num processamento em massa.
+ */
+@Getter
+@AllArgsConstructor
+public class ResultadoInadimplencia {
+
+    private final List<UUID> cobrancaIds;
+    private final List<UUID> usuarioIds;
+}
@@ -0,0 +1,108 @@
+package senai.treinomax.api.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import senai.treinomax.api.dto.request.SimularCobrancasRequest;
+import senai.treinomax.api.dto.response.SimulacaoCobrancaResponse;
+import senai.treinomax.api.model.Plano;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository.CobrancaEmAberto;
+import senai.treinomax.api.repository.PlanoRepository;
+
+/**
+ * Simula os próximos ciclos de verificação de cobranças com reajustes de
+ * preço e migrações de plano hipotéticos. O estado atual é lido do banco uma
+ * vez, numa transação somente leitura, e a simulação roda em memória; nada é
+ * gravado.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimulacaoCobrancaService {
+
+    private final PlanoRepository planoRepository;
+    private final PlanoCobrancaRepository planoCobrancaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Clock relogio;
+
+    public SimulacaoCobrancaResponse simular(SimularCobrancasRequest request) {
+        List<Plano> planos = planoRepository.findAll();
+        if (planos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum plano cadastrado para simular");
+        }
+        Map<UUID, Integer> indices = new HashMap<>();
+        int[] precosCentavos = new int[planos.size()];
+        for (int i = 0; i < planos.size(); i++) {
+            indices.put(planos.get(i).getId(), i);
+            precosCentavos[i] = planos.get(i).getPrecoCentavos();
+        }
+
+        request.getPrecosCentavos().forEach((planoId, preco) -> {
+            if (preco == null || preco < 0) {
+                throw new IllegalArgumentException("O preço não pode ser negativo");
+            }
+            precosCentavos[indice(indices, planoId)] = preco;
+        });
+        Clock relogioSimulacao = request.getDataInicio() == null
+                ? relogio
+                : Clock.fixed(request.getDataInicio().atStartOfDay(relogio.getZone()).toInstant(), relogio.getZone());
+        LocalDate hoje = LocalDate.now(relogioSimulacao);
+
+        EstadoCobrancas estado = request.getMembrosSinteticos() != null
+                ? EstadoCobrancas.sintetico(request.getMembrosSinteticos(), precosCentavos, hoje, request.getSemente())
+                : carregarEstado(indices);
+        // Como PlanoUsuarioService.migrarUsuariosEntrePlanos: troca o plano atual dos usuários
+        request.getMigracoes().forEach((origem, destino) ->
+                estado.migrarPlano(indice(indices, origem), indice(indices, destino)));
+
+        log.info("Simulando {} ciclo(s) de cobrança para {} membro(s) a partir de {}",
+                request.getCiclos(), estado.getTamanho(), hoje);
+        SimulacaoCobrancaResponse resposta = new SimuladorCobranca(relogioSimulacao).simular(
+                estado, precosCentavos, request.getCiclos(), request.getTaxaPagamento(), request.getSemente());
+        log.info("Simulação concluída em {} ms: receita prevista de {} centavos",
+                resposta.getDuracaoMs(), resposta.getReceitaPrevistaCentavos());
+        return resposta;
+    }
+
+    private EstadoCobrancas carregarEstado(Map<UUID, Integer> indices) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        return transacao.execute(status -> {
+            EstadoCobrancas estado = new EstadoCobrancas(1024);
+            try (Stream<CobrancaEmAberto> cobrancas = planoCobrancaRepository.streamCobrancasEmAberto()) {
+                cobrancas.forEach(cobranca -> estado.adicionar(
+                        indiceOuSemPlano(indices, cobranca.getPlanoUsuarioId()),
+                        indiceOuSemPlano(indices, cobranca.getProximoPlanoId()),
+                        indices.get(cobranca.getPlanoId()),
+                        cobranca.getDataVencimento(),
+                        cobranca.getValorCentavos(),
+                        cobranca.getPago()));
+            }
+            return estado;
+        });
+    }
+
+    private static int indice(Map<UUID, Integer> indices, UUID planoId) {
+        Integer indice = indices.get(planoId);
+        if (indice == null) {
+            throw new IllegalArgumentException("Plano não encontrado: " + planoId);
+        }
+        return indice;
+    }
+
+    private static int indiceOuSemPlano(Map<UUID, Integer> indices, UUID planoId) {
+        return planoId == null ? EstadoCobrancas.SEM_PLANO : indices.get(planoId);
+    }
+}
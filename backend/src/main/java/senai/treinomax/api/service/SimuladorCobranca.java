@@ -0,0 +1,154 @@
+package senai.treinomax.api.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import senai.treinomax.api.dto.response.CicloSimuladoResponse;
+import senai.treinomax.api.dto.response.SimulacaoCobrancaResponse;
+import senai.treinomax.api.util.DateUtils;
+
+/**
+ * Projeta os próximos ciclos de verificação de cobranças sobre um
+ * {@link EstadoCobrancas}, sem banco e sem alterar o estado.
+ *
+ * Reproduz as regras de {@link PlanoUsuarioService#processarInadimplencia} e
+ * {@link PlanoUsuarioService#gerarProximaCobranca}: a cobrança entra no ciclo
+ * no dia seguinte ao vencimento; se não foi paga o membro perde o plano, se
+ * foi paga é gerada a do mês seguinte, no próximo plano quando houver e com o
+ * preço do plano atual. Os membros não interferem uns nos outros, então cada
+ * um é simulado até o fim do horizonte de uma vez.
+ *
+ * O dia inicial vem do {@link Clock}, e não de {@link DateUtils}, para simular
+ * a partir de qualquer data. Se uma cobrança será paga é sorteado com
+ * {@code taxaPagamento}, tanto para as geradas na simulação quanto para a
+ * cobrança atual em aberto que ainda não venceu; só a que já venceu sem
+ * pagamento é dada como inadimplente. O sorteio depende só da semente, do
+ * membro e da cobrança, então o resultado é reprodutível.
+ */
+final class SimuladorCobranca {
+
+    private final Clock relogio;
+
+    SimuladorCobranca(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Simula do dia atual até o fim do {@code ciclos}-ésimo mês, contando o
+     * mês corrente como o primeiro. {@code precosCentavos} é o preço de cada
+     * plano, já com os reajustes a simular.
+     */
+    SimulacaoCobrancaResponse simular(EstadoCobrancas estado, int[] precosCentavos, int ciclos,
+            double taxaPagamento, long semente) {
+        long inicio = System.nanoTime();
+        LocalDate hoje = LocalDate.now(relogio);
+        YearMonth primeiroMes = YearMonth.from(hoje);
+        long diaInicial = hoje.toEpochDay();
+        long diaFinal = primeiroMes.plusMonths(ciclos).atDay(1).toEpochDay();
+
+        long[] cobrancasGeradas = new long[ciclos];
+        long[] planosRemovidos = new long[ciclos];
+        long[] receitaPrevista = new long[ciclos];
+        long[] inadimplenciaPrevista = new long[ciclos];
+        int comPlanoAoFinal = 0;
+
+        for (int membro = 0; membro < estado.getTamanho(); membro++) {
+            int plano = estado.plano(membro);
+            int proximoPlano = estado.proximoPlano(membro);
+            int planoCobranca = estado.planoCobranca(membro);
+            long vencimento = estado.vencimento(membro);
+            int valor = estado.valorCentavos(membro);
+            boolean pago = estado.pago(membro);
+            int geradas = 0;
+            if (!pago && vencimento >= diaInicial) {
+                // Ainda dentro do prazo: pode ser paga até o vencimento
+                pago = sortear(semente, membro, 0) < taxaPagamento;
+            }
+
+            while (true) {
+                if (vencimento >= diaInicial && vencimento < diaFinal) {
+                    int mes = mes(primeiroMes, vencimento);
+                    if (pago) {
+                        receitaPrevista[mes] += valor;
+                    } else {
+                        inadimplenciaPrevista[mes] += valor;
+                    }
+                }
+
+                long diaProcessamento = Math.max(vencimento + 1, diaInicial);
+                if (diaProcessamento >= diaFinal) {
+                    break;
+                }
+                int mes = mes(primeiroMes, diaProcessamento);
+
+                if (!pago) {
+                    // processarInadimplencia
+                    if (plano != EstadoCobrancas.SEM_PLANO) {
+                        planosRemovidos[mes]++;
+                    }
+                    plano = EstadoCobrancas.SEM_PLANO;
+                    proximoPlano = EstadoCobrancas.SEM_PLANO;
+                    break;
+                }
+
+                // montarProximaCobranca
+                int novoPlano = proximoPlano == EstadoCobrancas.SEM_PLANO ? plano : proximoPlano;
+                proximoPlano = EstadoCobrancas.SEM_PLANO;
+                if (novoPlano == EstadoCobrancas.SEM_PLANO) {
+                    break;
+                }
+                // O serviço usa o preço do plano atual do usuário; sem plano atual ele falharia,
+                // aqui cai no preço do novo plano
+                valor = precosCentavos[plano != EstadoCobrancas.SEM_PLANO ? plano : novoPlano];
+                plano = planoCobranca;
+                planoCobranca = novoPlano;
+                vencimento = DateUtils.calcularProximoVencimento(LocalDate.ofEpochDay(vencimento)).toEpochDay();
+                pago = sortear(semente, membro, ++geradas) < taxaPagamento;
+                cobrancasGeradas[mes]++;
+            }
+
+            if (plano != EstadoCobrancas.SEM_PLANO) {
+                comPlanoAoFinal++;
+            }
+        }
+
+        List<CicloSimuladoResponse> resultado = new ArrayList<>(ciclos);
+        long receitaTotal = 0;
+        for (int mes = 0; mes < ciclos; mes++) {
+            receitaTotal += receitaPrevista[mes];
+            resultado.add(CicloSimuladoResponse.builder()
+                    .mes(primeiroMes.plusMonths(mes))
+                    .cobrancasGeradas(cobrancasGeradas[mes])
+                    .planosRemovidos(planosRemovidos[mes])
+                    .receitaPrevistaCentavos(receitaPrevista[mes])
+                    .inadimplenciaPrevistaCentavos(inadimplenciaPrevista[mes])
+                    .build());
+        }
+
+        return SimulacaoCobrancaResponse.builder()
+                .dataInicio(hoje)
+                .membros(estado.getTamanho())
+                .membrosComPlanoAoFinal(comPlanoAoFinal)
+                .receitaPrevistaCentavos(receitaTotal)
+                .duracaoMs((System.nanoTime() - inicio) / 1_000_000)
+                .ciclos(resultado)
+                .build();
+    }
+
+    private static int mes(YearMonth primeiroMes, long diaEpoch) {
+        LocalDate dia = LocalDate.ofEpochDay(diaEpoch);
+        return (dia.getYear() - primeiroMes.getYear()) * 12 + dia.getMonthValue() - primeiroMes.getMonthValue();
+    }
+
+    // SplitMix64 sobre (semente, membro, cobrança), convertido para [0, 1)
+    private static double sortear(long semente, int membro, int cobranca) {
+        long z = semente + membro * 0x9E3779B97F4A7C15L + cobranca * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
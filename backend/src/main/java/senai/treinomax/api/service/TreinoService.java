@@ -9,7 +9,6 @@ import senai.treinomax.api.auth.model.ItemTreino;
 import senai.treinomax.api.auth.model.Treino;
 import senai.treinomax.api.auth.model.Usuario;
 import senai.treinomax.api.auth.repository.UsuarioRepository;
-import senai.treinomax.api.repository.ExercicioRepository;
 import senai.treinomax.api.repository.TreinoRepository;
 
 import java.util.ArrayList;
@@ -24,7 +23,7 @@ public class TreinoService {
 
     private final TreinoRepository treinoRepository;
     private final UsuarioRepository usuarioRepository;
-    private final ExercicioRepository exercicioRepository;
+    private final CatalogoExerciciosService catalogoExerciciosService;
 
     @Transactional
     public Treino criarTreino(Treino treino, UUID usuarioId, List<Map<String, Object>> itensRequest) {
@@ -34,6 +33,7 @@ public class TreinoService {
 
         // Processar itens do treino
         if (itensRequest != null && !itensRequest.isEmpty()) {
+            CatalogoExercicios catalogo = catalogoExerciciosService.getCatalogo();
             List<ItemTreino> itens = new ArrayList<>();
             for (Map<String, Object> itemMap : itensRequest) {
                 ItemTreino item = new ItemTreino();
@@ -47,7 +47,7 @@ public class TreinoService {
                     exercicioId = UUID.fromString(exercicioObj.toString());
                 }
 
-                Exercicio exercicio = exercicioRepository.findById(exercicioId)
+                Exercicio exercicio = catalogo.buscarPorId(exercicioId)
                         .orElseThrow(() -> new RuntimeException("Exercício não encontrado: " + exercicioId));
                 item.setExercicio(exercicio);
 
@@ -106,6 +106,7 @@ public class TreinoService {
                     treino.getItens().clear();
 
                     if (itensRequest != null && !itensRequest.isEmpty()) {
+                        CatalogoExercicios catalogo = catalogoExerciciosService.getCatalogo();
                         for (Map<String, Object> itemMap : itensRequest) {
                             // Criar novo item (orphanRemoval remove os antigos ao limpar)
                             ItemTreino item = new ItemTreino();
@@ -119,7 +120,7 @@ public class TreinoService {
                                 exercicioId = UUID.fromString(exercicioObj.toString());
                             }
 
-                            Exercicio exercicio = exercicioRepository.findById(exercicioId)
+                            Exercicio exercicio = catalogo.buscarPorId(exercicioId)
                                     .orElseThrow(
                                             () -> new RuntimeException("Exercício não encontrado: " + exercicioId));
                             item.setExercicio(exercicio);
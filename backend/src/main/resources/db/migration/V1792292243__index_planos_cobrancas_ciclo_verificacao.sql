@@ -0,0 +1,17 @@
+-- =====================================================
+-- Migration: index_planos_cobrancas_ciclo_verificacao
+-- Author: agent
+-- Created: 2026-10-18 02:57:23
+-- Version: V1792292243
+-- =====================================================
+
+-- Índices para a paginação por (data_vencimento, id) do ciclo de verificação de cobranças.
+-- Parciais: cobrem apenas as linhas ainda pendentes em cada etapa do ciclo.
+
+CREATE INDEX IF NOT EXISTS idx_planos_cobrancas_vencidas_pendentes
+    ON planos_cobrancas (data_vencimento, id)
+    WHERE pago = FALSE AND inadimplencia_processada = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_planos_cobrancas_pagas_sem_proxima
+    ON planos_cobrancas (data_vencimento, id)
+    WHERE pago = TRUE AND proxima_cobranca_gerada = FALSE;
@@ -0,0 +1,30 @@
+-- =====================================================
+-- Migration: create_checkpoints_verificacao_cobranca
+-- Author: agent
+-- Created: 2026-10-18 02:59:08
+-- Version: V1792292348
+-- =====================================================
+
+-- Progresso do ciclo de verificação de cobranças, gravado a cada lote confirmado
+CREATE TABLE checkpoints_verificacao_cobranca (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    dia_execucao DATE NOT NULL,
+    etapa VARCHAR(20) NOT NULL,
+
+    ultimo_vencimento DATE NULL,
+    ultimo_id UUID NULL,
+
+    inadimplencias_processadas INTEGER NOT NULL DEFAULT 0,
+    renovacoes_processadas INTEGER NOT NULL DEFAULT 0,
+    lotes_processados INTEGER NOT NULL DEFAULT 0,
+
+    data_inicio TIMESTAMP NOT NULL,
+    data_atualizacao TIMESTAMP NOT NULL DEFAULT (NOW() AT TIME ZONE 'America/Sao_Paulo'),
+
+    CONSTRAINT uq_checkpoint_verificacao_cobranca_dia UNIQUE (dia_execucao)
+);
+
+COMMENT ON TABLE checkpoints_verificacao_cobranca IS 'Progresso do ciclo de verificação de cobranças por dia, usado para retomar execuções interrompidas.';
+COMMENT ON COLUMN checkpoints_verificacao_cobranca.etapa IS 'Etapa atual: INADIMPLENCIA, RENOVACAO ou CONCLUIDA.';
+COMMENT ON COLUMN checkpoints_verificacao_cobranca.ultimo_vencimento IS 'Data de vencimento da última cobrança processada na etapa atual.';
+COMMENT ON COLUMN checkpoints_verificacao_cobranca.ultimo_id IS 'Id da última cobrança processada na etapa atual.';
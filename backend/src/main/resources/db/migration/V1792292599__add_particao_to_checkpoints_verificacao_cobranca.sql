@@ -0,0 +1,20 @@
+-- =====================================================
+-- Migration: add_particao_to_checkpoints_verificacao_cobranca
+-- Author: agent
+-- Created: 2026-10-18 03:03:19
+-- Version: V1792292599
+-- =====================================================
+
+-- Um checkpoint por partição do ciclo de verificação de cobranças
+ALTER TABLE checkpoints_verificacao_cobranca
+ADD COLUMN particao INTEGER NOT NULL DEFAULT 0,
+ADD COLUMN total_particoes INTEGER NOT NULL DEFAULT 1;
+
+ALTER TABLE checkpoints_verificacao_cobranca
+DROP CONSTRAINT uq_checkpoint_verificacao_cobranca_dia;
+
+ALTER TABLE checkpoints_verificacao_cobranca
+ADD CONSTRAINT uq_checkpoint_verificacao_cobranca_dia_particao UNIQUE (dia_execucao, particao);
+
+COMMENT ON COLUMN checkpoints_verificacao_cobranca.particao IS 'Partição da faixa de ids de usuário processada por este checkpoint.';
+COMMENT ON COLUMN checkpoints_verificacao_cobranca.total_particoes IS 'Quantidade de partições em que o ciclo do dia foi dividido.';
@@ -0,0 +1,21 @@
+-- =====================================================
+-- Migration: create_bloqueios_tarefas
+-- Author: agent
+-- Created: 2026-10-18 03:06:11
+-- Version: V1792292771
+-- =====================================================
+
+-- Bloqueio com prazo (lease) das tarefas agendadas: só a instância dona executa
+CREATE TABLE bloqueios_tarefas (
+    nome VARCHAR(100) PRIMARY KEY,
+    dono VARCHAR(200),
+    expira_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO bloqueios_tarefas (nome, dono)
+VALUES ('MENSAL_VERIFICAR_PLANOS', NULL);
+
+COMMENT ON TABLE bloqueios_tarefas IS 'Bloqueios das tarefas agendadas entre instâncias do backend.';
+COMMENT ON COLUMN bloqueios_tarefas.dono IS 'Instância que detém o bloqueio; nulo quando liberado.';
+COMMENT ON COLUMN bloqueios_tarefas.expira_em IS 'Depois deste horário o bloqueio pode ser assumido por outra instância. Calculado pelo relógio do banco.';
@@ -0,0 +1,39 @@
+-- =====================================================
+-- Migration: create_execucoes_verificacao_cobranca
+-- Author: agent
+-- Created: 2026-10-18 03:13:50
+-- Version: V1792293230
+-- =====================================================
+
+-- Histórico das execuções do ciclo de verificação de cobranças, com as métricas de cada uma
+CREATE TABLE execucoes_verificacao_cobranca (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    dia_execucao DATE NOT NULL,
+    data_inicio TIMESTAMP NOT NULL,
+    data_fim TIMESTAMP NOT NULL,
+    sucesso BOOLEAN NOT NULL,
+    mensagem_erro VARCHAR(1000) NULL,
+    particoes INTEGER NOT NULL,
+
+    linhas_lidas BIGINT NOT NULL DEFAULT 0,
+    lotes BIGINT NOT NULL DEFAULT 0,
+    inadimplencias_processadas BIGINT NOT NULL DEFAULT 0,
+    renovacoes_processadas BIGINT NOT NULL DEFAULT 0,
+    cobrancas_geradas BIGINT NOT NULL DEFAULT 0,
+    comandos_sql BIGINT NOT NULL DEFAULT 0,
+
+    tempo_inadimplencia_ms BIGINT NOT NULL DEFAULT 0,
+    tempo_renovacao_ms BIGINT NOT NULL DEFAULT 0,
+    duracao_ms BIGINT NOT NULL DEFAULT 0,
+    maior_lote_ms BIGINT NOT NULL DEFAULT 0,
+    latencia_lotes VARCHAR(200) NOT NULL
+);
+
+CREATE INDEX idx_execucoes_verificacao_cobranca_data_inicio
+    ON execucoes_verificacao_cobranca (data_inicio DESC);
+
+COMMENT ON TABLE execucoes_verificacao_cobranca IS 'Métricas de cada execução do ciclo de verificação de cobranças.';
+COMMENT ON COLUMN execucoes_verificacao_cobranca.comandos_sql IS 'Comandos SQL enviados ao banco durante a execução; um lote JDBC conta uma vez.';
+COMMENT ON COLUMN execucoes_verificacao_cobranca.tempo_inadimplencia_ms IS 'Tempo da etapa de inadimplência somado entre as partições.';
+COMMENT ON COLUMN execucoes_verificacao_cobranca.tempo_renovacao_ms IS 'Tempo da etapa de renovação somado entre as partições.';
+COMMENT ON COLUMN execucoes_verificacao_cobranca.latencia_lotes IS 'Lotes por faixa de latência (até 10, 25, 50, 100, 250, 500, 1000, 2500, 5000 ms e acima), separados por vírgula.';
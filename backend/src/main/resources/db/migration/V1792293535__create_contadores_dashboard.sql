@@ -0,0 +1,32 @@
+-- =====================================================
+-- Migration: create_contadores_dashboard
+-- Author: agent
+-- Created: 2026-10-18 03:18:55
+-- Version: V1792293535
+-- =====================================================
+
+-- Contadores do dashboard do administrador, atualizados a cada alteração e recontados periodicamente
+CREATE TABLE contadores_dashboard (
+    chave VARCHAR(100) PRIMARY KEY,
+    valor BIGINT NOT NULL DEFAULT 0,
+    data_atualizacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO contadores_dashboard (chave, valor)
+SELECT 'membros', COUNT(*) FROM usuarios;
+
+INSERT INTO contadores_dashboard (chave, valor)
+SELECT 'membros.plano.' || CAST(plano_id AS VARCHAR), COUNT(*)
+FROM usuarios
+WHERE plano_id IS NOT NULL
+GROUP BY plano_id;
+
+INSERT INTO contadores_dashboard (chave, valor)
+SELECT 'receita.' || mes_referencia, SUM(valor_centavos)
+FROM planos_cobrancas
+WHERE pago = true
+GROUP BY mes_referencia;
+
+COMMENT ON TABLE contadores_dashboard IS 'Totais do dashboard mantidos de forma incremental.';
+COMMENT ON COLUMN contadores_dashboard.chave IS 'membros, membros.plano.<id do plano> ou receita.<AAAA-MM>.';
+COMMENT ON COLUMN contadores_dashboard.valor IS 'Quantidade de membros ou receita em centavos.';
@@ -0,0 +1,21 @@
+-- =====================================================
+-- Migration: create_revogacoes_tokens
+-- Author: agent
+-- Created: 2026-10-18 03:22:20
+-- Version: V1792293740
+-- =====================================================
+
+-- Revogação dos tokens de acesso por usuário: tokens emitidos antes de revogado_em são recusados
+CREATE TABLE revogacoes_tokens (
+    usuario_id UUID PRIMARY KEY,
+    revogado_em TIMESTAMP NOT NULL,
+    motivo VARCHAR(50) NOT NULL,
+    CONSTRAINT fk_revogacoes_tokens_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
+
+-- Cada instância busca periodicamente as revogações mais recentes
+CREATE INDEX idx_revogacoes_tokens_revogado_em ON revogacoes_tokens (revogado_em);
+
+COMMENT ON TABLE revogacoes_tokens IS 'Última revogação dos tokens de acesso de cada usuário.';
+COMMENT ON COLUMN revogacoes_tokens.revogado_em IS 'Tokens com iat anterior a este horário são recusados.';
+COMMENT ON COLUMN revogacoes_tokens.motivo IS 'DESATIVACAO, PAPEIS, SENHA ou LOGOUT.';
@@ -0,0 +1,19 @@
+-- =====================================================
+-- Migration: create_alteracoes_usuarios
+-- Author: agent
+-- Created: 2026-10-18 03:27:16
+-- Version: V1792294036
+-- =====================================================
+
+-- Última alteração de credenciais ou status de cada usuário; as instâncias descartam do cache os usuários alterados
+CREATE TABLE alteracoes_usuarios (
+    usuario_id UUID PRIMARY KEY,
+    alterado_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_alteracoes_usuarios_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE
+);
+
+-- Cada instância busca periodicamente as alterações mais recentes
+CREATE INDEX idx_alteracoes_usuarios_alterado_em ON alteracoes_usuarios (alterado_em);
+
+COMMENT ON TABLE alteracoes_usuarios IS 'Última alteração de senha, status ou papéis de cada usuário.';
+COMMENT ON COLUMN alteracoes_usuarios.alterado_em IS 'Horário da última alteração; as instâncias buscam as alterações recentes por ele.';
@@ -0,0 +1,17 @@
+-- =====================================================
+-- Migration: create_versao_catalogo_exercicios
+-- Author: agent
+-- Created: 2026-10-18 03:42:19
+-- Version: V1792294939
+-- =====================================================
+
+-- Versão do catálogo de exercícios, incrementada a cada alteração; as instâncias recarregam o catálogo quando ela muda
+CREATE TABLE versao_catalogo_exercicios (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    versao BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO versao_catalogo_exercicios (id, versao) VALUES (1, 0);
+
+COMMENT ON TABLE versao_catalogo_exercicios IS 'Linha única com a versão do catálogo de exercícios.';
+COMMENT ON COLUMN versao_catalogo_exercicios.versao IS 'Incrementada na mesma transação de cada inclusão, alteração ou remoção de exercício.';
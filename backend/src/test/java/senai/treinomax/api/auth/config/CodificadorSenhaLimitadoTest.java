@@ -0,0 +1,114 @@
+package senai.treinomax.api.auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import senai.treinomax.api.auth.exception.HashSenhaIndisponivelException;
+
+class CodificadorSenhaLimitadoTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CodificadorSenhaLimitado codificador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        codificador = new CodificadorSenhaLimitado(meterRegistry);
+        ReflectionTestUtils.setField(codificador, "threads", 1);
+        ReflectionTestUtils.setField(codificador, "tamanhoFila", 1);
+        ReflectionTestUtils.setField(codificador, "esperaMaximaMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        codificador.encerrar();
+    }
+
+    @Test
+    void matches_ShouldVerifyOnPool_AndRecordHashTime() {
+        codificador.iniciar(new BCryptPasswordEncoder(4));
+
+        String hash = codificador.encode("senha123");
+
+        assertTrue(codificador.matches("senha123", hash));
+        assertFalse(codificador.matches("outra", hash));
+        assertEquals(2, meterRegistry.get("senha.hash.duracao").tag("operacao", "verificar").timer().count());
+        assertEquals(1, meterRegistry.get("senha.hash.duracao").tag("operacao", "codificar").timer().count());
+    }
+
+    @Test
+    void matches_ShouldRejectImmediately_WhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciado = new CountDownLatch(1);
+        codificador.iniciar(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence senha) {
+                return senha.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence senha, String hash) {
+                iniciado.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        });
+
+        CompletableFuture<Boolean> emExecucao = CompletableFuture.supplyAsync(() -> codificador.matches("a", "a"));
+        assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> codificador.matches("b", "b"));
+        while (meterRegistry.get("senha.hash.fila").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(HashSenhaIndisponivelException.class, () -> codificador.matches("c", "c"));
+        assertEquals(1, meterRegistry.get("senha.hash.rejeitados").counter().count());
+
+        liberar.countDown();
+        assertTrue(emExecucao.get(5, TimeUnit.SECONDS));
+        assertTrue(naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_ShouldGiveUp_WhenWaitExceedsLimit() {
+        ReflectionTestUtils.setField(codificador, "esperaMaximaMs", 50L);
+        CountDownLatch liberar = new CountDownLatch(1);
+        codificador.iniciar(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence senha) {
+                return senha.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence senha, String hash) {
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        });
+
+        assertThrows(HashSenhaIndisponivelException.class, () -> codificador.matches("a", "a"));
+        liberar.countDown();
+    }
+}
@@ -0,0 +1,101 @@
+package senai.treinomax.api.auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import senai.treinomax.api.auth.service.CustomUserDetailsService;
+import senai.treinomax.api.auth.service.RevogacaoTokenService;
+import senai.treinomax.api.auth.service.TokenService;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final UUID USUARIO = UUID.randomUUID();
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private RevogacaoTokenService revogacaoTokenService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilterInternal_ShouldAuthenticateFromClaims_WithoutLoadingTheUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "autenticacaoSemEstado", true);
+        Claims claims = claims();
+        when(tokenService.validarToken("token")).thenReturn(claims);
+        when(revogacaoTokenService.isRevogado(USUARIO, claims.getIssuedAt())).thenReturn(false);
+        when(customUserDetailsService.carregarDosClaims(claims)).thenCallRealMethod();
+
+        filter.doFilterInternal(requisicao(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(USUARIO, SecurityUtils.getCurrentUserId());
+        assertEquals("aluno@treinomax.com", autenticacao.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), List.copyOf(autenticacao.getAuthorities()));
+        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void doFilterInternal_ShouldNotAuthenticate_WhenTokenWasRevoked() throws Exception {
+        ReflectionTestUtils.setField(filter, "autenticacaoSemEstado", true);
+        Claims claims = claims();
+        when(tokenService.validarToken("token")).thenReturn(claims);
+        when(revogacaoTokenService.isRevogado(USUARIO, claims.getIssuedAt())).thenReturn(true);
+
+        filter.doFilterInternal(requisicao(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(customUserDetailsService, never()).carregarDosClaims(any());
+    }
+
+    private static Claims claims() {
+        Claims claims = Jwts.claims();
+        claims.setSubject("aluno@treinomax.com");
+        claims.put("id", USUARIO.toString());
+        claims.put("roles", List.of("ADMIN"));
+        claims.setIssuedAt(new Date());
+        return claims;
+    }
+
+    private static MockHttpServletRequest requisicao() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/planos");
+        requisicao.addHeader("Authorization", "Bearer token");
+        return requisicao;
+    }
+}
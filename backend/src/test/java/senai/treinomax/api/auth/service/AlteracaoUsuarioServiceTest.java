@@ -0,0 +1,61 @@
+package senai.treinomax.api.auth.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import senai.treinomax.api.auth.model.AlteracaoUsuario;
+import senai.treinomax.api.auth.repository.AlteracaoUsuarioRepository;
+import senai.treinomax.api.util.DateUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AlteracaoUsuarioServiceTest {
+
+    private static final UUID USUARIO = UUID.randomUUID();
+
+    @Mock
+    private AlteracaoUsuarioRepository alteracaoUsuarioRepository;
+
+    @Mock
+    private CacheUsuarios cacheUsuarios;
+
+    @InjectMocks
+    private AlteracaoUsuarioService service;
+
+    @BeforeEach
+    void setUp() {
+        service.iniciar();
+    }
+
+    @Test
+    void registrar_ShouldRecordChange_AndDiscardUserLocally() {
+        when(alteracaoUsuarioRepository.findById(USUARIO)).thenReturn(Optional.empty());
+
+        service.registrar(USUARIO);
+
+        verify(alteracaoUsuarioRepository).save(any(AlteracaoUsuario.class));
+        verify(cacheUsuarios).descartar(USUARIO);
+    }
+
+    @Test
+    void sincronizar_ShouldDiscardUsersChangedByOtherInstances() {
+        when(alteracaoUsuarioRepository.findByAlteradoEmAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                new AlteracaoUsuario(USUARIO, DateUtils.getCurrentBrazilianLocalDateTime())));
+
+        service.sincronizar();
+
+        verify(cacheUsuarios).descartar(USUARIO);
+    }
+}
@@ -0,0 +1,94 @@
+package senai.treinomax.api.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheTokensVerificadosTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheTokensVerificados cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CacheTokensVerificados(meterRegistry, 160);
+    }
+
+    @Test
+    void buscar_ShouldReturnStoredClaims_UntilTokenExpires() {
+        CacheTokensVerificados.Chave valido = CacheTokensVerificados.chave("token.valido");
+        CacheTokensVerificados.Chave expirado = CacheTokensVerificados.chave("token.expirado");
+        Claims claimsValidos = claims(60_000);
+        cache.guardar(valido, claimsValidos, 0);
+        cache.guardar(expirado, claims(-1_000), 0);
+
+        assertSame(claimsValidos, cache.buscar(valido, 0));
+        assertNull(cache.buscar(expirado, 0));
+        assertEquals(1, cache.tamanho());
+    }
+
+    @Test
+    void buscar_ShouldMiss_WhenKeyRingVersionChanged() {
+        CacheTokensVerificados.Chave chave = CacheTokensVerificados.chave("token");
+        cache.guardar(chave, claims(60_000), 0);
+
+        assertNull(cache.buscar(chave, 1));
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void guardar_ShouldIgnoreClaims_WithoutExpiration() {
+        CacheTokensVerificados.Chave chave = CacheTokensVerificados.chave("token");
+        cache.guardar(chave, Jwts.claims().setSubject("aluno@treinomax.com"), 0);
+
+        assertNull(cache.buscar(chave, 0));
+    }
+
+    @Test
+    void guardar_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.guardar(CacheTokensVerificados.chave("token." + i), claims(60_000), 0);
+        }
+
+        assertTrue(cache.tamanho() <= 160);
+        assertTrue(meterRegistry.get("jwt.cache.remocoes").functionCounter().count() >= 840);
+    }
+
+    @Test
+    void taxaAcertos_ShouldBePublished_AsGauge() {
+        CacheTokensVerificados.Chave chave = CacheTokensVerificados.chave("token");
+        cache.buscar(chave, 0);
+        cache.guardar(chave, claims(60_000), 0);
+        cache.buscar(chave, 0);
+        cache.buscar(chave, 0);
+        cache.buscar(chave, 0);
+
+        assertEquals(0.75, meterRegistry.get("jwt.cache.taxa.acertos").gauge().value(), 1e-9);
+        assertEquals(3, meterRegistry.get("jwt.cache.acertos").functionCounter().count());
+        assertEquals(1, meterRegistry.get("jwt.cache.falhas").functionCounter().count());
+    }
+
+    @Test
+    void chave_ShouldDependOnWholeToken() {
+        assertEquals(CacheTokensVerificados.chave("a.b.c"), CacheTokensVerificados.chave("a.b.c"));
+        assertNotEquals(CacheTokensVerificados.chave("a.b.c"), CacheTokensVerificados.chave("a.b.d"));
+    }
+
+    private static Claims claims(long expiraEmMs) {
+        return Jwts.claims()
+                .setSubject("aluno@treinomax.com")
+                .setExpiration(new Date(System.currentTimeMillis() + expiraEmMs));
+    }
+}
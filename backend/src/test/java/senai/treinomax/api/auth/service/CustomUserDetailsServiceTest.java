@@ -0,0 +1,87 @@
+package senai.treinomax.api.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import senai.treinomax.api.auth.model.Role;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.auth.repository.UsuarioRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    private static final String EMAIL = "aluno@treinomax.com";
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private CacheUsuarios cacheUsuarios;
+    private CustomUserDetailsService service;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        cacheUsuarios = new CacheUsuarios(new SimpleMeterRegistry(), 100, 60_000);
+        service = new CustomUserDetailsService(usuarioRepository, cacheUsuarios);
+
+        usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        usuario.setEmail(EMAIL);
+        usuario.setSenha("hash");
+        usuario.setAtivo(true);
+        usuario.setRoles(Set.of(Role.CUSTOMER));
+    }
+
+    @Test
+    void loadUserByUsername_ShouldServeFromCache_ByEmailAndById() {
+        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+
+        UserDetails carregado = service.loadUserByUsername(EMAIL);
+
+        assertSame(carregado, service.loadUserByUsername(EMAIL));
+        assertSame(carregado, service.loadUserById(usuario.getId()));
+        verify(usuarioRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReload_WhenUserWasDiscarded() {
+        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+        assertTrue(service.loadUserByUsername(EMAIL).isEnabled());
+
+        usuario.setAtivo(false);
+        cacheUsuarios.descartar(usuario.getId());
+
+        assertFalse(service.loadUserByUsername(EMAIL).isEnabled());
+        verify(usuarioRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserById_ShouldNotCache_WhenUserIsDiscardedWhileLoading() {
+        when(usuarioRepository.findById(usuario.getId())).thenAnswer(invocacao -> {
+            // Alteração confirmada entre a leitura da versão e o fim do carregamento
+            cacheUsuarios.descartar(usuario.getId());
+            return Optional.of(usuario);
+        });
+
+        service.loadUserById(usuario.getId());
+        service.loadUserById(usuario.getId());
+
+        verify(usuarioRepository, times(2)).findById(usuario.getId());
+    }
+}
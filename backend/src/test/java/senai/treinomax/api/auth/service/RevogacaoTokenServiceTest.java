@@ -0,0 +1,72 @@
+package senai.treinomax.api.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import senai.treinomax.api.auth.model.RevogacaoToken;
+import senai.treinomax.api.auth.model.RevogacaoToken.Motivo;
+import senai.treinomax.api.auth.repository.RevogacaoTokenRepository;
+import senai.treinomax.api.util.DateUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RevogacaoTokenServiceTest {
+
+    private static final UUID USUARIO = UUID.randomUUID();
+
+    @Mock
+    private RevogacaoTokenRepository revogacaoTokenRepository;
+
+    @InjectMocks
+    private RevogacaoTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        when(revogacaoTokenRepository.findByRevogadoEmAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        service.carregar();
+    }
+
+    @Test
+    void isRevogado_ShouldRejectTokensIssuedBeforeRevocation_AndAcceptLaterOnes() {
+        when(revogacaoTokenRepository.findById(USUARIO)).thenReturn(Optional.empty());
+        Date emitidoAntes = new Date(System.currentTimeMillis() - 60_000);
+
+        service.revogar(USUARIO, Motivo.DESATIVACAO);
+
+        verify(revogacaoTokenRepository).save(any(RevogacaoToken.class));
+        assertTrue(service.isRevogado(USUARIO, emitidoAntes));
+        assertFalse(service.isRevogado(USUARIO, new Date(System.currentTimeMillis() + 2_000)));
+        assertFalse(service.isRevogado(UUID.randomUUID(), emitidoAntes));
+    }
+
+    @Test
+    void sincronizar_ShouldPickUpRevocationsWrittenByOtherInstances() {
+        LocalDateTime revogadoEm = DateUtils.getCurrentBrazilianLocalDateTime();
+        when(revogacaoTokenRepository.findByRevogadoEmAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(new RevogacaoToken(USUARIO, revogadoEm, Motivo.PAPEIS)));
+        Date emitidoAntes = Date.from(revogadoEm.minusMinutes(5).atZone(ZoneId.of("America/Sao_Paulo")).toInstant());
+
+        assertFalse(service.isRevogado(USUARIO, emitidoAntes));
+        service.sincronizar();
+
+        assertTrue(service.isRevogado(USUARIO, emitidoAntes));
+    }
+}
@@ -0,0 +1,146 @@
+package senai.treinomax.api.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import senai.treinomax.api.auth.exception.TokenInvalidoException;
+import senai.treinomax.api.auth.model.Role;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.auth.repository.RefreshTokenRepository;
+import senai.treinomax.api.auth.repository.TokenRecuperacaoSenhaRepository;
+import senai.treinomax.api.auth.repository.TokenVerificacaoEmailRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    private static final String SEGREDO = "segredo-de-teste-com-mais-de-32-bytes!";
+    private static final String SEGREDO_NOVO = "segredo-novo-de-teste-com-mais-de-32-bytes";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRecuperacaoSenhaRepository tokenRecuperacaoSenhaRepository;
+
+    @Mock
+    private TokenVerificacaoEmailRepository tokenVerificacaoEmailRepository;
+
+    @Mock
+    private RevogacaoTokenService revogacaoTokenService;
+
+    @TempDir
+    private Path diretorio;
+
+    private Path arquivo;
+    private ChavesJwtService chavesJwtService;
+    private TokenService service;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        arquivo = diretorio.resolve("chaves-jwt.properties");
+        chavesJwtService = new ChavesJwtService();
+        ReflectionTestUtils.setField(chavesJwtService, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(chavesJwtService, "idChavePadrao", "principal");
+        ReflectionTestUtils.setField(chavesJwtService, "arquivo", arquivo.toString());
+        chavesJwtService.carregar();
+
+        service = new TokenService(refreshTokenRepository, tokenRecuperacaoSenhaRepository,
+                tokenVerificacaoEmailRepository, revogacaoTokenService, chavesJwtService,
+                new CacheTokensVerificados(new SimpleMeterRegistry(), 100));
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        service.iniciar();
+
+        usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        usuario.setEmail("aluno@treinomax.com");
+        usuario.setNome("Aluno");
+        usuario.setEmailVerificado(true);
+        usuario.setRoles(Set.of(Role.CUSTOMER));
+    }
+
+    @Test
+    void validarToken_ShouldAcceptTokensOfBothKeys_WhenCurrentKeyIsRotated() throws IOException {
+        String tokenAntigo = service.gerarTokenJWT(usuario);
+
+        escreverArquivo("atual=2025-11\nchave.2025-11=" + SEGREDO_NOVO + "\n", 1_000);
+        chavesJwtService.recarregar();
+        String tokenNovo = service.gerarTokenJWT(usuario);
+
+        assertEquals("2025-11", Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO_NOVO.getBytes()))
+                .build()
+                .parseClaimsJws(tokenNovo)
+                .getHeader()
+                .getKeyId());
+        assertEquals(usuario.getEmail(), service.validarToken(tokenAntigo).getSubject());
+        assertEquals(usuario.getEmail(), service.validarToken(tokenNovo).getSubject());
+    }
+
+    @Test
+    void validarToken_ShouldRejectToken_WhenKeyWasRemovedFromRing() throws IOException {
+        escreverArquivo("atual=2025-11\nchave.2025-11=" + SEGREDO_NOVO + "\n", 1_000);
+        chavesJwtService.recarregar();
+        String token = service.gerarTokenJWT(usuario);
+
+        escreverArquivo("atual=principal\n", 2_000);
+        chavesJwtService.recarregar();
+
+        assertThrows(TokenInvalidoException.class, () -> service.validarToken(token));
+    }
+
+    @Test
+    void validarToken_ShouldNotServeCachedClaims_WhenKeyWasRemovedAfterValidation() throws IOException {
+        escreverArquivo("atual=2025-11\nchave.2025-11=" + SEGREDO_NOVO + "\n", 1_000);
+        chavesJwtService.recarregar();
+        String token = service.gerarTokenJWT(usuario);
+        service.validarToken(token);
+
+        escreverArquivo("atual=principal\n", 2_000);
+        chavesJwtService.recarregar();
+
+        assertThrows(TokenInvalidoException.class, () -> service.validarToken(token));
+    }
+
+    @Test
+    void validarToken_ShouldAcceptTokenWithoutKid_SignedWithJwtSecret() {
+        String token = Jwts.builder()
+                .setSubject(usuario.getEmail())
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(usuario.getEmail(), service.validarToken(token).getSubject());
+    }
+
+    @Test
+    void recarregar_ShouldKeepPreviousKeys_WhenFileIsInvalid() throws IOException {
+        escreverArquivo("atual=2025-11\nchave.2025-11=curta\n", 1_000);
+        chavesJwtService.recarregar();
+
+        assertEquals("principal", chavesJwtService.getAtual().id());
+    }
+
+    private void escreverArquivo(String conteudo, long modificadoEm) throws IOException {
+        Files.writeString(arquivo, conteudo);
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(modificadoEm));
+    }
+}
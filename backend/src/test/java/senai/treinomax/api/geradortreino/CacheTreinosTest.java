@@ -0,0 +1,58 @@
+package senai.treinomax.api.geradortreino;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import senai.treinomax.api.auth.model.GrupoMuscular;
+import senai.treinomax.api.dto.response.AlternativaTreinoResponse;
+import senai.treinomax.api.dto.response.EstatisticasCacheResponse;
+
+class CacheTreinosTest {
+
+    @Test
+    void buscar_ShouldIgnoreRequirementOrder() {
+        CacheTreinos cache = new CacheTreinos(10);
+        List<AlternativaTreinoResponse> treino = alternativas();
+
+        cache.guardar(CacheTreinos.chave(List.of(GrupoMuscular.PEITO, GrupoMuscular.TRICEPS), 2, 1, 0), treino);
+
+        assertEquals(treino, cache.buscar(CacheTreinos.chave(List.of(GrupoMuscular.TRICEPS, GrupoMuscular.PEITO), 2, 1, 0)));
+        assertNull(cache.buscar(CacheTreinos.chave(List.of(GrupoMuscular.PEITO, GrupoMuscular.PEITO), 2, 1, 0)));
+        assertNull(cache.buscar(CacheTreinos.chave(List.of(GrupoMuscular.PEITO, GrupoMuscular.TRICEPS), 3, 1, 0)));
+        assertNull(cache.buscar(CacheTreinos.chave(List.of(GrupoMuscular.PEITO, GrupoMuscular.TRICEPS), 2, 1, 1)));
+
+        EstatisticasCacheResponse estatisticas = cache.estatisticas();
+        assertEquals(1L, estatisticas.getAcertos());
+        assertEquals(3L, estatisticas.getFalhas());
+    }
+
+    @Test
+    void guardar_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        CacheTreinos cache = new CacheTreinos(2);
+        CacheTreinos.Chave peito = CacheTreinos.chave(List.of(GrupoMuscular.PEITO), 5, 1, 0);
+        CacheTreinos.Chave costas = CacheTreinos.chave(List.of(GrupoMuscular.COSTAS), 5, 1, 0);
+        CacheTreinos.Chave perna = CacheTreinos.chave(List.of(GrupoMuscular.PERNA), 5, 1, 0);
+
+        cache.guardar(peito, alternativas());
+        cache.guardar(costas, alternativas());
+        cache.buscar(peito);
+        cache.guardar(perna, alternativas());
+
+        assertNull(cache.buscar(costas));
+        EstatisticasCacheResponse estatisticas = cache.estatisticas();
+        assertEquals(1L, estatisticas.getRemocoes());
+        assertEquals(2, estatisticas.getTamanho());
+    }
+
+    private static List<AlternativaTreinoResponse> alternativas() {
+        return List.of(AlternativaTreinoResponse.builder()
+                .exercicioIds(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .nota(1.0)
+                .build());
+    }
+}
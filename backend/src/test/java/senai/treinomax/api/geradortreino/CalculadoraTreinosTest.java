@@ -0,0 +1,339 @@
+package senai.treinomax.api.geradortreino;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import senai.treinomax.api.auth.model.AtivacaoMuscular;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+class CalculadoraTreinosTest {
+
+    private static final GrupoMuscular[] GRUPOS = GrupoMuscular.values();
+
+    private final CalculadoraTreinos calculadora = new CalculadoraTreinos();
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldMatchExhaustiveSearch() {
+        Random random = new Random(42);
+
+        for (int caso = 0; caso < 500; caso++) {
+            int n = 5 + random.nextInt(12);
+            List<Exercicio> catalogo = catalogo(random, n);
+            List<GrupoMuscular> requisitos = requisitos(random, 1 + random.nextInt(4));
+            int k = 1 + random.nextInt(Math.min(6, n));
+
+            List<Exercicio> esperado = calculadora.encontrarMelhorCombinacaoExaustiva(catalogo, requisitos, k);
+            List<Exercicio> obtido = calculadora.encontrarMelhorCombinacao(catalogo, requisitos, k);
+
+            double notaEsperada = calculadora.calcularNota(requisitos, esperado);
+            double notaObtida = calculadora.calcularNota(requisitos, obtido);
+            // Trocar exercícios intercambiáveis muda só a ordem das somas, e a nota no último bit
+            assertEquals(notaEsperada, notaObtida, notaEsperada * 1e-12, "caso " + caso);
+            assertEquals(nomes(melhorRepresentante(catalogo, requisitos, k)), nomes(obtido), "caso " + caso);
+        }
+    }
+
+    @Test
+    void calcularNota_ShouldMatchCompiledModel() {
+        Random random = new Random(3);
+        List<Exercicio> catalogo = catalogo(random, 40);
+        ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo);
+
+        for (int caso = 0; caso < 200; caso++) {
+            List<GrupoMuscular> requisitos = requisitos(random, 1 + random.nextInt(5));
+            int[] combinacao = random.ints(1 + random.nextInt(6), 0, catalogo.size()).toArray();
+            List<Exercicio> treino = new ArrayList<>();
+            for (int indice : combinacao) {
+                treino.add(catalogo.get(indice));
+            }
+
+            assertEquals(calculadora.calcularNota(requisitos, treino),
+                    calculadora.calcularNota(modelo, ModeloPontuacao.ordinais(requisitos), combinacao), 0.0);
+        }
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldPreferFirstExercisesOnTies() {
+        List<Exercicio> catalogo = new ArrayList<>();
+        catalogo.add(exercicio("Abdominal", GrupoMuscular.ABDOMEN, 10));
+        catalogo.add(exercicio("Supino 1", GrupoMuscular.PEITO, 8));
+        catalogo.add(exercicio("Supino 2", GrupoMuscular.PEITO, 8));
+        catalogo.add(exercicio("Supino 3", GrupoMuscular.PEITO, 8));
+
+        List<Exercicio> obtido = calculadora.encontrarMelhorCombinacao(catalogo, List.of(GrupoMuscular.PEITO), 2);
+
+        assertEquals(List.of("Supino 1", "Supino 2"), nomes(obtido));
+    }
+
+    @Test
+    void encontrarMelhoresCombinacoes_ShouldKeepAlternatives_WhenExercisesDifferOutsideRequestedGroups() {
+        List<Exercicio> catalogo = new ArrayList<>();
+        catalogo.add(exercicio("Supino", GrupoMuscular.PEITO, 8));
+        catalogo.add(exercicio("Supino inclinado", GrupoMuscular.PEITO, 8));
+        catalogo.get(1).getAtivacaoMuscular().add(ativacao(catalogo.get(1), GrupoMuscular.OMBRO, 5));
+        catalogo.add(exercicio("Crucifixo", GrupoMuscular.PEITO, 8));
+        catalogo.add(exercicio("Flexao", GrupoMuscular.PEITO, 3));
+
+        List<CombinacaoPontuada> obtidas = calculadora.encontrarMelhoresCombinacoes(
+                ModeloPontuacao.compilar(catalogo), List.of(GrupoMuscular.PEITO), 1, 3);
+
+        assertEquals(List.of(List.of("Supino"), List.of("Supino inclinado"), List.of("Flexao")),
+                obtidas.stream().map(combinacao -> nomes(combinacao.getExercicios())).toList());
+        assertEquals(obtidas.get(0).getNota(), obtidas.get(1).getNota(), 0.0);
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldReturnFirstCombination_WhenNoneCoversAllGroups() {
+        List<Exercicio> catalogo = new ArrayList<>();
+        catalogo.add(exercicio("Agachamento", GrupoMuscular.PERNA, 10));
+        catalogo.add(exercicio("Remada", GrupoMuscular.COSTAS, 10));
+        catalogo.add(exercicio("Supino", GrupoMuscular.PEITO, 10));
+
+        List<GrupoMuscular> requisitos = List.of(GrupoMuscular.BICEPS, GrupoMuscular.PEITO);
+
+        assertEquals(nomes(calculadora.encontrarMelhorCombinacaoExaustiva(catalogo, requisitos, 2)),
+                nomes(calculadora.encontrarMelhorCombinacao(catalogo, requisitos, 2)));
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldHandleLargeCatalogs() {
+        List<Exercicio> catalogo = catalogo(new Random(7), 3000);
+        List<GrupoMuscular> requisitos = List.of(GrupoMuscular.PEITO, GrupoMuscular.OMBRO, GrupoMuscular.TRICEPS);
+
+        long inicio = System.nanoTime();
+        List<Exercicio> obtido = calculadora.encontrarMelhorCombinacao(catalogo, requisitos, 5);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertEquals(5, obtido.size());
+        assertTrue(calculadora.calcularNota(requisitos, obtido) > 0);
+        assertTrue(duracaoMs < 5_000, "busca levou " + duracaoMs + " ms");
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldMatchSequentialSearch_WhenParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CalculadoraTreinos paralela = new CalculadoraTreinos(pool);
+            Random random = new Random(11);
+
+            for (int caso = 0; caso < 100; caso++) {
+                List<Exercicio> catalogo = catalogo(random, 64 + random.nextInt(400));
+                List<GrupoMuscular> requisitos = requisitos(random, 1 + random.nextInt(5));
+                int k = 1 + random.nextInt(6);
+                ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo);
+
+                List<String> esperado = nomes(calculadora.encontrarMelhorCombinacao(modelo, requisitos, k));
+                List<List<String>> alternativas = calculadora.encontrarMelhoresCombinacoes(modelo, requisitos, k, 5)
+                        .stream().map(combinacao -> nomes(combinacao.getExercicios())).toList();
+                for (int repeticao = 0; repeticao < 3; repeticao++) {
+                    assertEquals(esperado, nomes(paralela.encontrarMelhorCombinacao(modelo, requisitos, k)),
+                            "caso " + caso);
+                    assertEquals(alternativas, paralela.encontrarMelhoresCombinacoes(modelo, requisitos, k, 5)
+                            .stream().map(combinacao -> nomes(combinacao.getExercicios())).toList(), "caso " + caso);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void encontrarMelhoresCombinacoes_ShouldMatchExhaustiveRanking() {
+        Random random = new Random(23);
+
+        for (int caso = 0; caso < 200; caso++) {
+            int n = 5 + random.nextInt(10);
+            List<Exercicio> catalogo = catalogo(random, n);
+            List<GrupoMuscular> requisitos = requisitos(random, 1 + random.nextInt(3));
+            int k = 1 + random.nextInt(Math.min(4, n));
+            int alternativas = 1 + random.nextInt(8);
+            ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo);
+
+            List<int[]> todas = new ArrayList<>();
+            combinacoes(n, k, 0, new int[k], 0, todas);
+            todas.removeIf(combinacao -> !representante(modelo, combinacao));
+            List<double[]> ranking = new ArrayList<>();
+            for (int i = 0; i < todas.size(); i++) {
+                double nota = calculadora.calcularNota(modelo, ModeloPontuacao.ordinais(requisitos), todas.get(i));
+                if (nota > 0) {
+                    ranking.add(new double[] { nota, i });
+                }
+            }
+            // Maior nota primeiro; no empate, a combinação enumerada antes
+            ranking.sort(Comparator.comparingDouble((double[] r) -> -r[0]).thenComparingDouble(r -> r[1]));
+
+            List<CombinacaoPontuada> obtidas = calculadora.encontrarMelhoresCombinacoes(modelo, requisitos, k, alternativas);
+            if (ranking.isEmpty()) {
+                assertEquals(1, obtidas.size(), "caso " + caso);
+                assertEquals(0.0, obtidas.get(0).getNota(), 0.0, "caso " + caso);
+                continue;
+            }
+
+            assertEquals(Math.min(alternativas, ranking.size()), obtidas.size(), "caso " + caso);
+            for (int i = 0; i < obtidas.size(); i++) {
+                int[] esperada = todas.get((int) ranking.get(i)[1]);
+                List<String> nomesEsperados = Arrays.stream(esperada).mapToObj(e -> catalogo.get(e).getNome()).toList();
+                assertEquals(nomesEsperados, nomes(obtidas.get(i).getExercicios()), "caso " + caso + " alternativa " + i);
+                assertEquals(ranking.get(i)[0], obtidas.get(i).getNota(), 0.0, "caso " + caso);
+            }
+        }
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldBeOptimal_WhenSearchFinishesBeforeDeadline() {
+        Random random = new Random(5);
+
+        for (int caso = 0; caso < 50; caso++) {
+            ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo(random, 100 + random.nextInt(200)));
+            List<GrupoMuscular> requisitos = requisitos(random, 1 + random.nextInt(3));
+            int k = 1 + random.nextInt(5);
+
+            ResultadoBusca resultado = calculadora.encontrarMelhorCombinacao(modelo, requisitos, k, Duration.ofMinutes(1));
+
+            assertTrue(resultado.isOtima(), "caso " + caso);
+            assertEquals(0.0, resultado.getLacuna(), 0.0, "caso " + caso);
+            assertEquals(nomes(calculadora.encontrarMelhorCombinacao(modelo, requisitos, k)),
+                    nomes(resultado.getExercicios()), "caso " + caso);
+        }
+    }
+
+    @Test
+    void encontrarMelhorCombinacao_ShouldReturnBoundedResult_WhenDeadlineExpires() {
+        Random random = new Random(9);
+
+        for (int caso = 0; caso < 20; caso++) {
+            ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo(random, 300));
+            List<GrupoMuscular> requisitos = List.of(GrupoMuscular.PEITO, GrupoMuscular.COSTAS, GrupoMuscular.PERNA);
+
+            ResultadoBusca resultado = calculadora.encontrarMelhorCombinacao(modelo, requisitos, 5, Duration.ZERO);
+            double otima = calculadora.calcularNota(requisitos,
+                    calculadora.encontrarMelhorCombinacao(modelo, requisitos, 5));
+
+            assertEquals(5, resultado.getExercicios().size());
+            assertEquals(calculadora.calcularNota(requisitos, resultado.getExercicios()), resultado.getNota(), 0.0);
+            assertTrue(resultado.getNota() > 0, "caso " + caso);
+            assertFalse(resultado.isOtima(), "caso " + caso);
+            assertTrue(resultado.getLimiteSuperior() >= otima, "caso " + caso);
+            assertTrue(resultado.getLacuna() >= 0 && resultado.getLacuna() < 1, "caso " + caso);
+        }
+    }
+
+    // Exercicio e AtivacaoMuscular se referenciam, então equals entre eles não termina
+    private static List<String> nomes(List<Exercicio> exercicios) {
+        return exercicios.stream().map(Exercicio::getNome).toList();
+    }
+
+    private static List<Exercicio> catalogo(Random random, int n) {
+        List<Exercicio> catalogo = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Exercicio exercicio = new Exercicio();
+            exercicio.setNome("Exercicio " + i);
+            int grupos = random.nextDouble() < 0.1 ? 0 : 1 + random.nextInt(3);
+            for (int j = 0; j < grupos; j++) {
+                AtivacaoMuscular ativacao = new AtivacaoMuscular();
+                ativacao.setGrupoMuscular(GRUPOS[random.nextInt(GRUPOS.length)]);
+                ativacao.setPeso(1 + random.nextInt(10));
+                ativacao.setExercicio(exercicio);
+                exercicio.getAtivacaoMuscular().add(ativacao);
+            }
+            catalogo.add(exercicio);
+        }
+        return catalogo;
+    }
+
+    // Enumeração exaustiva só dos representantes, com as classes da busca da melhor
+    // combinação (mesmas notas nos grupos pedidos); no empate, a enumerada antes
+    private List<Exercicio> melhorRepresentante(List<Exercicio> catalogo, List<GrupoMuscular> requisitos, int k) {
+        ModeloPontuacao modelo = ModeloPontuacao.compilar(catalogo);
+        List<GrupoMuscular> grupos = requisitos.stream().distinct().toList();
+        List<int[]> todas = new ArrayList<>();
+        combinacoes(catalogo.size(), k, 0, new int[k], 0, todas);
+
+        int[] melhor = todas.get(0);
+        double melhorNota = 0.0;
+        for (int[] combinacao : todas) {
+            double nota = calculadora.calcularNota(modelo, ModeloPontuacao.ordinais(requisitos), combinacao);
+            if (nota > melhorNota && representante(modelo, combinacao, grupos)) {
+                melhorNota = nota;
+                melhor = combinacao;
+            }
+        }
+        return Arrays.stream(melhor).mapToObj(catalogo::get).toList();
+    }
+
+    private static boolean representante(ModeloPontuacao modelo, int[] combinacao) {
+        return representante(modelo, combinacao, Arrays.asList(GRUPOS));
+    }
+
+    // Exercícios com as mesmas notas nos grupos são intercambiáveis: das combinações
+    // que só diferem por essas trocas, vale a que usa os primeiros do catálogo
+    private static boolean representante(ModeloPontuacao modelo, int[] combinacao, List<GrupoMuscular> grupos) {
+        Set<Integer> escolhidos = new HashSet<>();
+        Arrays.stream(combinacao).forEach(escolhidos::add);
+        for (int e : combinacao) {
+            for (int anterior = 0; anterior < e; anterior++) {
+                if (!escolhidos.contains(anterior) && mesmasNotas(modelo, anterior, e, grupos)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean mesmasNotas(ModeloPontuacao modelo, int a, int b, List<GrupoMuscular> grupos) {
+        for (GrupoMuscular grupo : grupos) {
+            if (modelo.contribuicao(a, grupo) != modelo.contribuicao(b, grupo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void combinacoes(int n, int k, int inicio, int[] atual, int profundidade, List<int[]> todas) {
+        if (profundidade == k) {
+            todas.add(atual.clone());
+            return;
+        }
+        for (int i = inicio; i < n; i++) {
+            atual[profundidade] = i;
+            combinacoes(n, k, i + 1, atual, profundidade + 1, todas);
+        }
+    }
+
+    private static List<GrupoMuscular> requisitos(Random random, int quantidade) {
+        List<GrupoMuscular> requisitos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            requisitos.add(GRUPOS[random.nextInt(GRUPOS.length)]);
+        }
+        return requisitos;
+    }
+
+    private static Exercicio exercicio(String nome, GrupoMuscular grupo, int peso) {
+        Exercicio exercicio = new Exercicio();
+        exercicio.setNome(nome);
+        exercicio.getAtivacaoMuscular().add(ativacao(exercicio, grupo, peso));
+        return exercicio;
+    }
+
+    private static AtivacaoMuscular ativacao(Exercicio exercicio, GrupoMuscular grupo, int peso) {
+        AtivacaoMuscular ativacao = new AtivacaoMuscular();
+        ativacao.setGrupoMuscular(grupo);
+        ativacao.setPeso(peso);
+        ativacao.setExercicio(exercicio);
+        return ativacao;
+    }
+}
@@ -0,0 +1,83 @@
+package senai.treinomax.api.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import senai.treinomax.api.auth.repository.TarefasExecutadasRepository;
+import senai.treinomax.api.model.TarefaExecutada.TarefaTipo;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AgendadorVerificacaoCobrancaTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 11, 20, 10, 30);
+    private static final LocalDate HOJE = AGORA.toLocalDate();
+
+    @Mock
+    private PlanoCobrancaRepository planoCobrancaRepository;
+
+    @Mock
+    private TarefasExecutadasRepository tarefasExecutadasRepository;
+
+    @InjectMocks
+    private AgendadorVerificacaoCobranca agendador;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(agendador, "intervaloMaximoMinutos", 60L * 48);
+        ReflectionTestUtils.setField(agendador, "retentativaMinutos", 5L);
+    }
+
+    @Test
+    void calcularProximo_ShouldWakeAfterEarliestDueDate_WhenChargesArePending() {
+        when(planoCobrancaRepository.findMenorVencimentoNaoProcessado()).thenReturn(Optional.of(HOJE));
+        when(planoCobrancaRepository.findMenorVencimentoPagoComProximaNaoGerada()).thenReturn(Optional.of(HOJE.plusDays(5)));
+
+        assertEquals(HOJE.plusDays(1).atStartOfDay(), agendador.calcularProximo(AGORA));
+        verify(tarefasExecutadasRepository, never()).existsByTipoAndDiaExecucaoAndSucessoIsTrue(any(), any());
+    }
+
+    @Test
+    void calcularProximo_ShouldWaitForMaximumInterval_WhenNothingIsPending() {
+        ReflectionTestUtils.setField(agendador, "intervaloMaximoMinutos", 60L);
+        when(planoCobrancaRepository.findMenorVencimentoNaoProcessado()).thenReturn(Optional.empty());
+        when(planoCobrancaRepository.findMenorVencimentoPagoComProximaNaoGerada()).thenReturn(Optional.empty());
+
+        assertEquals(AGORA.plusMinutes(60), agendador.calcularProximo(AGORA));
+    }
+
+    @Test
+    void calcularProximo_ShouldWaitForTomorrow_WhenOverdueChargesRemainAfterTodaysCycle() {
+        when(planoCobrancaRepository.findMenorVencimentoNaoProcessado()).thenReturn(Optional.empty());
+        when(planoCobrancaRepository.findMenorVencimentoPagoComProximaNaoGerada()).thenReturn(Optional.of(HOJE.minusDays(3)));
+        when(tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(TarefaTipo.MENSAL_VERIFICAR_PLANOS, HOJE))
+                .thenReturn(true);
+
+        assertEquals(HOJE.plusDays(1).atStartOfDay(), agendador.calcularProximo(AGORA));
+    }
+
+    @Test
+    void calcularProximo_ShouldRetrySoon_WhenTodaysCycleDidNotComplete() {
+        when(planoCobrancaRepository.findMenorVencimentoNaoProcessado()).thenReturn(Optional.of(HOJE.minusDays(1)));
+        when(planoCobrancaRepository.findMenorVencimentoPagoComProximaNaoGerada()).thenReturn(Optional.empty());
+        when(tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(TarefaTipo.MENSAL_VERIFICAR_PLANOS, HOJE))
+                .thenReturn(false);
+
+        assertEquals(AGORA.plusMinutes(5), agendador.calcularProximo(AGORA));
+    }
+}
@@ -12,6 +12,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -21,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import senai.treinomax.api.auth.repository.TarefasExecutadasRepository;
 import senai.treinomax.api.model.TarefaExecutada;
 import senai.treinomax.api.model.TarefaExecutada.TarefaTipo;
+import senai.treinomax.api.service.BloqueioTarefaService;
 import senai.treinomax.api.service.PlanoUsuarioEventosService;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,48 +34,69 @@ class VerificacaoCobrancaPlanosJobTest {
     @Mock
     private TarefasExecutadasRepository tarefasExecutadasRepository;
 
+    @Mock
+    private BloqueioTarefaService bloqueioTarefaService;
+
     @InjectMocks
     private VerificacaoCobrancaPlanosJob job;
 
+    @BeforeEach
+    void setUp() {
+        when(bloqueioTarefaService.adquirir(TarefaTipo.MENSAL_VERIFICAR_PLANOS.name())).thenReturn(true);
+    }
+
     @Test
-    void tarefaComIntervaloFixo_ShouldExecute_WhenNotExecutedToday() {
+    void executarVerificacao_ShouldExecute_WhenNotExecutedToday() {
         when(tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(
                 eq(TarefaTipo.MENSAL_VERIFICAR_PLANOS), any(LocalDate.class)))
                 .thenReturn(false);
 
-        job.tarefaComIntervaloFixo();
+        job.executarVerificacao();
 
-        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
         verify(tarefasExecutadasRepository, times(1)).save(any(TarefaExecutada.class));
+        verify(bloqueioTarefaService).liberar(TarefaTipo.MENSAL_VERIFICAR_PLANOS.name());
     }
 
     @Test
-    void tarefaComIntervaloFixo_ShouldSkip_WhenAlreadyExecutedToday() {
+    void executarVerificacao_ShouldSkip_WhenAlreadyExecutedToday() {
         when(tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(
                 eq(TarefaTipo.MENSAL_VERIFICAR_PLANOS), any(LocalDate.class)))
                 .thenReturn(true);
 
-        job.tarefaComIntervaloFixo();
+        job.executarVerificacao();
 
-        verify(planoUsuarioEventosService, never()).executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+        verify(planoUsuarioEventosService, never()).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
         verify(tarefasExecutadasRepository, never()).save(any(TarefaExecutada.class));
     }
 
     @Test
-    void tarefaComIntervaloFixo_ShouldHandleException_WhenServiceFails() {
+    void executarVerificacao_ShouldHandleException_WhenServiceFails() {
         when(tarefasExecutadasRepository.existsByTipoAndDiaExecucaoAndSucessoIsTrue(
                 eq(TarefaTipo.MENSAL_VERIFICAR_PLANOS), any(LocalDate.class)))
                 .thenReturn(false);
 
         doThrow(new RuntimeException("Service error")).when(planoUsuarioEventosService)
-                .executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+                .executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
 
-        job.tarefaComIntervaloFixo();
+        job.executarVerificacao();
 
-        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
         verify(tarefasExecutadasRepository, times(1)).save(any(TarefaExecutada.class));
     }
 
+    @Test
+    void executarVerificacao_ShouldSkip_WhenAnotherReplicaHoldsTheLock() {
+        when(bloqueioTarefaService.adquirir(TarefaTipo.MENSAL_VERIFICAR_PLANOS.name())).thenReturn(false);
+
+        job.executarVerificacao();
+
+        verify(tarefasExecutadasRepository, never()).existsByTipoAndDiaExecucaoAndSucessoIsTrue(
+                any(TarefaTipo.class), any(LocalDate.class));
+        verify(planoUsuarioEventosService, never()).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
+        verify(bloqueioTarefaService, never()).liberar(any(String.class));
+    }
+
     @Test
     void forcarVerificacaoCobranca_ShouldRunImmediately_WhenNoSuccessfulTask() {
         when(tarefasExecutadasRepository
@@ -86,7 +109,7 @@ class VerificacaoCobrancaPlanosJobTest {
 
         job.forcarVerificacaoCobranca();
 
-        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
     }
 
     @Test
@@ -107,6 +130,6 @@ class VerificacaoCobrancaPlanosJobTest {
         job.forcarVerificacaoCobranca();
 
         verify(tarefasExecutadasRepository).save(previousTask);
-        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class));
+        verify(planoUsuarioEventosService, times(1)).executarCicloVerificacaoCobranca(any(LocalDateTime.class), any(Runnable.class));
     }
 }
@@ -0,0 +1,90 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import senai.treinomax.api.auth.exception.BloqueioPerdidoException;
+import senai.treinomax.api.repository.BloqueioTarefaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BloqueioTarefaServiceTest {
+
+    private static final String NOME = "MENSAL_VERIFICAR_PLANOS";
+
+    @Mock
+    private BloqueioTarefaRepository bloqueioTarefaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BloqueioTarefaService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "duracaoSegundos", 300L);
+        service.iniciar();
+        when(bloqueioTarefaRepository.existsById(NOME)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    void adquirir_ShouldReturnFalse_WhenAnotherInstanceHoldsTheLease() {
+        when(bloqueioTarefaRepository.adquirir(eq(NOME), anyString(), anyLong()))
+                .thenReturn(0);
+
+        assertFalse(service.adquirir(NOME));
+
+        service.liberar(NOME);
+        verify(bloqueioTarefaRepository, never()).liberar(anyString(), anyString());
+    }
+
+    @Test
+    void adquirir_ShouldReturnFalse_WhenThisInstanceIsAlreadyRunningTheTask() {
+        when(bloqueioTarefaRepository.adquirir(eq(NOME), anyString(), anyLong()))
+                .thenReturn(1);
+
+        assertTrue(service.adquirir(NOME));
+        assertFalse(service.adquirir(NOME));
+        service.liberar(NOME);
+        assertTrue(service.adquirir(NOME));
+
+        verify(bloqueioTarefaRepository, times(2))
+                .adquirir(eq(NOME), anyString(), anyLong());
+        verify(bloqueioTarefaRepository).liberar(eq(NOME), anyString());
+    }
+
+    @Test
+    void confirmar_ShouldThrow_WhenAnotherInstanceTookTheLease() {
+        when(bloqueioTarefaRepository.adquirir(eq(NOME), anyString(), anyLong())).thenReturn(1);
+        when(bloqueioTarefaRepository.confirmar(eq(NOME), anyString())).thenReturn(1, 0);
+
+        assertTrue(service.adquirir(NOME));
+        service.confirmar(NOME);
+
+        assertThrows(BloqueioPerdidoException.class, () -> service.confirmar(NOME));
+        service.liberar(NOME);
+    }
+}
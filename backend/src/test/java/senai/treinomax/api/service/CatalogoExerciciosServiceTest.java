@@ -0,0 +1,101 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.repository.ExercicioRepository;
+import senai.treinomax.api.repository.VersaoCatalogoExerciciosRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoExerciciosServiceTest {
+
+    @Mock
+    private ExercicioRepository exercicioRepository;
+
+    @Mock
+    private VersaoCatalogoExerciciosRepository versaoCatalogoExerciciosRepository;
+
+    @InjectMocks
+    private CatalogoExerciciosService service;
+
+    @Test
+    void sincronizar_ShouldReload_WhenAnotherInstanceChangedCatalog() {
+        Exercicio supino = exercicio("Supino");
+        when(versaoCatalogoExerciciosRepository.buscarVersao()).thenReturn(3L, 4L, 4L);
+        when(exercicioRepository.findAll()).thenReturn(List.of(), List.of(supino));
+        service.getCatalogo();
+
+        service.sincronizar();
+
+        assertEquals(List.of(supino), service.getCatalogo().getExercicios());
+        assertEquals(2, service.getCatalogo().getVersao());
+    }
+
+    @Test
+    void sincronizar_ShouldKeepCatalog_WhenDatabaseVersionIsUnchanged() {
+        when(versaoCatalogoExerciciosRepository.buscarVersao()).thenReturn(3L);
+        when(exercicioRepository.findAll()).thenReturn(List.of());
+        CatalogoExercicios carregado = service.getCatalogo();
+
+        service.sincronizar();
+
+        assertEquals(carregado, service.getCatalogo());
+        verify(exercicioRepository, times(1)).findAll();
+    }
+
+    @Test
+    void sincronizar_ShouldNotReload_WhenChangeWasAppliedLocally() {
+        Exercicio supino = exercicio("Supino");
+        when(versaoCatalogoExerciciosRepository.buscarVersao()).thenReturn(3L, 4L, 4L);
+        when(exercicioRepository.findAll()).thenReturn(List.of());
+        service.getCatalogo();
+
+        service.registrarAlteracao(supino, service.registrarVersao());
+        service.sincronizar();
+
+        assertEquals(List.of(supino), service.getCatalogo().getExercicios());
+        verify(exercicioRepository, times(1)).findAll();
+    }
+
+    @Test
+    void sincronizar_ShouldReload_WhenAnotherInstanceChangedCatalogBeforeLocalChange() {
+        Exercicio supino = exercicio("Supino");
+        Exercicio remada = exercicio("Remada");
+        when(versaoCatalogoExerciciosRepository.buscarVersao()).thenReturn(3L, 5L, 5L, 5L);
+        when(exercicioRepository.findAll()).thenReturn(List.of(), List.of(remada, supino));
+        service.getCatalogo();
+
+        service.registrarAlteracao(supino, service.registrarVersao());
+        service.sincronizar();
+
+        assertEquals(List.of(remada, supino), service.getCatalogo().getExercicios());
+        verify(exercicioRepository, times(2)).findAll();
+    }
+
+    @Test
+    void sincronizar_ShouldDoNothing_BeforeFirstLoad() {
+        service.sincronizar();
+
+        verify(versaoCatalogoExerciciosRepository, never()).buscarVersao();
+    }
+
+    private static Exercicio exercicio(String nome) {
+        Exercicio exercicio = new Exercicio();
+        exercicio.setId(UUID.randomUUID());
+        exercicio.setNome(nome);
+        return exercicio;
+    }
+}
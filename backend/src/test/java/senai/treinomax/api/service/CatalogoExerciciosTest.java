@@ -0,0 +1,82 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import senai.treinomax.api.auth.model.AtivacaoMuscular;
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+
+class CatalogoExerciciosTest {
+
+    @Test
+    void de_ShouldIndexExercisesByNameAndMuscleGroup() {
+        CatalogoExercicios catalogo = CatalogoExercicios.de(1, List.of(
+                exercicio("Supino", GrupoMuscular.PEITO, 6),
+                exercicio("Crucifixo", GrupoMuscular.PEITO, 9),
+                exercicio("Remada", GrupoMuscular.COSTAS, 8),
+                exercicio("Flexao", GrupoMuscular.PEITO, 6)));
+
+        assertEquals(List.of("Crucifixo", "Flexao", "Remada", "Supino"), nomes(catalogo.getExercicios()));
+        assertEquals(List.of("Crucifixo", "Flexao", "Supino"), nomes(catalogo.porGrupo(GrupoMuscular.PEITO)));
+        assertEquals(List.of("Remada"), nomes(catalogo.porGrupo(GrupoMuscular.COSTAS)));
+        assertTrue(catalogo.porGrupo(GrupoMuscular.PERNA).isEmpty());
+    }
+
+    @Test
+    void comExercicio_ShouldPublishNewVersion_WithoutChangingPrevious() {
+        Exercicio supino = exercicio("Supino", GrupoMuscular.PEITO, 6);
+        CatalogoExercicios original = CatalogoExercicios.de(1, List.of(supino));
+
+        Exercicio supinoAlterado = exercicio("Supino", GrupoMuscular.OMBRO, 4);
+        supinoAlterado.setId(supino.getId());
+        CatalogoExercicios alterado = original.comExercicio(supinoAlterado);
+        CatalogoExercicios ampliado = alterado.comExercicio(exercicio("Agachamento", GrupoMuscular.PERNA, 10));
+        CatalogoExercicios reduzido = ampliado.semExercicio(supino.getId());
+
+        assertEquals(2, alterado.getVersao());
+        assertEquals(List.of("Supino"), nomes(original.porGrupo(GrupoMuscular.PEITO)));
+        assertTrue(alterado.porGrupo(GrupoMuscular.PEITO).isEmpty());
+        assertEquals(List.of("Supino"), nomes(alterado.porGrupo(GrupoMuscular.OMBRO)));
+        assertEquals(List.of("Agachamento", "Supino"), nomes(ampliado.getExercicios()));
+        assertEquals(List.of("Agachamento"), nomes(reduzido.getExercicios()));
+        assertTrue(reduzido.buscarPorId(supino.getId()).isEmpty());
+        assertEquals(4, reduzido.getVersao());
+    }
+
+    @Test
+    void comExercicio_ShouldKeepSnapshot_WhenSavedEntityChangesLater() {
+        Exercicio supino = exercicio("Supino", GrupoMuscular.PEITO, 6);
+        CatalogoExercicios catalogo = CatalogoExercicios.de(1, List.of()).comExercicio(supino);
+
+        supino.setNome("Supino Inclinado");
+        supino.getAtivacaoMuscular().get(0).setGrupoMuscular(GrupoMuscular.OMBRO);
+
+        assertEquals(List.of("Supino"), nomes(catalogo.porGrupo(GrupoMuscular.PEITO)));
+        assertEquals("Supino", catalogo.buscarPorId(supino.getId()).orElseThrow().getNome());
+        assertThrows(UnsupportedOperationException.class,
+                () -> catalogo.getExercicios().get(0).getAtivacaoMuscular().clear());
+    }
+
+    private static List<String> nomes(List<Exercicio> exercicios) {
+        return exercicios.stream().map(Exercicio::getNome).toList();
+    }
+
+    private static Exercicio exercicio(String nome, GrupoMuscular grupo, int peso) {
+        Exercicio exercicio = new Exercicio();
+        exercicio.setId(UUID.randomUUID());
+        exercicio.setNome(nome);
+        AtivacaoMuscular ativacao = new AtivacaoMuscular();
+        ativacao.setGrupoMuscular(grupo);
+        ativacao.setPeso(peso);
+        ativacao.setExercicio(exercicio);
+        exercicio.getAtivacaoMuscular().add(ativacao);
+        return exercicio;
+    }
+}
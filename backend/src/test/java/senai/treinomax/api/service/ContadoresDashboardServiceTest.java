@@ -0,0 +1,162 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.auth.repository.UsuarioRepository.MembrosPorPlano;
+import senai.treinomax.api.model.ContadorDashboard;
+import senai.treinomax.api.repository.ContadorDashboardRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ContadoresDashboardServiceTest {
+
+    private static final UUID PLANO_A = UUID.fromString("aaaaaaaa-0000-0000-0000-000000000000");
+    private static final UUID PLANO_B = UUID.fromString("bbbbbbbb-0000-0000-0000-000000000000");
+
+    @Mock
+    private ContadorDashboardRepository contadorRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PlanoCobrancaRepository planoCobrancaRepository;
+
+    @Mock
+    private BloqueioTarefaService bloqueioTarefaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ContadoresDashboardService service;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.unbindResourceIfPossible(service);
+    }
+
+    @Test
+    void planoAlterado_ShouldWriteOneUpdatePerCounter_OnlyWhenTransactionCommits() {
+        when(contadorRepository.somar(anyString(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+        iniciarTransacao();
+
+        service.planoAlterado(PLANO_A, PLANO_B);
+        service.planoAlterado(PLANO_A, PLANO_B);
+        service.planoAlterado(null, PLANO_B);
+
+        verify(contadorRepository, never()).somar(anyString(), anyLong(), any(LocalDateTime.class));
+        TransactionSynchronization sincronizacao = TransactionSynchronizationManager.getSynchronizations().get(0);
+        sincronizacao.beforeCommit(false);
+        verify(contadorRepository).somar(eq("membros.plano." + PLANO_A), eq(-2L), any(LocalDateTime.class));
+        verify(contadorRepository).somar(eq("membros.plano." + PLANO_B), eq(3L), any(LocalDateTime.class));
+        assertEquals(Map.of(), service.getMembrosPorPlano());
+
+        sincronizacao.afterCommit();
+        sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Map.of(PLANO_B, 3L), service.getMembrosPorPlano());
+    }
+
+    @Test
+    void pagamentoRegistrado_ShouldLeaveCountersUntouched_WhenTransactionRollsBack() {
+        iniciarTransacao();
+
+        service.pagamentoRegistrado(YearMonth.of(2025, 11), 9900);
+
+        TransactionSynchronization sincronizacao = TransactionSynchronizationManager.getSynchronizations().get(0);
+        sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(contadorRepository, never()).somar(anyString(), anyLong(), any(LocalDateTime.class));
+        assertEquals(0L, service.getReceita(YearMonth.of(2025, 11)));
+    }
+
+    @Test
+    void membroRegistrado_ShouldCreateCounter_WhenItDoesNotExistYet() {
+        when(contadorRepository.somar(eq("membros"), eq(1L), any(LocalDateTime.class))).thenReturn(0, 1);
+
+        service.membroRegistrado();
+
+        verify(contadorRepository).saveAndFlush(any(ContadorDashboard.class));
+        assertEquals(1L, service.getMembros());
+    }
+
+    @Test
+    void reconciliar_ShouldOverwriteDriftedCounters_WithRecount() {
+        when(bloqueioTarefaService.adquirir("RECONCILIAR_CONTADORES_DASHBOARD")).thenReturn(true);
+        when(usuarioRepository.contarMembrosPorPlano()).thenReturn(List.of(membros(null, 2), membros(PLANO_A, 5)));
+        when(planoCobrancaRepository.sumValorRecebidoPorMes()).thenReturn(List.of());
+        when(contadorRepository.findAll()).thenReturn(List.of(
+                contador("membros", 7L),
+                contador("membros.plano." + PLANO_A, 4L),
+                contador("membros.plano." + PLANO_B, 1L)));
+
+        service.reconciliar();
+
+        verify(contadorRepository).definir(eq("membros.plano." + PLANO_A), eq(5L), any(LocalDateTime.class));
+        verify(contadorRepository).definir(eq("membros.plano." + PLANO_B), eq(0L), any(LocalDateTime.class));
+        verify(contadorRepository).definir(eq("membros"), eq(7L), any(LocalDateTime.class));
+        verify(bloqueioTarefaService).liberar("RECONCILIAR_CONTADORES_DASHBOARD");
+        assertEquals(7L, service.getMembros());
+        assertEquals(Map.of(PLANO_A, 5L), service.getMembrosPorPlano());
+    }
+
+    private static void iniciarTransacao() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static ContadorDashboard contador(String chave, long valor) {
+        return ContadorDashboard.builder().chave(chave).valor(valor).build();
+    }
+
+    private static MembrosPorPlano membros(UUID planoId, long quantidade) {
+        return new MembrosPorPlano() {
+            @Override
+            public UUID getPlanoId() {
+                return planoId;
+            }
+
+            @Override
+            public String getPlanoNome() {
+                return planoId != null ? "Plano" : null;
+            }
+
+            @Override
+            public Boolean getPlanoAtivo() {
+                return planoId != null ? Boolean.TRUE : null;
+            }
+
+            @Override
+            public long getQuantidade() {
+                return quantidade;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import senai.treinomax.api.dto.response.DashboardResponse;
+import senai.treinomax.api.model.Plano;
+import senai.treinomax.api.repository.PlanoRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    private static final YearMonth MES_ATUAL = YearMonth.of(2025, 11);
+
+    @Mock
+    private ContadoresDashboardService contadoresDashboard;
+
+    @Mock
+    private PlanoRepository planoRepository;
+
+    private DashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock relogio = Clock.fixed(Instant.parse("2025-11-20T15:00:00Z"), ZoneId.of("America/Sao_Paulo"));
+        service = new DashboardService(contadoresDashboard, planoRepository, relogio);
+    }
+
+    @Test
+    void getDashboardInfo_ShouldComputeTotalsAndGrowth_FromCounters() {
+        Plano mensal = plano(UUID.randomUUID(), "Mensal", true);
+        Plano anual = plano(UUID.randomUUID(), "Anual", true);
+        when(contadoresDashboard.getMembros()).thenReturn(8L);
+        when(contadoresDashboard.getMembrosPorPlano()).thenReturn(Map.of(mensal.getId(), 3L, anual.getId(), 1L));
+        when(contadoresDashboard.getReceita(MES_ATUAL)).thenReturn(15000L);
+        when(contadoresDashboard.getReceita(MES_ATUAL.minusMonths(1))).thenReturn(10000L);
+        when(planoRepository.findAllById(any())).thenReturn(List.of(mensal, anual));
+
+        DashboardResponse response = service.getDashboardInfo();
+
+        assertEquals(8, response.getTotalNumberMembers());
+        assertEquals(4, response.getTotalNumberPaidMembers());
+        assertEquals(4, response.getTotalNumberUnpaidMembers());
+        assertEquals(15000, response.getTotalRenevenueMonthInCents());
+        assertEquals(50.0, response.getPercentualRevenueGrowthMonth());
+        assertEquals(75.0, response.getUserDistributionByPlan().get("Mensal"));
+        assertEquals(25.0, response.getUserDistributionByPlan().get("Anual"));
+        assertEquals(mensal.getId(), response.getDistribuicaoPorPlano().get(0).getPlanoId());
+    }
+
+    @Test
+    void getDashboardInfo_ShouldKeepPlansWithSameName_Apart() {
+        Plano atual = plano(UUID.fromString("aaaaaaaa-0000-0000-0000-000000000000"), "Premium", true);
+        Plano antigo = plano(UUID.fromString("bbbbbbbb-0000-0000-0000-000000000000"), "Premium", false);
+        when(contadoresDashboard.getMembros()).thenReturn(4L);
+        when(contadoresDashboard.getMembrosPorPlano()).thenReturn(Map.of(atual.getId(), 3L, antigo.getId(), 1L));
+        when(planoRepository.findAllById(any())).thenReturn(List.of(atual, antigo));
+
+        DashboardResponse response = service.getDashboardInfo();
+
+        assertEquals(2, response.getUserDistributionByPlan().size());
+        assertEquals(75.0, response.getUserDistributionByPlan().get("Premium (aaaaaaaa)"));
+        assertEquals(25.0, response.getUserDistributionByPlan().get("Premium (bbbbbbbb)"));
+        assertEquals(0, response.getTotalRenevenueMonthInCents());
+        assertEquals(0.0, response.getPercentualRevenueGrowthMonth());
+        assertFalse(response.getDistribuicaoPorPlano().get(1).getPlanoAtivo());
+    }
+
+    private static Plano plano(UUID id, String nome, boolean ativo) {
+        Plano plano = new Plano();
+        plano.setId(id);
+        plano.setNome(nome);
+        plano.setAtivo(ativo);
+        return plano;
+    }
+}
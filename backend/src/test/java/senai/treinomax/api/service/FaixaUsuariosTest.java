@@ -0,0 +1,46 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class FaixaUsuariosTest {
+
+    @Test
+    void daParticao_ShouldCoverAllIdsWithoutOverlap() {
+        FaixaUsuarios primeira = FaixaUsuarios.daParticao(0, 3);
+        FaixaUsuarios segunda = FaixaUsuarios.daParticao(1, 3);
+        FaixaUsuarios terceira = FaixaUsuarios.daParticao(2, 3);
+
+        assertEquals(new UUID(0L, 0L), primeira.getInicio());
+        assertEquals(new UUID(-1L, -1L), terceira.getFim());
+        assertEquals(proximo(primeira.getFim()), segunda.getInicio());
+        assertEquals(proximo(segunda.getFim()), terceira.getInicio());
+    }
+
+    @Test
+    void contem_ShouldPlaceEachIdInExactlyOnePartition() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            int encontradas = 0;
+            for (int particao = 0; particao < 7; particao++) {
+                if (FaixaUsuarios.daParticao(particao, 7).contem(id)) {
+                    encontradas++;
+                }
+            }
+            assertEquals(1, encontradas);
+        }
+        assertTrue(FaixaUsuarios.daParticao(0, 1).contem(new UUID(-1L, -1L)));
+        assertFalse(FaixaUsuarios.daParticao(0, 2).contem(new UUID(Long.MIN_VALUE, 0L)));
+    }
+
+    private static UUID proximo(UUID id) {
+        long baixo = id.getLeastSignificantBits() + 1;
+        long alto = id.getMostSignificantBits() + (baixo == 0 ? 1 : 0);
+        return new UUID(alto, baixo);
+    }
+}
@@ -0,0 +1,168 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import senai.treinomax.api.auth.model.Exercicio;
+import senai.treinomax.api.auth.model.GrupoMuscular;
+import senai.treinomax.api.auth.model.Treino;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.auth.repository.UsuarioRepository;
+import senai.treinomax.api.dto.request.GerarTreinosLoteRequest;
+import senai.treinomax.api.dto.request.ItemLoteTreinoRequest;
+import senai.treinomax.api.dto.response.LoteTreinoResponse;
+import senai.treinomax.api.geradortreino.GeradorTreino;
+import senai.treinomax.api.repository.TreinoRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GeracaoTreinoLoteServiceTest {
+
+    @Mock
+    private GeradorTreino geradorTreino;
+
+    @Mock
+    private CatalogoExerciciosService catalogoExerciciosService;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private TreinoRepository treinoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GeracaoTreinoLoteService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "tamanhoFila", 1);
+        ReflectionTestUtils.setField(service, "treinosPorTransacao", 100);
+        ReflectionTestUtils.setField(service, "retencao", 10);
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    void iniciarLote_ShouldFailOnlyTheBrokenItem_WhenItsTransactionFails() throws InterruptedException {
+        Exercicio supino = new Exercicio();
+        supino.setId(UUID.randomUUID());
+        supino.setNome("Supino");
+        List<Usuario> usuarios = List.of(usuario(), usuario(), usuario());
+        UUID comProblema = usuarios.get(1).getId();
+
+        when(geradorTreino.gerarTreino(anyList(), anyInt())).thenReturn(List.of(supino.getId()));
+        when(catalogoExerciciosService.getCatalogo()).thenReturn(CatalogoExercicios.de(1, List.of(supino)));
+        when(usuarioRepository.findAllById(any())).thenReturn(usuarios);
+        for (Usuario usuario : usuarios) {
+            when(usuarioRepository.getReferenceById(usuario.getId())).thenReturn(usuario);
+        }
+        when(transactionManager.getTransaction(any())).thenAnswer(invocacao -> mock(TransactionStatus.class));
+        when(treinoRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            List<Treino> treinos = invocacao.getArgument(0);
+            for (Treino treino : treinos) {
+                if (treino.getUsuario().getId().equals(comProblema)) {
+                    throw new IllegalStateException("violação de restrição");
+                }
+                treino.setId(UUID.randomUUID());
+            }
+            return treinos;
+        });
+
+        List<ItemLoteTreinoRequest> itens = new ArrayList<>();
+        for (Usuario usuario : usuarios) {
+            itens.add(new ItemLoteTreinoRequest(usuario.getId(), List.of(GrupoMuscular.PEITO), 1, null));
+        }
+        GerarTreinosLoteRequest request = new GerarTreinosLoteRequest();
+        request.setTreinos(itens);
+
+        LoteTreinoResponse lote = aguardar(service.iniciarLote(request).getId());
+
+        assertEquals(LoteTreinoResponse.Status.CONCLUIDO, lote.getStatus());
+        assertEquals(2, lote.getSalvos());
+        assertEquals(1, lote.getFalhas());
+        assertNotNull(lote.getTreinoIds().get(0));
+        assertNull(lote.getTreinoIds().get(1));
+        assertNotNull(lote.getTreinoIds().get(2));
+        assertEquals(1, lote.getErros().size());
+        assertTrue(lote.getErros().get(0).startsWith("Item 1: "), lote.getErros().get(0));
+    }
+
+    @Test
+    void iniciarLote_ShouldGenerateDistinctRequirementsOnPoolThreads() throws InterruptedException {
+        service.encerrar();
+        ReflectionTestUtils.setField(service, "threads", 2);
+        service.iniciar();
+
+        // Cada geração espera a outra começar: só termina se as duas rodarem ao mesmo tempo
+        CountDownLatch emAndamento = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(geradorTreino.gerarTreino(anyList(), anyInt())).thenAnswer(invocacao -> {
+            threads.add(Thread.currentThread().getName());
+            emAndamento.countDown();
+            assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(usuarioRepository.findAllById(any())).thenReturn(List.of());
+
+        GerarTreinosLoteRequest request = new GerarTreinosLoteRequest();
+        request.setTreinos(List.of(
+                new ItemLoteTreinoRequest(UUID.randomUUID(), List.of(GrupoMuscular.PEITO), 1, null),
+                new ItemLoteTreinoRequest(UUID.randomUUID(), List.of(GrupoMuscular.COSTAS), 1, null)));
+
+        LoteTreinoResponse lote = aguardar(service.iniciarLote(request).getId());
+
+        assertEquals(LoteTreinoResponse.Status.CONCLUIDO, lote.getStatus());
+        assertEquals(2, lote.getRequisitosDistintos());
+        assertEquals(2, lote.getGerados());
+        assertEquals(2, threads.size());
+    }
+
+    private LoteTreinoResponse aguardar(UUID id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        LoteTreinoResponse lote = service.buscarLote(id).orElseThrow();
+        while (lote.getConcluidoEm() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            lote = service.buscarLote(id).orElseThrow();
+        }
+        return lote;
+    }
+
+    private static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        return usuario;
+    }
+}
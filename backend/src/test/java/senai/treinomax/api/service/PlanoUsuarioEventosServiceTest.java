@@ -0,0 +1,320 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import senai.treinomax.api.auth.exception.BloqueioPerdidoException;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca.Etapa;
+import senai.treinomax.api.model.ExecucaoVerificacaoCobranca;
+import senai.treinomax.api.model.PlanoCobranca;
+import senai.treinomax.api.repository.CheckpointVerificacaoCobrancaRepository;
+import senai.treinomax.api.repository.ExecucaoVerificacaoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository.CobrancaPendente;
+
+@ExtendWith(MockitoExtension.class)
+class PlanoUsuarioEventosServiceTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 11, 20, 3, 0);
+    private static final UUID PRIMEIRO_USUARIO = new UUID(0L, 0L);
+    private static final UUID ULTIMO_USUARIO = new UUID(-1L, -1L);
+
+    @Mock
+    private PlanoCobrancaRepository planoCobrancaRepository;
+
+    @Mock
+    private PlanoUsuarioService planoUsuarioService;
+
+    @Mock
+    private CheckpointVerificacaoCobrancaRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExecucaoVerificacaoCobrancaRepository execucaoRepository;
+
+    @Mock
+    private MonitorCicloCobranca monitor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PlanoUsuarioEventosService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(service, "inadimplenciaEmMassa", false);
+        ReflectionTestUtils.setField(service, "renovacaoEmLote", true);
+        ReflectionTestUtils.setField(service, "particoes", 1);
+    }
+
+    @Test
+    void processarInadimplencias_ShouldUseBulkUpdates_WhenBulkModeIsEnabled() {
+        ReflectionTestUtils.setField(service, "inadimplenciaEmMassa", true);
+        Pageable pagina = PageRequest.of(0, 2);
+        List<CobrancaPendente> pendentes = List.of(
+                pendente(LocalDate.of(2025, 10, 5)),
+                pendente(LocalDate.of(2025, 10, 6)));
+        when(planoCobrancaRepository.findChavesVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(pendentes, pagina, false));
+        // A segunda cobrança foi paga entre a leitura e o UPDATE
+        List<UUID> processadas = List.of(pendentes.get(0).getId());
+        List<UUID> usuarios = List.of(pendentes.get(0).getUsuarioId());
+        when(planoUsuarioService.processarInadimplenciasEmMassa(pendentes))
+                .thenReturn(new ResultadoInadimplencia(processadas, usuarios));
+
+        CheckpointVerificacaoCobranca checkpoint = checkpoint(Etapa.INADIMPLENCIA);
+        service.processarInadimplencias(AGORA, checkpoint);
+
+        verify(planoUsuarioService, never()).processarInadimplencia(any(PlanoCobranca.class));
+        ArgumentCaptor<InadimplenciaProcessadaEvent> evento = ArgumentCaptor.forClass(InadimplenciaProcessadaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(processadas, evento.getValue().getCobrancaIds());
+        assertEquals(usuarios, evento.getValue().getUsuarioIds());
+        assertEquals(pendentes.get(1).getId(), checkpoint.getUltimoId());
+        assertEquals(2, checkpoint.getInadimplenciasProcessadas());
+    }
+
+    @Test
+    void processarInadimplencias_ShouldSeekFromLastRowOfPreviousSlice() {
+        PlanoCobranca primeira = cobranca(LocalDate.of(2025, 10, 5));
+        PlanoCobranca segunda = cobranca(LocalDate.of(2025, 10, 10));
+        PlanoCobranca terceira = cobranca(LocalDate.of(2025, 10, 10));
+        Pageable pagina = PageRequest.of(0, 2);
+
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(primeira, segunda), pagina, true));
+        when(planoCobrancaRepository.findVencidasNaoProcessadasApos(
+                AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, segunda.getDataVencimento(), segunda.getId(), pagina))
+                .thenReturn(new SliceImpl<>(List.of(terceira), pagina, false));
+
+        CheckpointVerificacaoCobranca checkpoint = checkpoint(Etapa.INADIMPLENCIA);
+        service.processarInadimplencias(AGORA, checkpoint);
+
+        verify(planoUsuarioService).processarInadimplencia(primeira);
+        verify(planoUsuarioService).processarInadimplencia(segunda);
+        verify(planoUsuarioService).processarInadimplencia(terceira);
+        verify(planoCobrancaRepository, times(1)).findVencidasNaoProcessadasApos(
+                any(LocalDate.class), any(UUID.class), any(UUID.class),
+                any(LocalDate.class), any(UUID.class), any(Pageable.class));
+        verify(checkpointRepository, times(2)).save(checkpoint);
+        assertEquals(terceira.getId(), checkpoint.getUltimoId());
+        assertEquals(3, checkpoint.getInadimplenciasProcessadas());
+        assertEquals(2, checkpoint.getLotesProcessados());
+    }
+
+    @Test
+    void processarInadimplencias_ShouldResumeFromCheckpoint_WhenPreviousRunStopped() {
+        PlanoCobranca restante = cobranca(LocalDate.of(2025, 10, 12));
+        Pageable pagina = PageRequest.of(0, 2);
+        CheckpointVerificacaoCobranca checkpoint = checkpoint(Etapa.INADIMPLENCIA);
+        checkpoint.setUltimoVencimento(LocalDate.of(2025, 10, 10));
+        checkpoint.setUltimoId(UUID.randomUUID());
+        checkpoint.setInadimplenciasProcessadas(2);
+
+        when(planoCobrancaRepository.findVencidasNaoProcessadasApos(
+                AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, checkpoint.getUltimoVencimento(), checkpoint.getUltimoId(), pagina))
+                .thenReturn(new SliceImpl<>(List.of(restante), pagina, false));
+
+        service.processarInadimplencias(AGORA, checkpoint);
+
+        verify(planoCobrancaRepository, never()).findVencidasNaoProcessadas(
+                any(LocalDate.class), any(UUID.class), any(UUID.class), any(Pageable.class));
+        verify(planoUsuarioService).processarInadimplencia(restante);
+        assertEquals(3, checkpoint.getInadimplenciasProcessadas());
+    }
+
+    @Test
+    void executarCicloVerificacaoCobranca_ShouldRestart_WhenTodaysCycleIsComplete() {
+        Pageable pagina = PageRequest.of(0, 2);
+        CheckpointVerificacaoCobranca concluido = checkpoint(Etapa.CONCLUIDA);
+        concluido.setUltimoId(UUID.randomUUID());
+        concluido.setInadimplenciasProcessadas(10);
+        when(checkpointRepository.findByDiaExecucaoOrderByParticao(AGORA.toLocalDate())).thenReturn(List.of(concluido));
+        when(checkpointRepository.save(concluido)).thenReturn(concluido);
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, false));
+        when(planoCobrancaRepository.findPagasComProximaNaoGerada(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, false));
+
+        service.executarCicloVerificacaoCobranca(AGORA);
+
+        assertEquals(Etapa.CONCLUIDA, concluido.getEtapa());
+        assertEquals(0, concluido.getInadimplenciasProcessadas());
+        assertNull(concluido.getUltimoId());
+    }
+
+    @Test
+    void executarCicloVerificacaoCobranca_ShouldRecordRunMetrics() {
+        Pageable pagina = PageRequest.of(0, 2);
+        PlanoCobranca vencida = cobranca(LocalDate.of(2025, 10, 5));
+        PlanoCobranca paga = cobranca(LocalDate.of(2025, 10, 20));
+        when(checkpointRepository.findByDiaExecucaoOrderByParticao(AGORA.toLocalDate())).thenReturn(List.of());
+        when(checkpointRepository.save(any(CheckpointVerificacaoCobranca.class))).thenAnswer(i -> i.getArgument(0));
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(vencida), pagina, false));
+        when(planoCobrancaRepository.findPagasComProximaNaoGerada(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(paga), pagina, false));
+        when(planoUsuarioService.gerarProximasCobrancas(List.of(paga))).thenReturn(List.of(new PlanoCobranca()));
+
+        service.executarCicloVerificacaoCobranca(AGORA);
+
+        ArgumentCaptor<ExecucaoVerificacaoCobranca> execucao = ArgumentCaptor.forClass(ExecucaoVerificacaoCobranca.class);
+        verify(execucaoRepository).save(execucao.capture());
+        assertTrue(execucao.getValue().getSucesso());
+        assertEquals(AGORA.toLocalDate(), execucao.getValue().getDiaExecucao());
+        assertEquals(1, execucao.getValue().getParticoes());
+        assertEquals(2L, execucao.getValue().getLinhasLidas());
+        assertEquals(2L, execucao.getValue().getLotes());
+        assertEquals(1L, execucao.getValue().getInadimplenciasProcessadas());
+        assertEquals(1L, execucao.getValue().getRenovacoesProcessadas());
+        assertEquals(1L, execucao.getValue().getCobrancasGeradas());
+        verify(monitor, times(2)).registrarLote(anyLong());
+        verify(monitor).encerrar();
+    }
+
+    @Test
+    void executarCicloVerificacaoCobranca_ShouldRecordFailedRun_WhenPartitionFails() {
+        Pageable pagina = PageRequest.of(0, 2);
+        when(checkpointRepository.findByDiaExecucaoOrderByParticao(AGORA.toLocalDate())).thenReturn(List.of());
+        when(checkpointRepository.save(any(CheckpointVerificacaoCobranca.class))).thenAnswer(i -> i.getArgument(0));
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenThrow(new IllegalStateException("banco indisponível"));
+
+        assertThrows(IllegalStateException.class, () -> service.executarCicloVerificacaoCobranca(AGORA));
+
+        ArgumentCaptor<ExecucaoVerificacaoCobranca> execucao = ArgumentCaptor.forClass(ExecucaoVerificacaoCobranca.class);
+        verify(execucaoRepository).save(execucao.capture());
+        assertFalse(execucao.getValue().getSucesso());
+        assertTrue(execucao.getValue().getMensagemErro().contains("banco indisponível"));
+        verify(monitor).encerrar();
+    }
+
+    @Test
+    void executarCicloVerificacaoCobranca_ShouldStop_WhenLeaseIsLostBeforeCommit() {
+        Pageable pagina = PageRequest.of(0, 2);
+        PlanoCobranca cobranca = cobranca(LocalDate.of(2025, 10, 5));
+        when(checkpointRepository.findByDiaExecucaoOrderByParticao(AGORA.toLocalDate())).thenReturn(List.of());
+        when(checkpointRepository.save(any(CheckpointVerificacaoCobranca.class))).thenAnswer(i -> i.getArgument(0));
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(cobranca), pagina, true));
+
+        assertThrows(IllegalStateException.class, () -> service.executarCicloVerificacaoCobranca(AGORA, () -> {
+            throw new BloqueioPerdidoException("Bloqueio MENSAL_VERIFICAR_PLANOS perdido");
+        }));
+
+        verify(transactionManager).rollback(any());
+        verify(planoCobrancaRepository, never()).findVencidasNaoProcessadasApos(
+                any(LocalDate.class), any(UUID.class), any(UUID.class),
+                any(LocalDate.class), any(UUID.class), any(Pageable.class));
+        ArgumentCaptor<ExecucaoVerificacaoCobranca> execucao = ArgumentCaptor.forClass(ExecucaoVerificacaoCobranca.class);
+        verify(execucaoRepository).save(execucao.capture());
+        assertTrue(execucao.getValue().getMensagemErro().contains("perdido"));
+    }
+
+    @Test
+    void executarCicloVerificacaoCobranca_ShouldReject_WhenCycleIsAlreadyRunning() {
+        Pageable pagina = PageRequest.of(0, 2);
+        when(checkpointRepository.findByDiaExecucaoOrderByParticao(AGORA.toLocalDate())).thenAnswer(invocacao -> {
+            // Segunda chamada com o ciclo ainda no início
+            assertThrows(IllegalStateException.class, () -> service.executarCicloVerificacaoCobranca(AGORA));
+            return List.of();
+        });
+        when(checkpointRepository.save(any(CheckpointVerificacaoCobranca.class))).thenAnswer(i -> i.getArgument(0));
+        when(planoCobrancaRepository.findVencidasNaoProcessadas(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, false));
+        when(planoCobrancaRepository.findPagasComProximaNaoGerada(AGORA.toLocalDate(), PRIMEIRO_USUARIO, ULTIMO_USUARIO, pagina))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, false));
+
+        service.executarCicloVerificacaoCobranca(AGORA);
+
+        // Só a primeira chamada executou e foi registrada
+        verify(execucaoRepository, times(1)).save(any(ExecucaoVerificacaoCobranca.class));
+    }
+
+    @Test
+    void gerarNovasCobrancasEAtualizarPlanoUsuario_ShouldStop_WhenFirstSliceIsEmpty() {
+        Pageable pagina = PageRequest.of(0, 2);
+        when(planoCobrancaRepository.findPagasComProximaNaoGerada(
+                eq(AGORA.toLocalDate()), eq(PRIMEIRO_USUARIO), eq(ULTIMO_USUARIO), eq(pagina)))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, false));
+
+        service.gerarNovasCobrancasEAtualizarPlanoUsuario(AGORA, checkpoint(Etapa.RENOVACAO));
+
+        verify(planoUsuarioService, never()).gerarProximaCobranca(any(PlanoCobranca.class));
+        verify(planoUsuarioService, never()).gerarProximasCobrancas(any());
+        verify(planoCobrancaRepository, never()).findPagasComProximaNaoGeradaApos(
+                any(LocalDate.class), any(UUID.class), any(UUID.class),
+                any(LocalDate.class), any(UUID.class), any(Pageable.class));
+    }
+
+    private static CheckpointVerificacaoCobranca checkpoint(Etapa etapa) {
+        return CheckpointVerificacaoCobranca.builder()
+                .id(UUID.randomUUID())
+                .diaExecucao(AGORA.toLocalDate())
+                .etapa(etapa)
+                .dataInicio(AGORA)
+                .build();
+    }
+
+    private static CobrancaPendente pendente(LocalDate dataVencimento) {
+        UUID id = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        return new CobrancaPendente() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUsuarioId() {
+                return usuarioId;
+            }
+
+            @Override
+            public LocalDate getDataVencimento() {
+                return dataVencimento;
+            }
+        };
+    }
+
+    private static PlanoCobranca cobranca(LocalDate dataVencimento) {
+        return PlanoCobranca.builder()
+                .id(UUID.randomUUID())
+                .dataVencimento(dataVencimento)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository.CobrancaPendente;
+
+@ExtendWith(MockitoExtension.class)
+class PlanoUsuarioServiceTest {
+
+    @Mock
+    private PlanoCobrancaRepository planoCobrancaRepository;
+
+    @Mock
+    private ContadoresDashboardService contadoresDashboard;
+
+    @InjectMocks
+    private PlanoUsuarioService service;
+
+    @Test
+    void processarInadimplenciasEmMassa_ShouldCountOnlyUpdatedMembers_WhenChargeWasPaidMeanwhile() {
+        CobrancaPendente vencida = pendente();
+        CobrancaPendente paga = pendente();
+        List<UUID> cobrancaIds = List.of(vencida.getId(), paga.getId());
+        List<UUID> usuarioIds = List.of(vencida.getUsuarioId());
+        UUID planoId = UUID.randomUUID();
+
+        when(planoCobrancaRepository.marcarInadimplenciaProcessada(eq(cobrancaIds), any(LocalDateTime.class))).thenReturn(1);
+        when(planoCobrancaRepository.findIdsComInadimplenciaProcessada(cobrancaIds)).thenReturn(List.of(vencida.getId()));
+        when(planoCobrancaRepository.findPlanoIdsDosUsuarios(usuarioIds)).thenReturn(List.of(planoId));
+        when(planoCobrancaRepository.removerPlanoDosUsuarios(eq(usuarioIds), eq(planoId), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        ResultadoInadimplencia resultado = service.processarInadimplenciasEmMassa(List.of(vencida, paga));
+
+        assertEquals(List.of(vencida.getId()), resultado.getCobrancaIds());
+        assertEquals(usuarioIds, resultado.getUsuarioIds());
+        verify(planoCobrancaRepository).removerProximoPlanoDosUsuarios(eq(usuarioIds), any(LocalDateTime.class));
+        verify(contadoresDashboard).planosRemovidos(Map.of(planoId, 1L));
+    }
+
+    private static CobrancaPendente pendente() {
+        UUID id = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        return new CobrancaPendente() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUsuarioId() {
+                return usuarioId;
+            }
+
+            @Override
+            public LocalDate getDataVencimento() {
+                return LocalDate.of(2025, 10, 5);
+            }
+        };
+    }
+}
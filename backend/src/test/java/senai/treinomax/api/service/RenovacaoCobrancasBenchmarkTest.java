@@ -0,0 +1,162 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import senai.treinomax.api.auth.model.Usuario;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca;
+import senai.treinomax.api.model.CheckpointVerificacaoCobranca.Etapa;
+import senai.treinomax.api.model.Plano;
+import senai.treinomax.api.model.PlanoCobranca;
+import senai.treinomax.api.repository.CheckpointVerificacaoCobrancaRepository;
+import senai.treinomax.api.repository.PlanoCobrancaRepository;
+
+/**
+ * Idas ao banco na geração das próximas cobranças para 10 mil membros, uma a
+ * uma sem lotes JDBC (antes) e por lote com lotes JDBC (depois). Conta os
+ * comandos preparados pelo Hibernate; com lotes JDBC cada lote conta uma vez.
+ * Só verifica as contagens: o tempo de CPU fica nos benchmarks JMH.
+ *
+ * Não roda no build normal: {@code ./mvnw test -Dtest=RenovacaoCobrancasBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RenovacaoCobrancasBenchmarkTest {
+
+    private static final int MEMBROS = 10_000;
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 11, 20, 3, 0);
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:renovacao-uma-a-uma;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "cobranca.ciclo.renovacao-em-lote=false"
+    })
+    class UmaAUma {
+
+        @Autowired
+        private ApplicationContext contexto;
+
+        @Test
+        void gerarNovasCobrancas_ShouldIssueThreeStatementsPerMember() {
+            long idas = medir(contexto);
+            assertTrue(idas >= 3L * MEMBROS);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:renovacao-em-lote;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+            "spring.jpa.properties.hibernate.order_inserts=true",
+            "spring.jpa.properties.hibernate.order_updates=true",
+            "spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+            "cobranca.ciclo.renovacao-em-lote=true"
+    })
+    class EmLote {
+
+        @Autowired
+        private ApplicationContext contexto;
+
+        @Test
+        void gerarNovasCobrancas_ShouldIssueLessThanOneStatementPerMember() {
+            long idas = medir(contexto);
+            assertTrue(idas < MEMBROS);
+        }
+    }
+
+    private long medir(ApplicationContext contexto) {
+        popular(contexto);
+
+        PlanoUsuarioEventosService service = contexto.getBean(PlanoUsuarioEventosService.class);
+        CheckpointVerificacaoCobranca checkpoint = contexto.getBean(CheckpointVerificacaoCobrancaRepository.class)
+                .save(CheckpointVerificacaoCobranca.builder()
+                        .diaExecucao(AGORA.toLocalDate())
+                        .etapa(Etapa.RENOVACAO)
+                        .dataInicio(AGORA)
+                        .build());
+
+        Statistics estatisticas = contexto.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        estatisticas.clear();
+
+        service.gerarNovasCobrancasEAtualizarPlanoUsuario(AGORA, checkpoint);
+
+        long idas = estatisticas.getPrepareStatementCount();
+
+        assertEquals(MEMBROS, checkpoint.getRenovacoesProcessadas());
+        assertEquals(2L * MEMBROS, contexto.getBean(PlanoCobrancaRepository.class).count());
+        return idas;
+    }
+
+    // Um plano e, para cada membro, a cobrança do mês anterior já paga e vencida
+    private void popular(ApplicationContext contexto) {
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        YearMonth mesAnterior = YearMonth.from(AGORA).minusMonths(1);
+
+        Plano plano = transacao.execute(status -> {
+            Usuario administrador = usuario("admin@benchmark.com");
+            entityManager.persist(administrador);
+
+            Plano novo = new Plano();
+            novo.setNome("Plano Mensal");
+            novo.setDescricao("Plano usado no benchmark de renovação");
+            novo.setPrecoCentavos(9990);
+            novo.setCriadoPor(administrador);
+            entityManager.persist(novo);
+            return novo;
+        });
+
+        for (int inicio = 0; inicio < MEMBROS; inicio += 1000) {
+            int primeiro = inicio;
+            transacao.executeWithoutResult(status -> {
+                Plano gerenciado = entityManager.merge(plano);
+                for (int i = primeiro; i < Math.min(MEMBROS, primeiro + 1000); i++) {
+                    Usuario membro = usuario("membro" + i + "@benchmark.com");
+                    membro.setPlano(gerenciado);
+                    entityManager.persist(membro);
+
+                    entityManager.persist(PlanoCobranca.builder()
+                            .usuario(membro)
+                            .plano(gerenciado)
+                            .mesReferencia(mesAnterior)
+                            .dataVencimento(mesAnterior.atDay(20))
+                            .dataPagamento(mesAnterior.atDay(18))
+                            .valorCentavos(9990)
+                            .pago(true)
+                            .build());
+                }
+            });
+        }
+    }
+
+    private static Usuario usuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Membro");
+        usuario.setEmail(email);
+        usuario.setSenha("senha");
+        return usuario;
+    }
+}
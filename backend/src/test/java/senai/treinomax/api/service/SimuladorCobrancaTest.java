@@ -0,0 +1,102 @@
+package senai.treinomax.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import senai.treinomax.api.dto.response.CicloSimuladoResponse;
+import senai.treinomax.api.dto.response.SimulacaoCobrancaResponse;
+
+class SimuladorCobrancaTest {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate HOJE = LocalDate.of(2025, 11, 20);
+    private static final int BASICO = 0;
+    private static final int PREMIUM = 1;
+    private static final int[] PRECOS_CENTAVOS = { 10000, 20000 };
+
+    private final SimuladorCobranca simulador = new SimuladorCobranca(
+            Clock.fixed(HOJE.atStartOfDay(FUSO).toInstant(), FUSO));
+
+    @Test
+    void simular_ShouldRenewEveryMonth_WhenAllChargesArePaid() {
+        EstadoCobrancas estado = new EstadoCobrancas(1);
+        estado.adicionar(BASICO, EstadoCobrancas.SEM_PLANO, BASICO, LocalDate.of(2025, 11, 10), 10000, true);
+
+        SimulacaoCobrancaResponse resultado = simulador.simular(estado, PRECOS_CENTAVOS, 3, 1.0, 1L);
+
+        // Novembro: a cobrança vencida dia 10 gera a de 10/12, de dezembro a de janeiro e assim por diante
+        assertEquals(3, resultado.getCiclos().size());
+        for (CicloSimuladoResponse ciclo : resultado.getCiclos()) {
+            assertEquals(1, ciclo.getCobrancasGeradas());
+            assertEquals(0, ciclo.getPlanosRemovidos());
+        }
+        assertEquals(YearMonth.of(2025, 11), resultado.getCiclos().get(0).getMes());
+        assertEquals(0, resultado.getCiclos().get(0).getReceitaPrevistaCentavos());
+        assertEquals(10000, resultado.getCiclos().get(1).getReceitaPrevistaCentavos());
+        assertEquals(1, resultado.getMembrosComPlanoAoFinal());
+    }
+
+    @Test
+    void simular_ShouldRemovePlan_WhenOverdueChargeIsNotPaid() {
+        EstadoCobrancas estado = new EstadoCobrancas(1);
+        estado.adicionar(BASICO, EstadoCobrancas.SEM_PLANO, BASICO, LocalDate.of(2025, 11, 19), 10000, false);
+
+        SimulacaoCobrancaResponse resultado = simulador.simular(estado, PRECOS_CENTAVOS, 2, 1.0, 1L);
+
+        // Já venceu: nem com taxa de pagamento 1 ela é paga
+        assertEquals(1, resultado.getCiclos().get(0).getPlanosRemovidos());
+        assertEquals(0, resultado.getCiclos().get(0).getCobrancasGeradas());
+        assertEquals(0, resultado.getMembrosComPlanoAoFinal());
+    }
+
+    @Test
+    void simular_ShouldRemovePlan_WhenGeneratedChargeIsNotPaid() {
+        EstadoCobrancas estado = new EstadoCobrancas(1);
+        estado.adicionar(BASICO, EstadoCobrancas.SEM_PLANO, BASICO, LocalDate.of(2025, 11, 10), 10000, true);
+
+        SimulacaoCobrancaResponse resultado = simulador.simular(estado, PRECOS_CENTAVOS, 2, 0.0, 1L);
+
+        // A cobrança de 10/12 é gerada em novembro, não é paga e o plano cai em dezembro
+        assertEquals(1, resultado.getCiclos().get(0).getCobrancasGeradas());
+        assertEquals(10000, resultado.getCiclos().get(1).getInadimplenciaPrevistaCentavos());
+        assertEquals(1, resultado.getCiclos().get(1).getPlanosRemovidos());
+        assertEquals(0, resultado.getMembrosComPlanoAoFinal());
+    }
+
+    @Test
+    void simular_ShouldDrawPayment_WhenOpenChargeIsNotDueYet() {
+        EstadoCobrancas pagaPrevista = new EstadoCobrancas(1);
+        pagaPrevista.adicionar(BASICO, EstadoCobrancas.SEM_PLANO, BASICO, LocalDate.of(2025, 11, 25), 10000, false);
+        EstadoCobrancas inadimplenciaPrevista = new EstadoCobrancas(1);
+        inadimplenciaPrevista.adicionar(BASICO, EstadoCobrancas.SEM_PLANO, BASICO, LocalDate.of(2025, 11, 25), 10000, false);
+
+        SimulacaoCobrancaResponse paga = simulador.simular(pagaPrevista, PRECOS_CENTAVOS, 2, 1.0, 1L);
+        SimulacaoCobrancaResponse naoPaga = simulador.simular(inadimplenciaPrevista, PRECOS_CENTAVOS, 2, 0.0, 1L);
+
+        assertEquals(10000, paga.getCiclos().get(0).getReceitaPrevistaCentavos());
+        assertEquals(0, paga.getCiclos().get(0).getPlanosRemovidos());
+        assertEquals(1, paga.getCiclos().get(0).getCobrancasGeradas());
+        assertEquals(1, paga.getMembrosComPlanoAoFinal());
+        assertEquals(10000, naoPaga.getCiclos().get(0).getInadimplenciaPrevistaCentavos());
+        assertEquals(1, naoPaga.getCiclos().get(0).getPlanosRemovidos());
+        assertEquals(0, naoPaga.getMembrosComPlanoAoFinal());
+    }
+
+    @Test
+    void simular_ShouldChargeCurrentPlanPrice_WhenSwitchingToNextPlan() {
+        EstadoCobrancas estado = new EstadoCobrancas(1);
+        estado.adicionar(BASICO, PREMIUM, BASICO, LocalDate.of(2025, 11, 1), 10000, true);
+
+        SimulacaoCobrancaResponse resultado = simulador.simular(estado, PRECOS_CENTAVOS, 2, 1.0, 1L);
+
+        // Como em gerarProximaCobranca: a cobrança de dezembro já é do novo plano, com o preço do plano atual
+        assertEquals(1, resultado.getCiclos().get(0).getCobrancasGeradas());
+        assertEquals(10000, resultado.getCiclos().get(1).getReceitaPrevistaCentavos());
+    }
+}